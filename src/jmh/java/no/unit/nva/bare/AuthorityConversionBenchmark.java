@@ -0,0 +1,99 @@
+package no.unit.nva.bare;
+
+import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Converting authority records read from Bare to NVA authorities, and serializing them for the response.
+ *
+ * <p>The records are read with the complete binding, so that converting goes through all their marc fields. Their marc
+ * indexes are reset before each conversion, as every record is converted once when serving a request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorityConversionBenchmark {
+
+    public static final String NAME = "Moser, May-Britt";
+
+    @Param({"10", "100"})
+    public int hits;
+
+    @Param({"3", "300"})
+    public int marcFields;
+
+    private final AuthorityConverter converter = new AuthorityConverter();
+    private BareQueryResponse bareQueryResponse;
+    private Authority authority;
+    private List<Authority> authorities;
+
+    /**
+     * Reads the search response once, the conversion benchmarks start from the records.
+     *
+     * @throws IOException when the fixtures cannot be read or converted
+     */
+    @Setup
+    public void setUp() throws IOException {
+        String json = BenchmarkFixtures.queryResponseJson(hits, marcFields);
+        bareQueryResponse = defaultRestObjectMapper.readValue(json, BareQueryResponse.class);
+        authorities = converter.extractAuthorities(bareQueryResponse);
+        authority = authorities.get(0);
+    }
+
+    @Benchmark
+    public List<Authority> extractAuthorities() throws IOException {
+        resetMarcIndexes();
+        return converter.extractAuthorities(bareQueryResponse);
+    }
+
+    @Benchmark
+    public String extractAuthoritiesAsJson() throws IOException {
+        resetMarcIndexes();
+        return converter.extractAuthoritiesAsJson(bareQueryResponse);
+    }
+
+    @Benchmark
+    public Authority asAuthority() {
+        BareAuthority bareAuthority = bareQueryResponse.results[0];
+        bareAuthority.setMarcdata(bareAuthority.getMarcdata());
+        return converter.asAuthority(bareAuthority);
+    }
+
+    @Benchmark
+    public BareAuthority buildAuthority() {
+        return converter.buildAuthority(NAME);
+    }
+
+    @Benchmark
+    public String serializeAuthority() throws JsonProcessingException {
+        return defaultRestObjectMapper.writeValueAsString(authority);
+    }
+
+    @Benchmark
+    public String serializeAuthorities() throws JsonProcessingException {
+        return defaultRestObjectMapper.writeValueAsString(authorities);
+    }
+
+    private void resetMarcIndexes() {
+        for (BareAuthority bareAuthority : bareQueryResponse.results) {
+            bareAuthority.setMarcdata(bareAuthority.getMarcdata());
+        }
+    }
+}
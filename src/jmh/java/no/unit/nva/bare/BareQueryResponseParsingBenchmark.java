@@ -0,0 +1,52 @@
+package no.unit.nva.bare;
+
+import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import static no.unit.nva.bare.ApplicationConfig.selectiveBareObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading a search response from Bare, with the complete and the selective binding of its hits.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BareQueryResponseParsingBenchmark {
+
+    @Param({"10", "100"})
+    public int hits;
+
+    @Param({"3", "300"})
+    public int marcFields;
+
+    private String json;
+
+    @Setup
+    public void setUp() {
+        json = BenchmarkFixtures.queryResponseJson(hits, marcFields);
+    }
+
+    @Benchmark
+    public BareQueryResponse completeRead() throws JsonProcessingException {
+        return defaultRestObjectMapper.readValue(json, BareQueryResponse.class);
+    }
+
+    @Benchmark
+    public BareQueryResponse selectiveRead() throws JsonProcessingException {
+        return selectiveBareObjectMapper.readValue(json, BareQueryResponse.class);
+    }
+}
@@ -0,0 +1,114 @@
+package no.unit.nva.bare;
+
+import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Authority records and search responses shaped like the ones Bare returns, with a given number of marc fields and
+ * search hits.
+ *
+ * <p>Every record has the 043, 100 and 375 fields of the test fixtures. Larger records add 400 (see from), 670
+ * (source data found) and 024 (other identifier) fields in turn, as found on authorities that have been edited over
+ * many years.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String BASE_SCN = "90517730";
+    private static final int BASE_MARC_FIELDS = 3;
+    private static final String[] FAMILY_NAMES = {"Moser", "Nilsen", "Hansen", "Johansen", "Berg", "Haugen"};
+    private static final String[] GIVEN_NAMES = {"May-Britt", "Kari", "Ola", "Ingrid", "Per", "Sigrid"};
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * An authority record as returned by Bare when reading a single authority.
+     *
+     * @param index      distinguishes the records of a search response
+     * @param marcFields number of marc fields, at least 3
+     * @return the record as json
+     */
+    public static String authorityJson(int index, int marcFields) {
+        return authorityNode(index, marcFields).toString();
+    }
+
+    /**
+     * A search response as returned by Bare.
+     *
+     * @param hits       number of authority records
+     * @param marcFields number of marc fields of each record, at least 3
+     * @return the response as json
+     */
+    public static String queryResponseJson(int hits, int marcFields) {
+        ObjectNode response = defaultRestObjectMapper.createObjectNode();
+        response.put("q", "moser+authoritytype:person");
+        response.put("startRow", "1");
+        response.put("maxRows", String.valueOf(hits));
+        response.put("numFound", hits * 10);
+        ArrayNode results = response.putArray("results");
+        for (int i = 0; i < hits; i++) {
+            results.add(authorityNode(i, marcFields));
+        }
+        return response.toString();
+    }
+
+    private static ObjectNode authorityNode(int index, int marcFields) {
+        String scn = String.valueOf(Long.parseLong(BASE_SCN) + index);
+        String name = name(index);
+        ObjectNode authority = defaultRestObjectMapper.createObjectNode();
+        authority.put("authorityType", "PERSON");
+        authority.put("status", "kat3");
+        authority.put("origin", "adabas");
+        authority.put("deleted", false);
+        authority.put("systemControlNumber", scn);
+        authority.put("lastUpdateDate", "2018-11-01 08:38:24.594");
+        authority.put("createdDate", "1996-09-18 00:00:00.000");
+        authority.put("replacedBy", "0");
+        ArrayNode marcdata = authority.putArray("marcdata");
+        marcdata.add(marc("043", "", "", "c", "no"));
+        marcdata.add(marc("100", "1", " ", "a", name, "d", "1963-"));
+        marcdata.add(marc("375", " ", " ", "a", "f"));
+        for (int i = BASE_MARC_FIELDS; i < marcFields; i++) {
+            marcdata.add(additionalMarc(i, name));
+        }
+        ObjectNode identifiersMap = authority.putObject("identifiersMap");
+        identifiersMap.putArray("autid").add("x" + scn);
+        identifiersMap.putArray("feide").add("person" + index + "@ntnu.no");
+        identifiersMap.putArray("orcid").add(String.format("0000-0001-%04d-%04d", index % 10_000, index % 7919));
+        identifiersMap.putArray("orgunitid").add("194.0.0.0").add("194.65.0.0");
+        identifiersMap.putArray("handle").add("https://hdl.handle.net/11250/" + scn);
+        return authority;
+    }
+
+    private static ObjectNode additionalMarc(int field, String name) {
+        switch (field % 3) {
+            case 0:
+                return marc("400", "1", " ", "a", name + " (" + field + ")", "d", "1963-");
+            case 1:
+                return marc("670", " ", " ", "a", "Publication " + field + " by " + name,
+                            "b", "Title page: " + name + ", Norwegian University of Science and Technology");
+            default:
+                return marc("024", "7", " ", "a", "http://viaf.org/viaf/" + (105_000_000 + field), "2", "viaf");
+        }
+    }
+
+    private static ObjectNode marc(String tag, String ind1, String ind2, String... subcodesAndValues) {
+        ObjectNode marc = defaultRestObjectMapper.createObjectNode();
+        marc.put("tag", tag);
+        marc.put("ind1", ind1);
+        marc.put("ind2", ind2);
+        ArrayNode subfields = marc.putArray("subfields");
+        for (int i = 0; i < subcodesAndValues.length; i += 2) {
+            subfields.addObject()
+                .put("subcode", subcodesAndValues[i])
+                .put("value", subcodesAndValues[i + 1]);
+        }
+        return marc;
+    }
+
+    private static String name(int index) {
+        String givenName = GIVEN_NAMES[index / FAMILY_NAMES.length % GIVEN_NAMES.length];
+        return FAMILY_NAMES[index % FAMILY_NAMES.length] + ", " + givenName;
+    }
+}
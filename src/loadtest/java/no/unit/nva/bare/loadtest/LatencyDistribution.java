@@ -0,0 +1,71 @@
+package no.unit.nva.bare.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Time the stub Bare server waits before answering a request.
+ *
+ * <p>Written as <code>none</code>, <code>fixed:MILLIS</code>, <code>uniform:MIN-MAX</code> or
+ * <code>lognormal:MEDIAN,SIGMA</code>, all in milliseconds. A log-normal distribution gives the long tail seen when
+ * calling Bare; a sigma of 0.5 puts the 99th percentile at about three times the median.
+ */
+public final class LatencyDistribution {
+
+    public static final String NONE = "none";
+    public static final String FIXED = "fixed";
+    public static final String UNIFORM = "uniform";
+    public static final String LOGNORMAL = "lognormal";
+    public static final String INVALID_DISTRIBUTION = "Invalid latency distribution: ";
+    private final String description;
+    private final LongSupplier millis;
+
+    private LatencyDistribution(String description, LongSupplier millis) {
+        this.description = description;
+        this.millis = millis;
+    }
+
+    /**
+     * Reads a distribution written as described on the class.
+     *
+     * @param description the distribution, e.g. <code>lognormal:40,0.5</code>
+     * @return the distribution
+     */
+    public static LatencyDistribution parse(String description) {
+        String[] kindAndParameters = description.split(":", 2);
+        try {
+            switch (kindAndParameters[0]) {
+                case NONE:
+                    return new LatencyDistribution(description, () -> 0);
+                case FIXED:
+                    long fixed = Long.parseLong(kindAndParameters[1]);
+                    return new LatencyDistribution(description, () -> fixed);
+                case UNIFORM:
+                    String[] bounds = kindAndParameters[1].split("-");
+                    long min = Long.parseLong(bounds[0]);
+                    long max = Long.parseLong(bounds[1]);
+                    return new LatencyDistribution(description,
+                        () -> ThreadLocalRandom.current().nextLong(min, max + 1));
+                case LOGNORMAL:
+                    String[] parameters = kindAndParameters[1].split(",");
+                    double mu = Math.log(Double.parseDouble(parameters[0]));
+                    double sigma = Double.parseDouble(parameters[1]);
+                    return new LatencyDistribution(description,
+                        () -> Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian())));
+                default:
+                    throw new IllegalArgumentException(INVALID_DISTRIBUTION + description);
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException(INVALID_DISTRIBUTION + description, e);
+        }
+    }
+
+    public long nextMillis() {
+        return millis.getAsLong();
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -0,0 +1,64 @@
+package no.unit.nva.bare.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencies of the requests of one scenario, and the percentiles and throughput computed from them.
+ */
+public class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int failures;
+
+    /**
+     * Records one request.
+     *
+     * @param nanos     time the request took
+     * @param succeeded whether the handler answered with a 2xx status code
+     */
+    public synchronized void record(long nanos, boolean succeeded) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+        if (!succeeded) {
+            failures++;
+        }
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public synchronized int getFailures() {
+        return failures;
+    }
+
+    /**
+     * Latency below which the given fraction of requests finished, by the nearest-rank method.
+     *
+     * @param percentile from 0 to 100
+     * @return latency in milliseconds
+     */
+    public synchronized double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return sorted[Math.max(rank - 1, 0)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Requests per second over the given wall clock time.
+     *
+     * @param elapsedNanos time from the first request started until the last one finished
+     * @return requests per second
+     */
+    public synchronized double throughput(long elapsedNanos) {
+        return elapsedNanos == 0 ? 0 : count * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
@@ -0,0 +1,218 @@
+package no.unit.nva.bare.loadtest;
+
+import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import no.unit.nva.bare.AddNewAuthorityIdentifierHandler;
+import no.unit.nva.bare.AddNewAuthorityIdentifierRequest;
+import no.unit.nva.bare.BareConnection;
+import no.unit.nva.bare.Config;
+import no.unit.nva.bare.CreateAuthorityHandler;
+import no.unit.nva.bare.CreateAuthorityRequest;
+import no.unit.nva.bare.DeleteAuthorityIdentifierHandler;
+import no.unit.nva.bare.DeleteAuthorityIdentifierRequest;
+import no.unit.nva.bare.FetchAuthorityHandler;
+import no.unit.nva.bare.UpdateAuthorityIdentifierHandler;
+import no.unit.nva.bare.UpdateAuthorityIdentifierRequest;
+import no.unit.nva.testutils.HandlerRequestBuilder;
+import nva.commons.core.Environment;
+
+/**
+ * Runs the Lambda handlers concurrently against a {@link StubBareServer} and reports latency percentiles and
+ * throughput for each of them.
+ *
+ * <p>Arguments are given as <code>key=value</code>, see {@link #DEFAULTS}. The stub listens on the port of
+ * <code>BARE_HOST</code>, which must be <code>localhost:PORT</code> with <code>BARE_PROTOCOL=http</code>. All
+ * handlers share one {@link BareConnection}, as in a warm Lambda container, so its cache is configured as usual with
+ * <code>AUTHORITY_CACHE_MAX_SIZE</code> and <code>AUTHORITY_CACHE_TTL_SECONDS</code>.
+ */
+public final class LoadDriver {
+
+    public static final Map<String, String> DEFAULTS = Map.of(
+        "threads", "16",
+        "requests", "2000",
+        "warmup", "200",
+        "latency", "lognormal:40,0.5",
+        "errorRate", "0.0",
+        "authorities", "1000",
+        "scenarios", "fetch,search,create,add,update,delete");
+    public static final String REPORT_HEADER = String.format(Locale.ROOT, "%-8s %9s %9s %10s %9s %9s %9s",
+                                                              "scenario", "requests", "failures", "req/s",
+                                                              "p50 ms", "p95 ms", "p99 ms");
+    public static final String REPORT_LINE = "%-8s %9d %9d %10.1f %9.1f %9.1f %9.1f";
+    public static final String STATUS_CODE = "statusCode";
+    public static final String FEIDEID = "feideid";
+    public static final String SCN = "scn";
+    public static final String QUALIFIER = "qualifier";
+    private static final int HTTP_SUCCESS_CLASS = 2;
+
+    private final Map<String, String> options;
+    private final int authorities;
+    private final Context context = new LoadTestContext();
+    private final AtomicLong sequence = new AtomicLong();
+    private final FetchAuthorityHandler fetchHandler;
+    private final CreateAuthorityHandler createHandler;
+    private final AddNewAuthorityIdentifierHandler addHandler;
+    private final UpdateAuthorityIdentifierHandler updateHandler;
+    private final DeleteAuthorityIdentifierHandler deleteHandler;
+
+    private LoadDriver(Map<String, String> options) {
+        this.options = options;
+        this.authorities = Integer.parseInt(options.get("authorities"));
+        BareConnection bareConnection = new BareConnection();
+        this.fetchHandler = new FetchAuthorityHandler(bareConnection);
+        this.createHandler = new CreateAuthorityHandler(bareConnection);
+        this.addHandler = new AddNewAuthorityIdentifierHandler(bareConnection);
+        this.updateHandler = new UpdateAuthorityIdentifierHandler(bareConnection);
+        this.deleteHandler = new DeleteAuthorityIdentifierHandler(new Environment(), bareConnection);
+    }
+
+    /**
+     * Starts the stub, runs the scenarios one after the other and prints a report.
+     *
+     * @param args options as <code>key=value</code>
+     * @throws Exception when the stub cannot be started or a scenario cannot be run
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        Arrays.stream(args)
+            .map(arg -> arg.split("=", 2))
+            .forEach(keyAndValue -> options.put(keyAndValue[0], keyAndValue[1]));
+        int port = URI.create(Config.BARE_PROTOCOL + "://" + Config.BARE_HOST).getPort();
+        if (port < 0) {
+            throw new IllegalArgumentException("BARE_HOST must be localhost:PORT, was " + Config.BARE_HOST);
+        }
+        LatencyDistribution latency = LatencyDistribution.parse(options.get("latency"));
+        double errorRate = Double.parseDouble(options.get("errorRate"));
+        try (StubBareServer stub = new StubBareServer(port, latency, errorRate,
+                                                      Integer.parseInt(options.get("authorities")))) {
+            stub.start();
+            System.out.printf("Stub Bare on port %d, latency %s, error rate %s, options %s%n",
+                              stub.getPort(), latency, errorRate, options);
+            new LoadDriver(options).run();
+            System.out.printf("Stub Bare answered %d requests, %d with injected errors%n",
+                              stub.getRequestCount(), stub.getErrorCount());
+        }
+    }
+
+    private void run() throws Exception {
+        int threads = Integer.parseInt(options.get("threads"));
+        int requests = Integer.parseInt(options.get("requests"));
+        int warmup = Integer.parseInt(options.get("warmup"));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            System.out.println(REPORT_HEADER);
+            for (String scenario : options.get("scenarios").split(",")) {
+                Callable<Integer> request = scenario(scenario);
+                runScenario(executor, threads, warmup, request);
+                LatencyRecorder recorder = new LatencyRecorder();
+                long elapsed = runScenario(executor, threads, requests, request, recorder);
+                System.out.println(String.format(Locale.ROOT, REPORT_LINE, scenario, recorder.getCount(),
+                                                 recorder.getFailures(), recorder.throughput(elapsed),
+                                                 recorder.percentileMillis(50), recorder.percentileMillis(95),
+                                                 recorder.percentileMillis(99)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void runScenario(ExecutorService executor, int threads, int requests, Callable<Integer> request)
+        throws Exception {
+        runScenario(executor, threads, requests, request, new LatencyRecorder());
+    }
+
+    private static long runScenario(ExecutorService executor, int threads, int requests, Callable<Integer> request,
+                                    LatencyRecorder recorder) throws Exception {
+        AtomicInteger remaining = new AtomicInteger(requests);
+        List<Future<?>> workers = new ArrayList<>();
+        long started = System.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            workers.add(executor.submit(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    long requestStarted = System.nanoTime();
+                    int statusCode = request.call();
+                    recorder.record(System.nanoTime() - requestStarted, statusCode / 100 == HTTP_SUCCESS_CLASS);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        return System.nanoTime() - started;
+    }
+
+    private Callable<Integer> scenario(String name) {
+        switch (name) {
+            case "fetch":
+                return () -> fetchHandler.handleRequest(
+                    Map.of(FetchAuthorityHandler.PATH_PARAMETERS_KEY, Map.of(SCN, randomScn())), context)
+                    .getStatusCode();
+            case "search":
+                return () -> fetchHandler.handleRequest(
+                    Map.of(FetchAuthorityHandler.QUERY_STRING_PARAMETERS_KEY,
+                           Map.of(FetchAuthorityHandler.NAME_KEY, "Person " + randomScn())), context)
+                    .getStatusCode();
+            case "create":
+                return () -> invoke(createHandler, new HandlerRequestBuilder<CreateAuthorityRequest>(
+                    defaultRestObjectMapper)
+                    .withBody(new CreateAuthorityRequest("Person " + sequence.incrementAndGet() + ", Created"))
+                    .build());
+            case "add":
+                return () -> invoke(addHandler, new HandlerRequestBuilder<AddNewAuthorityIdentifierRequest>(
+                    defaultRestObjectMapper)
+                    .withPathParameters(identifierPath())
+                    .withBody(new AddNewAuthorityIdentifierRequest(newIdentifier()))
+                    .build());
+            case "update":
+                return () -> invoke(updateHandler, new HandlerRequestBuilder<UpdateAuthorityIdentifierRequest>(
+                    defaultRestObjectMapper)
+                    .withPathParameters(identifierPath())
+                    .withBody(new UpdateAuthorityIdentifierRequest(newIdentifier(), newIdentifier()))
+                    .build());
+            case "delete":
+                return () -> invoke(deleteHandler, new HandlerRequestBuilder<DeleteAuthorityIdentifierRequest>(
+                    defaultRestObjectMapper)
+                    .withPathParameters(identifierPath())
+                    .withBody(new DeleteAuthorityIdentifierRequest(newIdentifier()))
+                    .build());
+            default:
+                throw new IllegalArgumentException("Unknown scenario: " + name);
+        }
+    }
+
+    private int invoke(RequestStreamHandler handler, InputStream request) throws Exception {
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        handler.handleRequest(request, response, context);
+        return defaultRestObjectMapper.readTree(response.toByteArray()).get(STATUS_CODE).asInt();
+    }
+
+    private Map<String, String> identifierPath() {
+        return Map.of(SCN, randomScn(), QUALIFIER, FEIDEID);
+    }
+
+    private String newIdentifier() {
+        return "load" + sequence.incrementAndGet() + "@example.org";
+    }
+
+    private String randomScn() {
+        return String.valueOf(ThreadLocalRandom.current().nextInt(authorities) + 1);
+    }
+}
@@ -0,0 +1,265 @@
+package no.unit.nva.bare.loadtest;
+
+import static java.net.HttpURLConnection.HTTP_BAD_METHOD;
+import static java.net.HttpURLConnection.HTTP_CREATED;
+import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static java.net.HttpURLConnection.HTTP_NO_CONTENT;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import no.unit.nva.bare.AuthorityIdentifier;
+import no.unit.nva.bare.BareAuthority;
+import no.unit.nva.bare.BareQueryResponse;
+import no.unit.nva.bare.Config;
+import no.unit.nva.bare.Marc21;
+import no.unit.nva.bare.Subfield;
+import no.unit.nva.bare.ValidIdentifierSource;
+
+/**
+ * Local stand-in for Bare, answering the requests sent by {@link no.unit.nva.bare.BareConnection}.
+ *
+ * <p>Authorities are kept in memory, so identifiers added or deleted are seen by later reads. Every answer is delayed
+ * by the given latency distribution, and the given fraction of requests fails with 500.
+ */
+public class StubBareServer implements AutoCloseable {
+
+    public static final String AUTHORITIES_PATH = "/authority/rest/authorities/v2";
+    public static final String QUERY_PATH = Config.BARE_QUERY_PATH;
+    private static final Pattern AUTHORITY = Pattern.compile(AUTHORITIES_PATH + "/([^/]+)");
+    private static final Pattern IDENTIFIERS = Pattern.compile(AUTHORITIES_PATH + "/([^/]+)/identifiers");
+    private static final Pattern IDENTIFIER = Pattern.compile(AUTHORITIES_PATH + "/([^/]+)/identifiers/([^/]+)");
+    private static final String GET = "GET";
+    private static final String POST = "POST";
+    private static final String DELETE = "DELETE";
+    private static final String START = "start";
+    private static final String MAX = "max";
+    private static final String IDENTIFIER_PARAMETER = "identifier";
+    private static final String STUB_ERROR = "Stub error";
+    private static final int STOP_DELAY_SECONDS = 1;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final Map<String, BareAuthority> authorities = new ConcurrentHashMap<>();
+    private final AtomicLong nextScn = new AtomicLong(1);
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+
+    /**
+     * Creates a server, not yet started, holding the given number of authorities with scn 1 and up.
+     *
+     * @param port        port to listen to on localhost
+     * @param latency     delay before each answer
+     * @param errorRate   fraction, from 0 to 1, of requests answered with 500
+     * @param authorities number of authorities to start with
+     * @throws IOException when the port cannot be bound
+     */
+    public StubBareServer(int port, LatencyDistribution latency, double errorRate, int authorities)
+        throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        this.latency = latency;
+        this.errorRate = errorRate;
+        for (int i = 0; i < authorities; i++) {
+            BareAuthority authority = authority("Person " + (i + 1) + ", Load Test");
+            authority.setIdentifiersMap(Map.of(ValidIdentifierSource.feide.asString(),
+                                               List.of("person" + (i + 1) + "@example.org")));
+            store(authority);
+        }
+        server.createContext(AUTHORITIES_PATH, this::handle);
+        server.createContext(QUERY_PATH, this::handle);
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    @Override
+    public void close() {
+        server.stop(STOP_DELAY_SECONDS);
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requestCount.incrementAndGet();
+            delay();
+            if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                errorCount.incrementAndGet();
+                respond(exchange, HTTP_INTERNAL_ERROR, STUB_ERROR);
+                return;
+            }
+            route(exchange);
+        } catch (RuntimeException e) {
+            respond(exchange, HTTP_INTERNAL_ERROR, String.valueOf(e));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Map<String, String> query = queryParameters(exchange.getRequestURI().getRawQuery());
+        Matcher identifier = IDENTIFIER.matcher(path);
+        Matcher identifiers = IDENTIFIERS.matcher(path);
+        Matcher authority = AUTHORITY.matcher(path);
+        if (path.equals(QUERY_PATH) && GET.equals(method)) {
+            search(exchange, query);
+        } else if (path.equals(AUTHORITIES_PATH) && POST.equals(method)) {
+            create(exchange);
+        } else if (identifier.matches() && DELETE.equals(method)) {
+            deleteIdentifier(exchange, identifier.group(1), identifier.group(2), query.get(IDENTIFIER_PARAMETER));
+        } else if (identifiers.matches() && POST.equals(method)) {
+            addIdentifier(exchange, identifiers.group(1));
+        } else if (authority.matches() && GET.equals(method)) {
+            get(exchange, authority.group(1));
+        } else {
+            respond(exchange, HTTP_BAD_METHOD, method + " " + path);
+        }
+    }
+
+    private void get(HttpExchange exchange, String scn) throws IOException {
+        Optional<BareAuthority> authority = Optional.ofNullable(authorities.get(scn));
+        if (authority.isPresent()) {
+            respond(exchange, HTTP_OK, json(authority.get()));
+        } else {
+            respond(exchange, HTTP_NOT_FOUND, scn);
+        }
+    }
+
+    private void search(HttpExchange exchange, Map<String, String> query) throws IOException {
+        int start = Integer.parseInt(query.getOrDefault(START, "1"));
+        int max = Integer.parseInt(query.getOrDefault(MAX, "10"));
+        BareQueryResponse response = new BareQueryResponse();
+        response.setNumFound(authorities.size());
+        response.results = authorities.values().stream()
+            .skip(Math.max(start - 1, 0))
+            .limit(max)
+            .toArray(BareAuthority[]::new);
+        respond(exchange, HTTP_OK, json(response));
+    }
+
+    private void create(HttpExchange exchange) throws IOException {
+        BareAuthority authority = read(exchange, BareAuthority.class);
+        authority.setIdentifiersMap(Map.of());
+        respond(exchange, HTTP_CREATED, json(store(authority)));
+    }
+
+    private void addIdentifier(HttpExchange exchange, String scn) throws IOException {
+        AuthorityIdentifier identifier = read(exchange, AuthorityIdentifier.class);
+        BareAuthority updated = authorities.computeIfPresent(
+            scn, (key, authority) -> authority.withIdentifierAdded(identifier.getSource(), identifier.getIdentifier()));
+        if (updated == null) {
+            respond(exchange, HTTP_NOT_FOUND, scn);
+        } else {
+            respond(exchange, HTTP_OK, json(updated));
+        }
+    }
+
+    private void deleteIdentifier(HttpExchange exchange, String scn, String qualifier, String identifier)
+        throws IOException {
+        BareAuthority updated = authorities.computeIfPresent(
+            scn, (key, authority) -> authority.withIdentifierRemoved(qualifier, identifier));
+        if (updated == null) {
+            respond(exchange, HTTP_NOT_FOUND, scn);
+        } else {
+            exchange.sendResponseHeaders(HTTP_NO_CONTENT, -1);
+        }
+    }
+
+    private BareAuthority store(BareAuthority authority) {
+        String scn = String.valueOf(nextScn.getAndIncrement());
+        authority.setSystemControlNumber(scn);
+        authorities.put(scn, authority);
+        return authority;
+    }
+
+    private void delay() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(latency.nextMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static BareAuthority authority(String name) {
+        Subfield subfield = new Subfield();
+        subfield.setSubcode("a");
+        subfield.setValue(name);
+        Marc21 marc = new Marc21();
+        marc.setTag("100");
+        marc.setInd1("1");
+        marc.setInd2(" ");
+        marc.setSubfields(subfield);
+        BareAuthority authority = new BareAuthority();
+        authority.setStatus("kat3");
+        authority.setMarcdata(new Marc21[]{marc});
+        return authority;
+    }
+
+    private static <T> T read(HttpExchange exchange, Class<T> type) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            return defaultRestObjectMapper.readValue(body, type);
+        }
+    }
+
+    private static Map<String, String> queryParameters(String rawQuery) {
+        if (rawQuery == null) {
+            return Map.of();
+        }
+        return Arrays.stream(rawQuery.split("&"))
+            .map(parameter -> parameter.split("=", 2))
+            .filter(keyAndValue -> keyAndValue.length == 2)
+            .collect(Collectors.toMap(keyAndValue -> keyAndValue[0],
+                                      keyAndValue -> URLDecoder.decode(keyAndValue[1], StandardCharsets.UTF_8),
+                                      (first, second) -> first));
+    }
+
+    private static String json(Object value) throws IOException {
+        return defaultRestObjectMapper.writeValueAsString(value);
+    }
+
+    private static void respond(HttpExchange exchange, int statusCode, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
@@ -9,7 +9,8 @@ import java.net.URISyntaxException;
 import java.net.http.HttpResponse;
 import java.util.List;
 import java.util.Objects;
-import nva.commons.apigateway.ApiGatewayHandler;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import nva.commons.apigateway.RequestInfo;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
 import nva.commons.apigateway.exceptions.BadRequestException;
@@ -22,7 +23,7 @@ import org.slf4j.LoggerFactory;
 /**
  * Handler for requests to Lambda function.
  */
-public class AddNewAuthorityIdentifierHandler extends ApiGatewayHandler<AddNewAuthorityIdentifierRequest, Authority> {
+public class AddNewAuthorityIdentifierHandler extends BareProxyHandler<AddNewAuthorityIdentifierRequest, Authority> {
 
     public static final String MISSING_PATH_PARAMETER_SCN = "Missing from pathParameters: scn";
     public static final String MISSING_PATH_PARAMETER_QUALIFIER = "Missing from pathParameters: qualifier";
@@ -33,6 +34,8 @@ public class AddNewAuthorityIdentifierHandler extends ApiGatewayHandler<AddNewAu
     public static final String SCN_KEY = "scn";
     public static final String QUALIFIER_KEY = "qualifier";
     public static final String REMOTE_SERVER_ERRORMESSAGE = "remote server errormessage: ";
+    public static final String SKIPPED_WRITE_MESSAGE =
+            "addNewIdentifier skipped, identifier already present, scn={} skippedWrites={}";
     public static final Logger logger = LoggerFactory.getLogger(AddNewAuthorityIdentifierHandler.class);
 
 
@@ -41,7 +44,7 @@ public class AddNewAuthorityIdentifierHandler extends ApiGatewayHandler<AddNewAu
             ValidIdentifierKey.ORCID.asString(),
             ValidIdentifierKey.ORGUNITID.asString());
 
-    private transient BareConnection bareConnection;
+    private final transient AtomicLong skippedWrites = new AtomicLong();
 
     /**
      * Default constructor for AddNewAuthorityIdentifierHandler.
@@ -57,14 +60,13 @@ public class AddNewAuthorityIdentifierHandler extends ApiGatewayHandler<AddNewAu
      * @param bareConnection bareConnection
      */
     public AddNewAuthorityIdentifierHandler(BareConnection bareConnection) {
-        super(AddNewAuthorityIdentifierRequest.class, new Environment());
-        this.bareConnection = bareConnection;
+        super(AddNewAuthorityIdentifierRequest.class, new Environment(), bareConnection);
     }
 
     @Override
-    protected Authority processInput(AddNewAuthorityIdentifierRequest input,
-                                     RequestInfo requestInfo,
-                                     Context context) throws ApiGatewayException {
+    protected Authority processRequest(AddNewAuthorityIdentifierRequest input,
+                                       RequestInfo requestInfo,
+                                       Context context) throws ApiGatewayException {
 
         try {
             String scn = requestInfo.getPathParameter(SCN_KEY);
@@ -98,9 +100,28 @@ public class AddNewAuthorityIdentifierHandler extends ApiGatewayHandler<AddNewAu
         }
     }
 
+    /**
+     * Adds an identifier to an authority. The add is skipped when the authority already has the identifier. The
+     * cached authority may be older than changes made by other functions or directly in Bare, so it only tells
+     * whether to check. The authority is then read from Bare, and the add is skipped only if that copy has the
+     * identifier.
+     *
+     * @param scn                 systemControlNumber of the authority
+     * @param authorityIdentifier identifier to add
+     * @return the authority with the identifier
+     * @throws ApiGatewayException when Bare fails
+     */
     protected Authority addNewIdentifier(String scn, AuthorityIdentifier authorityIdentifier)
             throws ApiGatewayException {
         try {
+            Optional<BareAuthority> cachedAuthority = bareConnection.getCached(scn);
+            if (cachedAuthority.isPresent() && cachedAuthority.get().hasIdentifier(authorityIdentifier)) {
+                BareAuthority currentAuthority = bareConnection.getFromBare(scn);
+                if (currentAuthority.hasIdentifier(authorityIdentifier)) {
+                    logger.info(SKIPPED_WRITE_MESSAGE, scn, skippedWrites.incrementAndGet());
+                    return new AuthorityConverter().asAuthority(currentAuthority);
+                }
+            }
             HttpResponse<String> response = bareConnection.addNewIdentifier(scn, authorityIdentifier);
             if (responseIsSuccessful(response)) {
                 return getAuthority(scn);
@@ -111,10 +132,19 @@ public class AddNewAuthorityIdentifierHandler extends ApiGatewayHandler<AddNewAu
             }
         } catch (IOException | URISyntaxException | InterruptedException e) {
             logger.error(e.getMessage(), e);
-            throw new BareException(e.getMessage());
+            throw BareException.from(e);
         }
     }
 
+    /**
+     * Number of adds not sent to Bare because the authority read from Bare already had the identifier.
+     *
+     * @return number of skipped adds since the handler was created
+     */
+    public long getSkippedWriteCount() {
+        return skippedWrites.get();
+    }
+
     private boolean responseIsSuccessful(HttpResponse<String> response) {
         return response.statusCode() == HTTP_OK || response.statusCode() == HTTP_NO_CONTENT;
     }
@@ -132,7 +162,7 @@ public class AddNewAuthorityIdentifierHandler extends ApiGatewayHandler<AddNewAu
             }
         } catch (IOException | URISyntaxException e) {
             logger.error(e.getMessage(), e);
-            throw new BareException(e.getMessage());
+            throw BareException.from(e);
         }
     }
 
@@ -1,12 +1,21 @@
 package no.unit.nva.bare;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import nva.commons.core.JsonUtils;
 
 public final class ApplicationConfig {
 
     public static final ObjectMapper defaultRestObjectMapper =  JsonUtils.dtoObjectMapper;
 
+    /**
+     * Reads authority records from Bare keeping only what is converted to an {@link Authority}, see
+     * {@link SelectiveBareAuthorityDeserializer}.
+     */
+    public static final ObjectMapper selectiveBareObjectMapper = defaultRestObjectMapper.copy()
+        .registerModule(new SimpleModule()
+                            .addDeserializer(BareAuthority.class, new SelectiveBareAuthorityDeserializer()));
+
     private ApplicationConfig() {
     }
 }
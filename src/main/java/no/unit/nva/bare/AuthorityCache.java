@@ -0,0 +1,198 @@
+package no.unit.nva.bare;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded in-process cache of authorities read from Bare, keyed by system control number.
+ *
+ * <p>Entries are evicted least-recently-used when the cache is full and expire a fixed time after they were
+ * written. System control numbers Bare has no authority for are remembered too, for a shorter time, so that repeated
+ * requests for them are answered without asking Bare. The cache lives as long as the {@link BareConnection} owning
+ * it, which is as long as the handler instance, so it survives between warm invocations of the same Lambda container.
+ *
+ * <p>Authorities copied from the {@link SharedAuthorityCache} may already have been kept there for a while, so they
+ * are kept for a shorter time, bounding how long an instance serves an authority after another instance changed it.
+ * Invalidations are numbered, so that an authority read while it was being invalidated is not cached, as it may be
+ * older than the change.
+ *
+ * <p>Only changes made through the {@link BareConnection} owning the cache invalidate it. The handlers run as separate
+ * functions, each with its own instances, and Bare may be changed directly, so an authority served from this cache
+ * can be older than a change made elsewhere by up to the time-to-live. That is why the time-to-live is short.
+ *
+ * <p>Hits on copies from the shared cache are counted separately from hits on authorities read from Bare, and a miss
+ * is a lookup found in neither.
+ */
+public class AuthorityCache {
+
+    public static final String STATISTICS_MESSAGE =
+        "AuthorityCache hits={} sharedCopyHits={} misses={} evictions={} size={}";
+    private static final Logger logger = LoggerFactory.getLogger(AuthorityCache.class);
+    private final transient Cache<String, BareAuthority> cache;
+    private final transient Cache<String, Boolean> notFound;
+    private final transient Cache<String, BareAuthority> sharedCopies;
+    private final transient Cache<String, Long> invalidations;
+    private final transient AtomicLong invalidationCount = new AtomicLong();
+
+    /**
+     * Creates a cache with size and time-to-live read from the environment.
+     */
+    public AuthorityCache() {
+        this(Config.AUTHORITY_CACHE_MAX_SIZE, Config.AUTHORITY_CACHE_TTL);
+    }
+
+    public AuthorityCache(long maximumSize, Duration timeToLive) {
+        this(maximumSize, timeToLive, Ticker.systemTicker());
+    }
+
+    public AuthorityCache(long maximumSize, Duration timeToLive, Ticker ticker) {
+        this(maximumSize, timeToLive, Config.AUTHORITY_NOT_FOUND_TTL, ticker);
+    }
+
+    public AuthorityCache(long maximumSize, Duration timeToLive, Duration notFoundTimeToLive, Ticker ticker) {
+        this(maximumSize, timeToLive, notFoundTimeToLive, Config.AUTHORITY_SHARED_COPY_TTL, ticker);
+    }
+
+    /**
+     * Constructor for testability reasons.
+     *
+     * @param maximumSize          maximum number of authorities, and of system control numbers not found, kept
+     * @param timeToLive           how long an authority is kept after it was written
+     * @param notFoundTimeToLive   how long a system control number Bare has no authority for is remembered
+     * @param sharedCopyTimeToLive how long an authority copied from the shared cache is kept, at most timeToLive
+     * @param ticker               time source
+     */
+    public AuthorityCache(long maximumSize, Duration timeToLive, Duration notFoundTimeToLive,
+                          Duration sharedCopyTimeToLive, Ticker ticker) {
+        this.cache = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .ticker(ticker)
+            .recordStats()
+            .build();
+        this.notFound = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(notFoundTimeToLive)
+            .ticker(ticker)
+            .build();
+        this.sharedCopies = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(sharedCopyTimeToLive.compareTo(timeToLive) < 0 ? sharedCopyTimeToLive : timeToLive)
+            .ticker(ticker)
+            .recordStats()
+            .build();
+        this.invalidations = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .ticker(ticker)
+            .build();
+    }
+
+    public Optional<BareAuthority> get(String systemControlNumber) {
+        return Optional.ofNullable(cache.getIfPresent(systemControlNumber))
+            .or(() -> Optional.ofNullable(sharedCopies.getIfPresent(systemControlNumber)));
+    }
+
+    public void put(String systemControlNumber, BareAuthority bareAuthority) {
+        notFound.invalidate(systemControlNumber);
+        sharedCopies.invalidate(systemControlNumber);
+        cache.put(systemControlNumber, bareAuthority);
+    }
+
+    /**
+     * Keeps an authority read from the {@link SharedAuthorityCache}, for at most the shared copy time-to-live.
+     *
+     * @param systemControlNumber scn
+     * @param bareAuthority       the authority
+     */
+    public void putSharedCopy(String systemControlNumber, BareAuthority bareAuthority) {
+        notFound.invalidate(systemControlNumber);
+        cache.invalidate(systemControlNumber);
+        sharedCopies.put(systemControlNumber, bareAuthority);
+    }
+
+    /**
+     * Removes an authority that was changed, numbering the invalidation, see {@link #isInvalidatedSince}.
+     *
+     * @param systemControlNumber scn
+     */
+    public void invalidate(String systemControlNumber) {
+        invalidations.put(systemControlNumber, invalidationCount.incrementAndGet());
+        cache.invalidate(systemControlNumber);
+        sharedCopies.invalidate(systemControlNumber);
+        notFound.invalidate(systemControlNumber);
+    }
+
+    /**
+     * Number of the latest invalidation, to be taken before reading an authority.
+     *
+     * @return the number of invalidations so far
+     */
+    public long getInvalidationCount() {
+        return invalidationCount.get();
+    }
+
+    /**
+     * Whether an authority was invalidated after the given invalidation, for instance while it was being read. Only
+     * invalidations within the time-to-live are remembered.
+     *
+     * @param systemControlNumber scn
+     * @param invalidationCount   {@link #getInvalidationCount()} taken before the read
+     * @return true when the authority was invalidated since
+     */
+    public boolean isInvalidatedSince(String systemControlNumber, long invalidationCount) {
+        Long invalidated = invalidations.getIfPresent(systemControlNumber);
+        return Objects.nonNull(invalidated) && invalidated > invalidationCount;
+    }
+
+    /**
+     * Remembers that Bare has no authority with the system control number.
+     *
+     * @param systemControlNumber scn
+     */
+    public void putNotFound(String systemControlNumber) {
+        notFound.put(systemControlNumber, Boolean.TRUE);
+    }
+
+    public boolean isNotFound(String systemControlNumber) {
+        return Objects.nonNull(notFound.getIfPresent(systemControlNumber));
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getSharedCopyHitCount() {
+        return sharedCopies.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return sharedCopies.stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    public long size() {
+        return cache.size() + sharedCopies.size();
+    }
+
+    /**
+     * Logs hit, shared copy hit, miss and eviction counters accumulated since the cache was created.
+     */
+    public void logStatistics() {
+        CacheStats stats = cache.stats();
+        CacheStats sharedCopyStats = sharedCopies.stats();
+        logger.info(STATISTICS_MESSAGE, stats.hitCount(), sharedCopyStats.hitCount(), sharedCopyStats.missCount(),
+                    stats.evictionCount() + sharedCopyStats.evictionCount(), size());
+    }
+}
@@ -1,7 +1,10 @@
 package no.unit.nva.bare;
 
+import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
 import static nva.commons.core.attempt.Try.attempt;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Collections;
@@ -17,8 +20,6 @@ import org.slf4j.LoggerFactory;
 
 public class AuthorityConverter {
 
-    public static final String AUTHORITY_INCOMING_BARE_AUTHORTY_MESSAGE =
-        "AuthorityConverter.asAuthority incoming bareAuthorty=";
     public static final String CONVERTER_AS_AUTHORITY_AUTHORITY_SCN_MESSAGE =
         "AuthorityConverter.asAuthority:authority.scn={}";
     public static final String MARC_TAG_PERSONAL_NAME_FIELD_CODE = "100";
@@ -45,9 +46,32 @@ public class AuthorityConverter {
         return Arrays.stream(bareQueryResponse.results).map(this::asAuthority).collect(Collectors.toList());
     }
 
+    /**
+     * Converts and serializes the hits one at a time, so no list of converted authorities is built. This is not
+     * streaming: the search response from Bare is already fully deserialized and the whole json array is collected
+     * in a String, because the proxy integration takes the body as one String. Memory per search is bounded by
+     * paging instead, at most {@link Config#SEARCH_MAX_PAGE_SIZE} hits.
+     *
+     * @param bareQueryResponse hits from Bare
+     * @return json array of authorities
+     * @throws IOException when an authority cannot be serialized
+     */
+    protected String extractAuthoritiesAsJson(BareQueryResponse bareQueryResponse) throws IOException {
+        StringWriter json = new StringWriter();
+        try (SequenceWriter authorities = defaultRestObjectMapper.writer().writeValuesAsArray(json)) {
+            for (BareAuthority bareAuthority : bareQueryResponse.results) {
+                Authority authority = asAuthority(bareAuthority);
+                long serializing = System.nanoTime();
+                authorities.write(authority);
+                ServerTiming.record(ServerTiming.Phase.SERIALIZE, serializing);
+            }
+        }
+        return json.toString();
+    }
+
     @SuppressWarnings("unchecked")
     protected Authority asAuthority(BareAuthority bareAuthority) {
-        logger.info(AUTHORITY_INCOMING_BARE_AUTHORTY_MESSAGE + bareAuthority);
+        final long started = System.nanoTime();
         final String name = this.findValueIn(bareAuthority, MARC_TAG_PERSONAL_NAME_VALUE_SUBFIELD_CODE);
         final String date = this.findValueIn(bareAuthority, MARC_TAG_DATES_ASSOCIATED_WITH_PERSONAL_NAME_SUBFIELD_CODE);
         final String scn = bareAuthority.getSystemControlNumber();
@@ -64,7 +88,8 @@ public class AuthorityConverter {
         authority.setOrcids(orcIdArray.orElse(Collections.EMPTY_LIST));
         authority.setOrgunitids(orgUnitIdArray.orElse(Collections.EMPTY_LIST));
         authority.setHandles(handleArray.orElse(Collections.EMPTY_LIST));
-        logger.info(CONVERTER_AS_AUTHORITY_AUTHORITY_SCN_MESSAGE, authority.getSystemControlNumber());
+        logger.debug(CONVERTER_AS_AUTHORITY_AUTHORITY_SCN_MESSAGE, scn);
+        ServerTiming.record(ServerTiming.Phase.CONVERT, started);
         return authority;
     }
 
@@ -85,13 +110,11 @@ public class AuthorityConverter {
     }
 
     protected String findValueIn(BareAuthority bareAuthority, String marcSubfieldTag) {
-        List<String> values = Arrays.stream(bareAuthority.getMarcdata())
-            .filter(marc -> Arrays.asList(new String[]{MARC_TAG_PERSONAL_NAME_FIELD_CODE}).contains(marc.getTag()))
-            .flatMap(marc -> Arrays.stream(marc.getSubfields()))
-            .filter(subfield -> marcSubfieldTag.equals(subfield.getSubcode()))
-            .map(subfield -> subfield.getValue())
-            .collect(Collectors.toList());
-        return !values.isEmpty() ? values.get(0) : EMPTY_STRING;
+        return findValueIn(bareAuthority, MARC_TAG_PERSONAL_NAME_FIELD_CODE, marcSubfieldTag);
+    }
+
+    protected String findValueIn(BareAuthority bareAuthority, String marcFieldTag, String marcSubfieldTag) {
+        return bareAuthority.getMarcIndex().getFirstValue(marcFieldTag, marcSubfieldTag).orElse(EMPTY_STRING);
     }
 
     private URI generateId(String scn) {
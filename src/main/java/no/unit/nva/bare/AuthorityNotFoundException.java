@@ -0,0 +1,15 @@
+package no.unit.nva.bare;
+
+import java.io.IOException;
+
+/**
+ * Bare has no authority with the systemControlNumber, or it is not a well-formed systemControlNumber.
+ */
+public class AuthorityNotFoundException extends IOException {
+
+    public static final String NOT_FOUND_MESSAGE = "Authority not found: %s";
+
+    public AuthorityNotFoundException(String systemControlNumber) {
+        super(String.format(NOT_FOUND_MESSAGE, systemControlNumber));
+    }
+}
@@ -1,10 +1,13 @@
 package no.unit.nva.bare;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import nva.commons.core.JacocoGenerated;
 import nva.commons.core.JsonSerializable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -20,6 +23,7 @@ public class BareAuthority implements JsonSerializable {
     private String systemControlNumber;
     private Marc21[] marcdata;
     private Map<String, List<String>> identifiersMap;
+    private transient MarcIndex marcIndex;
 
     public static BareAuthority fromJson(String json) {
         return attempt(() -> defaultRestObjectMapper.readValue(json, BareAuthority.class)).orElseThrow();
@@ -47,6 +51,22 @@ public class BareAuthority implements JsonSerializable {
 
     public void setMarcdata(Marc21[] marcdata) {
         this.marcdata = marcdata;
+        this.marcIndex = null;
+    }
+
+    /**
+     * Index of the marc subfields, built on first access and kept for later lookups.
+     *
+     * @return index of the marc subfields
+     */
+    @JsonIgnore
+    public MarcIndex getMarcIndex() {
+        MarcIndex index = marcIndex;
+        if (Objects.isNull(index)) {
+            index = MarcIndex.of(marcdata);
+            marcIndex = index;
+        }
+        return index;
     }
 
     public Map<String, List<String>> getIdentifiersMap() {
@@ -91,6 +111,55 @@ public class BareAuthority implements JsonSerializable {
         return Collections.emptyList();
     }
 
+    /**
+     * Copy of this authority with an identifier added for given system, as Bare will have it after the identifier
+     * has been added.
+     *
+     * @param source     key for identifying system
+     * @param identifier identifier to add
+     * @return a copy with the identifier added
+     */
+    public BareAuthority withIdentifierAdded(String source, String identifier) {
+        BareAuthority copy = copy();
+        List<String> identifiers = copy.identifiersMap.computeIfAbsent(source, key -> new ArrayList<>());
+        if (!identifiers.contains(identifier)) {
+            identifiers.add(identifier);
+        }
+        return copy;
+    }
+
+    /**
+     * Copy of this authority with an identifier removed for given system, as Bare will have it after the identifier
+     * has been deleted.
+     *
+     * @param source     key for identifying system
+     * @param identifier identifier to remove
+     * @return a copy with the identifier removed
+     */
+    public BareAuthority withIdentifierRemoved(String source, String identifier) {
+        BareAuthority copy = copy();
+        List<String> identifiers = copy.identifiersMap.get(source);
+        if (Objects.nonNull(identifiers)) {
+            identifiers.remove(identifier);
+        }
+        return copy;
+    }
+
+    private BareAuthority copy() {
+        BareAuthority copy = new BareAuthority();
+        copy.setAuthorityType(authorityType);
+        copy.setStatus(status);
+        copy.setSystemControlNumber(systemControlNumber);
+        copy.setMarcdata(marcdata);
+        copy.marcIndex = marcIndex;
+        Map<String, List<String>> identifiersCopy = new HashMap<>();
+        if (Objects.nonNull(identifiersMap)) {
+            identifiersMap.forEach((source, identifiers) -> identifiersCopy.put(source, new ArrayList<>(identifiers)));
+        }
+        copy.setIdentifiersMap(identifiersCopy);
+        return copy;
+    }
+
     @JacocoGenerated
     @Override
     public int hashCode() {
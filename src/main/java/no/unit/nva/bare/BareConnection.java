@@ -1,40 +1,109 @@
 package no.unit.nva.bare;
 
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static java.net.HttpURLConnection.HTTP_NO_CONTENT;
 import static java.net.HttpURLConnection.HTTP_OK;
 import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import static no.unit.nva.bare.ApplicationConfig.selectiveBareObjectMapper;
 import static no.unit.nva.bare.Config.BARE_APIKEY;
 import static no.unit.nva.bare.Config.BARE_CREATE_PATH;
 import static no.unit.nva.bare.Config.BARE_HOST;
+import static no.unit.nva.bare.Config.BARE_PROTOCOL;
 import static no.unit.nva.bare.Config.BARE_QUERY_PATH;
+import static no.unit.nva.bare.Config.PATH_SEPARATOR;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Throwables;
 import com.google.common.net.HttpHeaders;
 import com.google.common.net.MediaType;
+import no.unit.nva.bare.tracing.Subsegment;
+import no.unit.nva.bare.tracing.TraceRecorder;
+import no.unit.nva.bare.tracing.XRayTraceRecorder;
+import nva.commons.core.JacocoGenerated;
+import nva.commons.core.attempt.FunctionWithException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class BareConnection {
 
-    public static final String HTTPS = "https";
     public static final String APIKEY_KEY = "apikey";
     public static final String SPACE = " ";
     public static final String EMPTY_FRAGMENT = null;
-    public static final String QUERY_PERSON_AUTHORITIES = "q=%s+authoritytype:person&start=1&max=10&format=json";
+    public static final String QUERY_PERSON_AUTHORITIES = "q=%s+authoritytype:person&start=%d&max=%d&format=json";
+    public static final int DEFAULT_SEARCH_START = 1;
+    public static final int DEFAULT_SEARCH_MAX = 10;
     public static final String QUERY_SPECIFY_AUTHORITY_IDENTIFIER = "identifier=%s";
     public static final String PATH_TO_AUTHORITY_TEMPLATE = "/authority/rest/authorities/v2/%s";
     public static final String DELETE_AUTHORITY_IDENTIFIER_PATH = "/authority/rest/authorities/v2/%s/identifiers/%s";
     public static final Duration TIMEOUT_DURATION = Duration.ofSeconds(15);
+    public static final Duration WARM_UP_TIMEOUT_DURATION = Duration.ofSeconds(2);
 
     public static final String ADD_NEW_AUTHORITY_IDENTIFIER_PATH = "/authority/rest/authorities/v2/%s/identifiers";
+    public static final String BARE_SUBSEGMENT = "Bare";
+    public static final String OPERATION_ANNOTATION = "operation";
+    public static final String SCN_ANNOTATION = "scn";
+    public static final String STATUS_CODE_ANNOTATION = "status_code";
+    public static final String CACHE_HITS_ANNOTATION = "cache_hits";
+    public static final String CACHE_MISSES_ANNOTATION = "cache_misses";
+    public static final String SHARED_CACHE_HITS_ANNOTATION = "shared_cache_hits";
     private static final String GET_AUTHORITY_QUERY_PARAMETERS = "format=json";
+    private static final String HEAD = "HEAD";
     private static final String EMPTY_QUERY = null;
-    private final transient HttpClient httpClient;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern SYSTEM_CONTROL_NUMBER_FORMAT = Pattern.compile("[\\w-]{1,40}");
+    private static final String NO_SYSTEM_CONTROL_NUMBER = null;
+    private static final String NO_IDENTIFIER = null;
+    private static final String UPDATE_PHASE_DELETE = "delete";
+    private static final String UPDATE_PHASE_ADD = "add";
+    private static final String UPDATE_PHASE_COMPENSATE = "compensate";
+    private static final String UPDATE_PHASE_MESSAGE = "updateIdentifier scn={} phase={} outcome={} tookMs={}";
+    private static final String STALE_INDEX_ENTRY_MESSAGE =
+        "getByIdentifier could not read indexed authority, source={} scn={}: {}";
+    private static final String UNEXPECTED_RESPONSE_MESSAGE =
+        "Unexpected response from Bare reading authority, scn={} status={}: {}";
+    private static final String COMPENSATION_FAILED_MESSAGE =
+        "updateIdentifier could not restore identifier after failed update, scn={} qualifier={} identifier={}: {}";
+    private final transient Supplier<HttpClient> httpClientFactory;
+    private final transient AtomicReference<HttpClient> httpClient;
+    private final transient AuthorityCache authorityCache;
+    private final transient SharedAuthorityCache sharedAuthorityCache;
+    private final transient ReadYourWrites readYourWrites;
+    private final transient ObjectMapper bareObjectMapper =
+        Config.BARE_SELECTIVE_READ ? selectiveBareObjectMapper : defaultRestObjectMapper;
+    private final transient SingleFlight<String, BareAuthority> authorityReads = new SingleFlight<>();
+    private final transient SingleFlight<String, BareQueryResponse> searches = new SingleFlight<>();
+    private final transient BareMetrics metrics = new BareMetrics();
+    private final transient IdentifierIndex identifierIndex = new IdentifierIndex();
+    private final transient Map<String, BareAuthority> invocationReads = new ConcurrentHashMap<>();
+    private final transient Map<String, BareAuthority> derivedAuthorities = new ConcurrentHashMap<>();
+    private final transient AtomicReference<Optional<ServerTiming>> invocationTiming =
+        new AtomicReference<>(Optional.empty());
+    private final transient TraceRecorder traceRecorder;
+    private final transient BareRateLimiter rateLimiter;
     private final transient Logger logger = LoggerFactory.getLogger(BareConnection.class);
 
     /**
@@ -43,15 +112,211 @@ public class BareConnection {
      * @param httpClient HttpClient
      */
     public BareConnection(HttpClient httpClient) {
-        this.httpClient = httpClient;
+        this(httpClient, new AuthorityCache());
     }
 
+    /**
+     * Constructor for testability reasons.
+     *
+     * @param httpClient     HttpClient
+     * @param authorityCache cache consulted before reading an authority from Bare
+     */
+    public BareConnection(HttpClient httpClient, AuthorityCache authorityCache) {
+        this(httpClient, authorityCache, new ReadYourWrites());
+    }
+
+    /**
+     * Constructor for testability reasons.
+     *
+     * @param httpClient     HttpClient
+     * @param authorityCache cache consulted before reading an authority from Bare
+     * @param readYourWrites decides whether the cache is updated or invalidated after an identifier mutation
+     */
+    public BareConnection(HttpClient httpClient, AuthorityCache authorityCache, ReadYourWrites readYourWrites) {
+        this(httpClient, authorityCache, readYourWrites, new XRayTraceRecorder());
+    }
+
+    /**
+     * Constructor for testability reasons.
+     *
+     * @param httpClient     HttpClient
+     * @param authorityCache cache consulted before reading an authority from Bare
+     * @param readYourWrites decides whether the cache is updated or invalidated after an identifier mutation
+     * @param traceRecorder  records the requests to Bare as subsegments of the trace
+     */
+    public BareConnection(HttpClient httpClient, AuthorityCache authorityCache, ReadYourWrites readYourWrites,
+                          TraceRecorder traceRecorder) {
+        this(httpClient, authorityCache, new SharedAuthorityCache(), readYourWrites, traceRecorder);
+    }
+
+    /**
+     * Constructor for testability reasons.
+     *
+     * @param httpClient           HttpClient
+     * @param authorityCache       cache consulted before reading an authority from Bare
+     * @param sharedAuthorityCache cache shared by all instances, consulted after authorityCache
+     * @param readYourWrites       decides whether the cache is updated or invalidated after an identifier mutation
+     * @param traceRecorder        records the requests to Bare as subsegments of the trace
+     */
+    public BareConnection(HttpClient httpClient, AuthorityCache authorityCache,
+                          SharedAuthorityCache sharedAuthorityCache, ReadYourWrites readYourWrites,
+                          TraceRecorder traceRecorder) {
+        this(httpClient, authorityCache, sharedAuthorityCache, readYourWrites, traceRecorder, new BareRateLimiter());
+    }
+
+    /**
+     * Constructor for testability reasons.
+     *
+     * @param httpClient           HttpClient
+     * @param authorityCache       cache consulted before reading an authority from Bare
+     * @param sharedAuthorityCache cache shared by all instances, consulted after authorityCache
+     * @param readYourWrites       decides whether the cache is updated or invalidated after an identifier mutation
+     * @param traceRecorder        records the requests to Bare as subsegments of the trace
+     * @param rateLimiter          budgets of the requests sent to Bare
+     */
+    public BareConnection(HttpClient httpClient, AuthorityCache authorityCache,
+                          SharedAuthorityCache sharedAuthorityCache, ReadYourWrites readYourWrites,
+                          TraceRecorder traceRecorder, BareRateLimiter rateLimiter) {
+        this(() -> httpClient, authorityCache, sharedAuthorityCache, readYourWrites, traceRecorder, rateLimiter);
+    }
+
+    /**
+     * Creates the connection used by the Lambda handlers, primed during function init, see {@link Priming}.
+     */
+    @JacocoGenerated
     public BareConnection() {
-        httpClient = HttpClient.newHttpClient();
+        this(HttpClient::newHttpClient, new AuthorityCache(), new SharedAuthorityCache(), new ReadYourWrites(),
+             new XRayTraceRecorder(), new BareRateLimiter());
+        Priming.prime(this);
+    }
+
+    private BareConnection(Supplier<HttpClient> httpClientFactory, AuthorityCache authorityCache,
+                           SharedAuthorityCache sharedAuthorityCache, ReadYourWrites readYourWrites,
+                           TraceRecorder traceRecorder, BareRateLimiter rateLimiter) {
+        this.httpClientFactory = httpClientFactory;
+        this.httpClient = new AtomicReference<>(httpClientFactory.get());
+        this.authorityCache = authorityCache;
+        this.sharedAuthorityCache = sharedAuthorityCache;
+        this.readYourWrites = readYourWrites;
+        this.traceRecorder = traceRecorder;
+        this.rateLimiter = rateLimiter;
+    }
+
+    public AuthorityCache getAuthorityCache() {
+        return authorityCache;
+    }
+
+    public SharedAuthorityCache getSharedAuthorityCache() {
+        return sharedAuthorityCache;
+    }
+
+    public BareMetrics getMetrics() {
+        return metrics;
+    }
+
+    public IdentifierIndex getIdentifierIndex() {
+        return identifierIndex;
+    }
+
+    /**
+     * Writes the metrics of the requests sent to Bare since the last call, see {@link BareMetrics}. The handlers call
+     * this once at the end of each invocation.
+     */
+    public void emitMetrics() {
+        metrics.emit();
+    }
+
+    /**
+     * Begins the subsegment of a handler invocation in the X-Ray trace, the parent of the subsegments of the requests
+     * sent to Bare by the calling thread until {@link #endTrace()}.
+     *
+     * @param name name of the subsegment, such as the name of the handler
+     */
+    public void beginTrace(String name) {
+        traceRecorder.beginCurrent(name);
+    }
+
+    /**
+     * Ends the subsegment begun by {@link #beginTrace(String)}.
+     */
+    public void endTrace() {
+        TraceRecorder.current().ifPresent(traceRecorder::end);
+    }
+
+    /**
+     * Begins a handler invocation. Authorities read from Bare during the invocation are the only base an authority is
+     * derived from after a mutation, see {@link ReadYourWrites}. A derived authority is served, before the cache, to
+     * the rest of the invocation only; it is never cached. Requests to Bare sent during the invocation, also from
+     * other threads than the calling one, add their time to the {@link ServerTiming} of the calling thread.
+     */
+    public void beginInvocation() {
+        invocationReads.clear();
+        derivedAuthorities.clear();
+        invocationTiming.set(ServerTiming.current());
     }
 
     /**
-     * Get an authority from Bare by given systemControlNumber.
+     * Ends the invocation begun by {@link #beginInvocation()}, dropping the authorities read and derived during it.
+     */
+    public void endInvocation() {
+        invocationReads.clear();
+        derivedAuthorities.clear();
+        invocationTiming.set(Optional.empty());
+    }
+
+    /**
+     * Opens a connection to Bare, resolving its address and doing the TLS handshake, so that the first request
+     * served does not pay for it. The connection is kept by the http client for later requests.
+     *
+     * @return status code of Bare's answer, which is not expected to be a success
+     * @throws IOException          communication error
+     * @throws InterruptedException thread interrupted
+     * @throws URISyntaxException   error in configuration
+     */
+    public int warmUp() throws IOException, InterruptedException, URISyntaxException {
+        URI uri = new URI(BARE_PROTOCOL, BARE_HOST, PATH_SEPARATOR, EMPTY_QUERY, EMPTY_FRAGMENT);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .method(HEAD, HttpRequest.BodyPublishers.noBody())
+            .timeout(WARM_UP_TIMEOUT_DURATION)
+            .build();
+        return httpClient.get().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * Replaces the http client with a new one, dropping the connections it kept. Connections restored from a
+     * snapshot of the function are not usable.
+     */
+    public void renewHttpClient() {
+        httpClient.set(httpClientFactory.get());
+    }
+
+    /**
+     * Get an authority from the cache only, without reading it from Bare.
+     *
+     * @param systemControlNumber scn
+     * @return the cached authority, or empty when it is not cached
+     */
+    public Optional<BareAuthority> getCached(String systemControlNumber) {
+        return authorityCache.get(systemControlNumber);
+    }
+
+    /**
+     * Checks the format of a systemControlNumber, a short run of letters, digits, dashes and underscores, so that one
+     * that cannot exist in Bare is rejected without asking Bare.
+     *
+     * @param systemControlNumber scn
+     * @return whether it may be the systemControlNumber of an authority
+     */
+    public static boolean isValidSystemControlNumber(String systemControlNumber) {
+        return Objects.nonNull(systemControlNumber)
+               && SYSTEM_CONTROL_NUMBER_FORMAT.matcher(systemControlNumber).matches();
+    }
+
+    /**
+     * Get an authority by given systemControlNumber, from the cache when present and otherwise from Bare. Concurrent
+     * calls for the same systemControlNumber share one request to Bare.
+     * A systemControlNumber that is malformed, or that Bare had no authority for within the last
+     * <code>AUTHORITY_NOT_FOUND_TTL_SECONDS</code>, fails with {@link AuthorityNotFoundException} without a request.
      *
      * @param systemControlNumber scn
      * @return InputStreamReader containing the authority payload
@@ -60,16 +325,100 @@ public class BareConnection {
      * @throws InterruptedException error in communication
      */
     public BareAuthority get(String systemControlNumber) throws URISyntaxException, IOException, InterruptedException {
-        final URI getUri = formatGetByScnQuery(systemControlNumber);
+        rejectUnknown(systemControlNumber);
+        Optional<BareAuthority> cachedAuthority = lookUpCache(systemControlNumber);
+        if (cachedAuthority.isPresent()) {
+            return cachedAuthority.get();
+        }
+        return coalesced(authorityReads, systemControlNumber, () -> fetch(systemControlNumber));
+    }
 
-        HttpResponse<String> response = sendGetRequest(getUri);
-        if (response.statusCode() == HTTP_OK) {
-            final String body = response.body();
-            return defaultRestObjectMapper.readValue(body, BareAuthority.class);
-        } else {
-            logger.error("Error..? " + response.body());
-            throw new IOException(response.body());
+    /**
+     * Get an authority with its whole marc record from Bare. Authorities returned by {@link #get(String)} may hold
+     * only the marc fields that are converted, see {@link SelectiveBareAuthorityDeserializer}, so this read bypasses
+     * the cache. Unknown systemControlNumbers are rejected as by {@link #get(String)}.
+     *
+     * @param systemControlNumber scn
+     * @return the complete authority
+     * @throws IOException          some communication mishap
+     * @throws URISyntaxException   error in configuration
+     * @throws InterruptedException error in communication
+     */
+    public BareAuthority getComplete(String systemControlNumber)
+        throws URISyntaxException, IOException, InterruptedException {
+        rejectUnknown(systemControlNumber);
+        HttpResponse<InputStream> response =
+            sendStreamingRequest(BareOperation.GET, systemControlNumber, getAuthorityRequest(systemControlNumber));
+        return toBareAuthority(systemControlNumber, response, defaultRestObjectMapper);
+    }
+
+    /**
+     * Get an authority from Bare, bypassing the caches, for a decision that must not rest on a copy that may be older
+     * than a change made elsewhere. The authority read is cached like one read by {@link #get(String)}.
+     *
+     * @param systemControlNumber scn
+     * @return the authority as Bare holds it
+     * @throws IOException          some communication mishap, {@link AuthorityNotFoundException} when Bare has none
+     * @throws URISyntaxException   error in configuration
+     * @throws InterruptedException error in communication
+     */
+    public BareAuthority getFromBare(String systemControlNumber)
+        throws URISyntaxException, IOException, InterruptedException {
+        if (!isValidSystemControlNumber(systemControlNumber)) {
+            throw new AuthorityNotFoundException(systemControlNumber);
+        }
+        return read(systemControlNumber, authorityCache.getInvalidationCount());
+    }
+
+    /**
+     * Get an authority from Bare by given systemControlNumber without blocking the calling thread.
+     *
+     * @param systemControlNumber scn
+     * @return future completing with the authority, or exceptionally with the same exceptions as {@link #get(String)}
+     */
+    public CompletableFuture<BareAuthority> getAsync(String systemControlNumber) {
+        try {
+            rejectUnknown(systemControlNumber);
+        } catch (AuthorityNotFoundException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Optional<BareAuthority> cachedAuthority = lookUpCache(systemControlNumber);
+        if (cachedAuthority.isPresent()) {
+            return CompletableFuture.completedFuture(cachedAuthority.get());
         }
+        return authorityReads.executeAsync(systemControlNumber, () -> fetchAsync(systemControlNumber));
+    }
+
+    /**
+     * Get the authority having an identifier, found through the {@link IdentifierIndex} and read by its
+     * systemControlNumber, without searching Bare. Only identifiers a recent {@link #searchByIdentifier} found on
+     * one authority are indexed. The authority read is checked to still have the identifier, and a stale or
+     * unreadable entry is dropped from the index. An entry is kept when the read was throttled.
+     *
+     * @param source     system of the identifier
+     * @param identifier the identifier
+     * @return the authority, or empty when the identifier is not indexed or the indexed authority no longer has it
+     * @throws URISyntaxException   error in configuration
+     * @throws InterruptedException error in communication
+     */
+    public Optional<BareAuthority> getByIdentifier(ValidIdentifierSource source, String identifier)
+        throws URISyntaxException, InterruptedException {
+        Optional<String> systemControlNumber = identifierIndex.lookUp(source, identifier);
+        if (systemControlNumber.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            BareAuthority bareAuthority = get(systemControlNumber.get());
+            if (bareAuthority.hasIdentifier(new AuthorityIdentifier(source.asString(), identifier))) {
+                return Optional.of(bareAuthority);
+            }
+        } catch (BareThrottledException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            logger.warn(STALE_INDEX_ENTRY_MESSAGE, source.asString(), systemControlNumber.get(), e.getMessage());
+        }
+        identifierIndex.remove(systemControlNumber.get(), source.asString(), identifier);
+        return Optional.empty();
     }
 
     /**
@@ -86,16 +435,31 @@ public class BareConnection {
                                                  AuthorityIdentifier authorityIdentifier)
         throws IOException,
                URISyntaxException, InterruptedException {
-        String addIdentifierPath =
-            String.format(ADD_NEW_AUTHORITY_IDENTIFIER_PATH, authoritySystemControlNumber);
-        URI uri = new URI(HTTPS, BARE_HOST, addIdentifierPath, EMPTY_QUERY, EMPTY_FRAGMENT);
-
-        final String body = defaultRestObjectMapper.writeValueAsString(authorityIdentifier);
-        HttpRequest.BodyPublisher bodyPublisher = HttpRequest.BodyPublishers.ofString(body);
-        final HttpRequest.Builder requestBuilder = getHttpRequestBuilder(uri);
-        HttpRequest request = requestBuilder.POST(bodyPublisher).build();
+        Optional<BareAuthority> authorityBefore = readInInvocation(authoritySystemControlNumber);
+        HttpResponse<String> response = addIdentifier(authoritySystemControlNumber, authorityIdentifier);
+        deriveAfterMutation(authoritySystemControlNumber, authorityBefore, response, withAdded(authorityIdentifier));
+        reindexAfterMutation(authoritySystemControlNumber, response, authorityIdentifier.getSource(), NO_IDENTIFIER,
+                             authorityIdentifier.getIdentifier());
+        return response;
+    }
 
-        return sendRequest(request);
+    /**
+     * Asynchronous variant of {@link #addNewIdentifier(String, AuthorityIdentifier)}.
+     *
+     * @param authoritySystemControlNumber Identifier of Authority to update
+     * @param authorityIdentifier          New identifier pair to add to authority
+     * @return future completing with the response from Bare
+     */
+    public CompletableFuture<HttpResponse<String>> addNewIdentifierAsync(String authoritySystemControlNumber,
+                                                                         AuthorityIdentifier authorityIdentifier) {
+        Optional<BareAuthority> authorityBefore = readInInvocation(authoritySystemControlNumber);
+        return addIdentifierAsync(authoritySystemControlNumber, authorityIdentifier)
+            .whenComplete((response, failure) -> {
+                deriveAfterMutation(authoritySystemControlNumber, authorityBefore, response,
+                                    withAdded(authorityIdentifier));
+                reindexAfterMutation(authoritySystemControlNumber, response, authorityIdentifier.getSource(),
+                                     NO_IDENTIFIER, authorityIdentifier.getIdentifier());
+            });
     }
 
     /**
@@ -109,15 +473,22 @@ public class BareConnection {
      */
     public HttpResponse<String> createAuthority(BareAuthority bareAuthority)
         throws IOException, URISyntaxException, InterruptedException {
+        return sendRequest(BareOperation.CREATE, NO_SYSTEM_CONTROL_NUMBER, createAuthorityRequest(bareAuthority));
+    }
 
-        URI uri = new URI(HTTPS, BARE_HOST, BARE_CREATE_PATH, EMPTY_QUERY, EMPTY_FRAGMENT);
-        final String payload = bareAuthority.toJsonString();
-
-        HttpRequest.BodyPublisher bodyPublisher = HttpRequest.BodyPublishers.ofString(payload);
-
-        final HttpRequest.Builder requestBuilder = getHttpRequestBuilder(uri);
-        HttpRequest request = requestBuilder.POST(bodyPublisher).build();
-        return sendRequest(request);
+    /**
+     * Asynchronous variant of {@link #createAuthority(BareAuthority)}.
+     *
+     * @param bareAuthority authority to be created
+     * @return future completing with the response from Bare
+     */
+    public CompletableFuture<HttpResponse<String>> createAuthorityAsync(BareAuthority bareAuthority) {
+        try {
+            return sendRequestAsync(BareOperation.CREATE, NO_SYSTEM_CONTROL_NUMBER,
+                                    createAuthorityRequest(bareAuthority));
+        } catch (URISyntaxException e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     /**
@@ -133,22 +504,45 @@ public class BareConnection {
      */
     public HttpResponse<String> deleteIdentifier(String systemControlNumber, String qualifier, String identifier)
         throws IOException, URISyntaxException, InterruptedException {
-        String qualifierPath = String.format(DELETE_AUTHORITY_IDENTIFIER_PATH, systemControlNumber, qualifier);
-        String deleteIdentifierQuery = String.format(QUERY_SPECIFY_AUTHORITY_IDENTIFIER, identifier);
-        URI uri = new URI(HTTPS, BARE_HOST, qualifierPath, deleteIdentifierQuery, EMPTY_FRAGMENT);
-        final HttpRequest.Builder requestBuilder = getHttpRequestBuilder(uri);
-        HttpRequest request = requestBuilder.DELETE().build();
-        return sendRequest(request);
+        Optional<BareAuthority> authorityBefore = readInInvocation(systemControlNumber);
+        HttpResponse<String> response = removeIdentifier(systemControlNumber, qualifier, identifier);
+        deriveAfterMutation(systemControlNumber, authorityBefore, response, withRemoved(qualifier, identifier));
+        reindexAfterMutation(systemControlNumber, response, qualifier, identifier, NO_IDENTIFIER);
+        return response;
+    }
+
+    /**
+     * Asynchronous variant of {@link #deleteIdentifier(String, String, String)}.
+     *
+     * @param systemControlNumber System control number (identifier) of authority
+     * @param qualifier           Qualifier for identifier to delete from authority
+     * @param identifier          Identifier to delete from authority
+     * @return future completing with the response from Bare
+     */
+    public CompletableFuture<HttpResponse<String>> deleteIdentifierAsync(String systemControlNumber,
+                                                                         String qualifier,
+                                                                         String identifier) {
+        Optional<BareAuthority> authorityBefore = readInInvocation(systemControlNumber);
+        return removeIdentifierAsync(systemControlNumber, qualifier, identifier)
+            .whenComplete((response, failure) -> {
+                deriveAfterMutation(systemControlNumber, authorityBefore, response, withRemoved(qualifier, identifier));
+                reindexAfterMutation(systemControlNumber, response, qualifier, identifier, NO_IDENTIFIER);
+            });
     }
 
     /**
      * Update an existing identifier with a specific qualifier with a new value in a given authority in ARP.
      *
+     * <p>The existing identifier is deleted and the new one added. When the delete fails its response is returned
+     * and nothing is added. When the add fails the deleted identifier is added back. When the authority was read
+     * from Bare earlier in the invocation, the authority with the new identifier may be derived from it so that it
+     * need not be read again, see {@link ReadYourWrites}.
+     *
      * @param systemControlNumber System control number (identifier) of authority
      * @param qualifier           Qualifier for identifier to update in authority
      * @param identifier          Existing identifier in authority
      * @param updatedIdentifier   New value of existing identifier in authority
-     * @return CloseableHttpResponse
+     * @return the response of the add request, or of the delete request when that failed
      * @throws IOException          communication error
      * @throws URISyntaxException   error while creating URI
      * @throws InterruptedException error in communication
@@ -158,34 +552,696 @@ public class BareConnection {
                                                  String identifier,
                                                  String updatedIdentifier) throws IOException, URISyntaxException,
                                                                                   InterruptedException {
+        Optional<BareAuthority> authorityBeforeUpdate = readInInvocation(systemControlNumber);
+        long deleteStarted = System.nanoTime();
+        HttpResponse<String> deleteResponse = removeIdentifier(systemControlNumber, qualifier, identifier);
+        logPhase(systemControlNumber, UPDATE_PHASE_DELETE, deleteResponse.statusCode(), deleteStarted);
+        if (!isSuccessful(deleteResponse)) {
+            return deleteResponse;
+        }
 
-        deleteIdentifier(systemControlNumber, qualifier, identifier);
-        AuthorityIdentifier authorityIdentifier = new AuthorityIdentifier(qualifier, updatedIdentifier);
-        return addNewIdentifier(systemControlNumber, authorityIdentifier);
+        long addStarted = System.nanoTime();
+        HttpResponse<String> addResponse;
+        try {
+            AuthorityIdentifier authorityIdentifier = new AuthorityIdentifier(qualifier, updatedIdentifier);
+            addResponse = addIdentifier(systemControlNumber, authorityIdentifier);
+        } catch (IOException | URISyntaxException | InterruptedException e) {
+            logPhase(systemControlNumber, UPDATE_PHASE_ADD, e.getClass().getSimpleName(), addStarted);
+            compensate(systemControlNumber, qualifier, identifier);
+            throw e;
+        }
+        logPhase(systemControlNumber, UPDATE_PHASE_ADD, addResponse.statusCode(), addStarted);
+        if (isSuccessful(addResponse)) {
+            deriveAfterMutation(systemControlNumber, authorityBeforeUpdate, addResponse,
+                                withReplaced(qualifier, identifier, updatedIdentifier));
+            reindexAfterMutation(systemControlNumber, addResponse, qualifier, identifier, updatedIdentifier);
+        } else {
+            compensate(systemControlNumber, qualifier, identifier);
+        }
+        return addResponse;
+    }
+
+    /**
+     * Asynchronous variant of {@link #updateIdentifier(String, String, String, String)}. The new identifier is
+     * added once the delete of the existing one has succeeded.
+     *
+     * @param systemControlNumber System control number (identifier) of authority
+     * @param qualifier           Qualifier for identifier to update in authority
+     * @param identifier          Existing identifier in authority
+     * @param updatedIdentifier   New value of existing identifier in authority
+     * @return future completing with the response of the add request, or of the delete request when that failed
+     */
+    public CompletableFuture<HttpResponse<String>> updateIdentifierAsync(String systemControlNumber,
+                                                                         String qualifier,
+                                                                         String identifier,
+                                                                         String updatedIdentifier) {
+        Optional<BareAuthority> authorityBeforeUpdate = readInInvocation(systemControlNumber);
+        long deleteStarted = System.nanoTime();
+        return removeIdentifierAsync(systemControlNumber, qualifier, identifier)
+            .thenCompose(deleteResponse -> {
+                logPhase(systemControlNumber, UPDATE_PHASE_DELETE, deleteResponse.statusCode(), deleteStarted);
+                return isSuccessful(deleteResponse)
+                           ? addOrCompensateAsync(systemControlNumber, qualifier, identifier, updatedIdentifier,
+                                                  authorityBeforeUpdate)
+                           : CompletableFuture.completedFuture(deleteResponse);
+            });
     }
 
     protected BareQueryResponse searchByAuthorityName(String authorityName)
         throws IOException, URISyntaxException, InterruptedException {
-        String query = String.format(QUERY_PERSON_AUTHORITIES, authorityName);
-        URI queryUri = new URI(HTTPS, BARE_HOST, BARE_QUERY_PATH, query, EMPTY_FRAGMENT);
-        HttpResponse<String> response = sendGetRequest(queryUri);
-        String json = response.body();
-        return defaultRestObjectMapper.readValue(json, BareQueryResponse.class);
+        return searchByAuthorityName(authorityName, DEFAULT_SEARCH_START, DEFAULT_SEARCH_MAX);
+    }
+
+    /**
+     * Search for person authorities by name, feideid or orcid, one page of hits at a time.
+     *
+     * @param authorityName query
+     * @param start         position of the first hit to return, the first hit being at position 1
+     * @param max           maximum number of hits to return
+     * @return the page of hits, with the total number of hits
+     * @throws IOException          communication error
+     * @throws URISyntaxException   error while creating URI
+     * @throws InterruptedException error in communication
+     */
+    protected BareQueryResponse searchByAuthorityName(String authorityName, int start, int max)
+        throws IOException, URISyntaxException, InterruptedException {
+        return coalesced(searches, searchKey(authorityName, start, max), () -> search(authorityName, start, max));
+    }
+
+    /**
+     * Search for person authorities by feide or orcid identifier, one page of hits at a time. A first page finding
+     * exactly one authority having the identifier puts it in the {@link IdentifierIndex}, so that
+     * {@link #getByIdentifier(ValidIdentifierSource, String)} finds it for a while without searching.
+     *
+     * @param source     system of the identifier
+     * @param identifier the identifier
+     * @param start      position of the first hit to return, the first hit being at position 1
+     * @param max        maximum number of hits to return
+     * @return the page of hits, with the total number of hits
+     * @throws IOException          communication error
+     * @throws URISyntaxException   error while creating URI
+     * @throws InterruptedException error in communication
+     */
+    protected BareQueryResponse searchByIdentifier(ValidIdentifierSource source, String identifier, int start,
+                                                   int max)
+        throws IOException, URISyntaxException, InterruptedException {
+        BareQueryResponse searchResult = searchByAuthorityName(identifier, start, max);
+        if (start == DEFAULT_SEARCH_START) {
+            identifierIndex.confirm(source, identifier, searchResult);
+        }
+        return searchResult;
+    }
+
+    protected CompletableFuture<BareQueryResponse> searchByAuthorityNameAsync(String authorityName) {
+        return searchByAuthorityNameAsync(authorityName, DEFAULT_SEARCH_START, DEFAULT_SEARCH_MAX);
+    }
+
+    protected CompletableFuture<BareQueryResponse> searchByAuthorityNameAsync(String authorityName, int start,
+                                                                              int max) {
+        return searches.executeAsync(searchKey(authorityName, start, max),
+            () -> searchAsync(authorityName, start, max));
+    }
+
+    /**
+     * Fails fast, without a request to Bare, for a systemControlNumber that is malformed or that Bare recently had no
+     * authority for.
+     */
+    private void rejectUnknown(String systemControlNumber) throws AuthorityNotFoundException {
+        if (!isValidSystemControlNumber(systemControlNumber) || authorityCache.isNotFound(systemControlNumber)) {
+            throw new AuthorityNotFoundException(systemControlNumber);
+        }
+    }
+
+    /**
+     * The authority derived after a mutation, or else read from Bare, earlier in the invocation.
+     */
+    private Optional<BareAuthority> readInInvocation(String systemControlNumber) {
+        return Optional.ofNullable(derivedAuthorities.get(systemControlNumber))
+            .or(() -> Optional.ofNullable(invocationReads.get(systemControlNumber)));
+    }
+
+    /**
+     * Reads an authority derived after a mutation earlier in the invocation, and otherwise from the cache, counting
+     * the hit or miss in the current subsegment of the trace.
+     */
+    private Optional<BareAuthority> lookUpCache(String systemControlNumber) {
+        Optional<BareAuthority> cachedAuthority = Optional.ofNullable(derivedAuthorities.get(systemControlNumber))
+            .or(() -> authorityCache.get(systemControlNumber));
+        TraceRecorder.current().ifPresent(subsegment -> subsegment.increment(
+            cachedAuthority.isPresent() ? CACHE_HITS_ANNOTATION : CACHE_MISSES_ANNOTATION));
+        return cachedAuthority;
+    }
+
+    /**
+     * Reads an authority from the cache shared by all instances, counting the hit in the current subsegment of the
+     * trace.
+     */
+    private Optional<BareAuthority> lookUpSharedCache(String systemControlNumber) {
+        Optional<BareAuthority> sharedAuthority = sharedAuthorityCache.get(systemControlNumber);
+        if (sharedAuthority.isPresent()) {
+            TraceRecorder.current().ifPresent(subsegment -> subsegment.increment(SHARED_CACHE_HITS_ANNOTATION));
+        }
+        return sharedAuthority;
+    }
+
+    private BareAuthority fetch(String systemControlNumber)
+        throws IOException, URISyntaxException, InterruptedException {
+        long invalidationCount = authorityCache.getInvalidationCount();
+        Optional<BareAuthority> sharedAuthority = lookUpSharedCache(systemControlNumber);
+        if (sharedAuthority.isPresent()) {
+            return cacheSharedCopy(systemControlNumber, invalidationCount, sharedAuthority.get());
+        }
+        return read(systemControlNumber, invalidationCount);
+    }
+
+    private BareAuthority read(String systemControlNumber, long invalidationCount)
+        throws IOException, URISyntaxException, InterruptedException {
+        HttpResponse<InputStream> response =
+            sendStreamingRequest(BareOperation.GET, systemControlNumber, getAuthorityRequest(systemControlNumber));
+        try {
+            BareAuthority bareAuthority = toBareAuthority(systemControlNumber, response, bareObjectMapper);
+            return cacheRead(systemControlNumber, invalidationCount, bareAuthority);
+        } catch (AuthorityNotFoundException e) {
+            authorityCache.putNotFound(systemControlNumber);
+            throw e;
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #fetch(String)}. The shared cache is read on the calling thread, which waits
+     * for it at most <code>SHARED_CACHE_TIMEOUT_MILLIS</code>.
+     */
+    private CompletableFuture<BareAuthority> fetchAsync(String systemControlNumber) {
+        long invalidationCount = authorityCache.getInvalidationCount();
+        Optional<BareAuthority> sharedAuthority = lookUpSharedCache(systemControlNumber);
+        if (sharedAuthority.isPresent()) {
+            return CompletableFuture.completedFuture(
+                cacheSharedCopy(systemControlNumber, invalidationCount, sharedAuthority.get()));
+        }
+        try {
+            return sendStreamingRequestAsync(BareOperation.GET, systemControlNumber,
+                                             getAuthorityRequest(systemControlNumber))
+                .thenApply(completing(response -> toBareAuthority(systemControlNumber, response, bareObjectMapper)))
+                .thenApply(bareAuthority -> cacheRead(systemControlNumber, invalidationCount, bareAuthority))
+                .whenComplete((bareAuthority, failure) -> {
+                    if (Objects.nonNull(failure)
+                        && Throwables.getRootCause(failure) instanceof AuthorityNotFoundException) {
+                        authorityCache.putNotFound(systemControlNumber);
+                    }
+                });
+        } catch (URISyntaxException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private BareQueryResponse search(String authorityName, int start, int max)
+        throws IOException, URISyntaxException, InterruptedException {
+        HttpResponse<InputStream> response =
+            sendStreamingRequest(BareOperation.SEARCH, NO_SYSTEM_CONTROL_NUMBER,
+                                 searchRequest(authorityName, start, max));
+        return reconcile(toBareQueryResponse(response));
+    }
+
+    private CompletableFuture<BareQueryResponse> searchAsync(String authorityName, int start, int max) {
+        try {
+            return sendStreamingRequestAsync(BareOperation.SEARCH, NO_SYSTEM_CONTROL_NUMBER,
+                                             searchRequest(authorityName, start, max))
+                .thenApply(completing(this::toBareQueryResponse))
+                .thenApply(this::reconcile);
+        } catch (URISyntaxException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static String searchKey(String authorityName, int start, int max) {
+        return String.join(SPACE, normalizeQuery(authorityName), Integer.toString(start), Integer.toString(max));
+    }
+
+    /**
+     * Queries differing only in case or whitespace give the same hits from Bare, so they share one request.
+     */
+    private static String normalizeQuery(String authorityName) {
+        return WHITESPACE.matcher(authorityName.trim()).replaceAll(SPACE).toLowerCase(Locale.ROOT);
+    }
+
+    private static <V> V coalesced(SingleFlight<String, V> singleFlight, String key, Callable<V> call)
+        throws IOException, URISyntaxException, InterruptedException {
+        try {
+            return singleFlight.execute(key, call);
+        } catch (Exception e) {
+            Throwables.throwIfInstanceOf(e, IOException.class);
+            Throwables.throwIfInstanceOf(e, URISyntaxException.class);
+            Throwables.throwIfInstanceOf(e, InterruptedException.class);
+            Throwables.throwIfUnchecked(e);
+            throw new IOException(e);
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> addOrCompensateAsync(String systemControlNumber,
+                                                                         String qualifier,
+                                                                         String identifier,
+                                                                         String updatedIdentifier,
+                                                                         Optional<BareAuthority> authorityBefore) {
+        long addStarted = System.nanoTime();
+        AuthorityIdentifier authorityIdentifier = new AuthorityIdentifier(qualifier, updatedIdentifier);
+        return addIdentifierAsync(systemControlNumber, authorityIdentifier)
+            .handle((addResponse, failure) -> {
+                if (isSuccessful(addResponse)) {
+                    logPhase(systemControlNumber, UPDATE_PHASE_ADD, addResponse.statusCode(), addStarted);
+                    deriveAfterMutation(systemControlNumber, authorityBefore, addResponse,
+                                        withReplaced(qualifier, identifier, updatedIdentifier));
+                    reindexAfterMutation(systemControlNumber, addResponse, qualifier, identifier, updatedIdentifier);
+                    return CompletableFuture.completedFuture(addResponse);
+                }
+                logPhase(systemControlNumber, UPDATE_PHASE_ADD,
+                         Objects.isNull(failure) ? addResponse.statusCode() : failure.getClass().getSimpleName(),
+                         addStarted);
+                return compensateAsync(systemControlNumber, qualifier, identifier)
+                    .thenCompose(compensated -> Objects.isNull(failure)
+                                                    ? CompletableFuture.completedFuture(addResponse)
+                                                    : CompletableFuture.<HttpResponse<String>>failedFuture(failure));
+            })
+            .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<Void> compensateAsync(String systemControlNumber, String qualifier,
+                                                    String identifier) {
+        long started = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> compensation;
+        try {
+            compensation = sendMutationAsync(BareOperation.COMPENSATE, systemControlNumber,
+                                             addNewIdentifierRequest(systemControlNumber,
+                                                                     new AuthorityIdentifier(qualifier, identifier)));
+        } catch (IOException | URISyntaxException e) {
+            compensation = CompletableFuture.failedFuture(e);
+        }
+        return compensation
+            .handle((response, failure) -> {
+                logCompensation(systemControlNumber, qualifier, identifier, response, failure, started);
+                return null;
+            });
+    }
+
+    private HttpResponse<String> addIdentifier(String systemControlNumber, AuthorityIdentifier authorityIdentifier)
+        throws IOException, URISyntaxException, InterruptedException {
+        return sendMutation(BareOperation.ADD, systemControlNumber,
+                            addNewIdentifierRequest(systemControlNumber, authorityIdentifier));
+    }
+
+    private CompletableFuture<HttpResponse<String>> addIdentifierAsync(String systemControlNumber,
+                                                                      AuthorityIdentifier authorityIdentifier) {
+        try {
+            return sendMutationAsync(BareOperation.ADD, systemControlNumber,
+                                     addNewIdentifierRequest(systemControlNumber, authorityIdentifier));
+        } catch (IOException | URISyntaxException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private HttpResponse<String> removeIdentifier(String systemControlNumber, String qualifier, String identifier)
+        throws IOException, URISyntaxException, InterruptedException {
+        return sendMutation(BareOperation.DELETE, systemControlNumber,
+                            deleteIdentifierRequest(systemControlNumber, qualifier, identifier));
+    }
+
+    private CompletableFuture<HttpResponse<String>> removeIdentifierAsync(String systemControlNumber,
+                                                                         String qualifier,
+                                                                         String identifier) {
+        try {
+            return sendMutationAsync(BareOperation.DELETE, systemControlNumber,
+                                     deleteIdentifierRequest(systemControlNumber, qualifier, identifier));
+        } catch (URISyntaxException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private HttpResponse<String> sendMutation(BareOperation operation, String systemControlNumber,
+                                              HttpRequest request)
+        throws IOException, InterruptedException {
+        try {
+            return sendRequest(operation, systemControlNumber, request);
+        } finally {
+            invalidate(systemControlNumber);
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> sendMutationAsync(BareOperation operation,
+                                                                     String systemControlNumber,
+                                                                     HttpRequest request) {
+        return sendRequestAsync(operation, systemControlNumber, request)
+            .whenComplete((response, failure) -> invalidate(systemControlNumber));
+    }
+
+    /**
+     * Removes a mutated authority from the invocation, from the cache of this instance and from the cache shared by
+     * all instances.
+     */
+    private void invalidate(String systemControlNumber) {
+        invocationReads.remove(systemControlNumber);
+        derivedAuthorities.remove(systemControlNumber);
+        authorityCache.invalidate(systemControlNumber);
+        sharedAuthorityCache.invalidate(systemControlNumber);
+    }
+
+    /**
+     * Keeps the authority as Bare holds it after a successful mutation, derived from the authority read from Bare
+     * earlier in the invocation, so that the rest of the invocation need not read it again. The derived authority is
+     * not cached, as it was not read from Bare. A sample of derived authorities is instead read from Bare and
+     * compared, see {@link ReadYourWrites}.
+     */
+    private void deriveAfterMutation(String systemControlNumber, Optional<BareAuthority> authorityBefore,
+                                     HttpResponse<String> response, UnaryOperator<BareAuthority> mutation) {
+        if (!readYourWrites.isDeriveLocally() || authorityBefore.isEmpty() || !isSuccessful(response)) {
+            return;
+        }
+        BareAuthority derived = mutation.apply(authorityBefore.get());
+        if (readYourWrites.shouldVerify()) {
+            getAsync(systemControlNumber)
+                .thenAccept(read -> readYourWrites.verify(systemControlNumber, derived, read));
+        } else {
+            derivedAuthorities.put(systemControlNumber, derived);
+        }
+    }
+
+    /**
+     * Keeps the {@link IdentifierIndex} in step with a successful mutation, also when the authority is not cached.
+     */
+    private void reindexAfterMutation(String systemControlNumber, HttpResponse<String> response, String qualifier,
+                                      String removedIdentifier, String addedIdentifier) {
+        if (isSuccessful(response)) {
+            identifierIndex.remove(systemControlNumber, qualifier, removedIdentifier);
+            identifierIndex.add(systemControlNumber, qualifier, addedIdentifier);
+        }
+    }
+
+    private static UnaryOperator<BareAuthority> withAdded(AuthorityIdentifier authorityIdentifier) {
+        return authority -> authority.withIdentifierAdded(authorityIdentifier.getSource(),
+                                                          authorityIdentifier.getIdentifier());
+    }
+
+    private static UnaryOperator<BareAuthority> withRemoved(String qualifier, String identifier) {
+        return authority -> authority.withIdentifierRemoved(qualifier, identifier);
+    }
+
+    private static UnaryOperator<BareAuthority> withReplaced(String qualifier, String identifier,
+                                                             String updatedIdentifier) {
+        return authority -> authority.withIdentifierRemoved(qualifier, identifier)
+            .withIdentifierAdded(qualifier, updatedIdentifier);
+    }
+
+    /**
+     * Puts back an identifier whose delete succeeded when adding its replacement failed, so that a failed update
+     * leaves the authority as it was. Failures are logged rather than thrown, to not hide the failure of the update.
+     * The add is sent as {@link BareOperation#COMPENSATE}, which the rate limiter never throttles.
+     */
+    private void compensate(String systemControlNumber, String qualifier, String identifier) {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = sendMutation(
+                BareOperation.COMPENSATE, systemControlNumber,
+                addNewIdentifierRequest(systemControlNumber, new AuthorityIdentifier(qualifier, identifier)));
+            logCompensation(systemControlNumber, qualifier, identifier, response, null, started);
+        } catch (IOException | URISyntaxException e) {
+            logCompensation(systemControlNumber, qualifier, identifier, null, e, started);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logCompensation(systemControlNumber, qualifier, identifier, null, e, started);
+        }
+    }
+
+    private void logCompensation(String systemControlNumber, String qualifier, String identifier,
+                                 HttpResponse<String> response, Throwable failure, long started) {
+        if (isSuccessful(response)) {
+            logPhase(systemControlNumber, UPDATE_PHASE_COMPENSATE, response.statusCode(), started);
+            return;
+        }
+        Object outcome = Objects.isNull(failure) ? response.statusCode() : failure.getClass().getSimpleName();
+        logPhase(systemControlNumber, UPDATE_PHASE_COMPENSATE, outcome, started);
+        logger.error(COMPENSATION_FAILED_MESSAGE, systemControlNumber, qualifier, identifier,
+                     Objects.isNull(failure) ? response.body() : failure.getMessage());
+    }
+
+    private void logPhase(String systemControlNumber, String phase, Object outcome, long started) {
+        logger.info(UPDATE_PHASE_MESSAGE, systemControlNumber, phase, outcome,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private static boolean isSuccessful(HttpResponse<String> response) {
+        return Objects.nonNull(response)
+               && (response.statusCode() == HTTP_OK || response.statusCode() == HTTP_NO_CONTENT);
+    }
+
+    private HttpRequest getAuthorityRequest(String systemControlNumber) throws URISyntaxException {
+        return getHttpRequestBuilder(formatGetByScnQuery(systemControlNumber)).GET().build();
+    }
+
+    private HttpRequest searchRequest(String authorityName, int start, int max) throws URISyntaxException {
+        String query = String.format(QUERY_PERSON_AUTHORITIES, authorityName, start, max);
+        URI queryUri = new URI(BARE_PROTOCOL, BARE_HOST, BARE_QUERY_PATH, query, EMPTY_FRAGMENT);
+        return getHttpRequestBuilder(queryUri).GET().build();
+    }
+
+    private HttpRequest addNewIdentifierRequest(String authoritySystemControlNumber,
+                                                AuthorityIdentifier authorityIdentifier)
+        throws IOException, URISyntaxException {
+        String addIdentifierPath =
+            String.format(ADD_NEW_AUTHORITY_IDENTIFIER_PATH, authoritySystemControlNumber);
+        URI uri = new URI(BARE_PROTOCOL, BARE_HOST, addIdentifierPath, EMPTY_QUERY, EMPTY_FRAGMENT);
+
+        final String body = defaultRestObjectMapper.writeValueAsString(authorityIdentifier);
+        HttpRequest.BodyPublisher bodyPublisher = HttpRequest.BodyPublishers.ofString(body);
+        return getHttpRequestBuilder(uri).POST(bodyPublisher).build();
+    }
+
+    private HttpRequest createAuthorityRequest(BareAuthority bareAuthority) throws URISyntaxException {
+        URI uri = new URI(BARE_PROTOCOL, BARE_HOST, BARE_CREATE_PATH, EMPTY_QUERY, EMPTY_FRAGMENT);
+        final String payload = bareAuthority.toJsonString();
+
+        HttpRequest.BodyPublisher bodyPublisher = HttpRequest.BodyPublishers.ofString(payload);
+        return getHttpRequestBuilder(uri).POST(bodyPublisher).build();
+    }
+
+    private HttpRequest deleteIdentifierRequest(String systemControlNumber, String qualifier, String identifier)
+        throws URISyntaxException {
+        String qualifierPath = String.format(DELETE_AUTHORITY_IDENTIFIER_PATH, systemControlNumber, qualifier);
+        String deleteIdentifierQuery = String.format(QUERY_SPECIFY_AUTHORITY_IDENTIFIER, identifier);
+        URI uri = new URI(BARE_PROTOCOL, BARE_HOST, qualifierPath, deleteIdentifierQuery, EMPTY_FRAGMENT);
+        return getHttpRequestBuilder(uri).DELETE().build();
+    }
+
+    private BareAuthority cache(String systemControlNumber, BareAuthority bareAuthority) {
+        authorityCache.put(systemControlNumber, bareAuthority);
+        identifierIndex.reconcile(bareAuthority);
+        return bareAuthority;
+    }
+
+    private BareAuthority share(String systemControlNumber, BareAuthority bareAuthority) {
+        sharedAuthorityCache.put(systemControlNumber, bareAuthority);
+        return bareAuthority;
+    }
+
+    /**
+     * Caches and shares an authority read from Bare, and keeps it as the base for deriving it after a mutation later
+     * in the invocation, unless it was invalidated during the read, as it may then be older than the change and would
+     * be published to other instances again.
+     */
+    private BareAuthority cacheRead(String systemControlNumber, long invalidationCount,
+                                    BareAuthority bareAuthority) {
+        if (authorityCache.isInvalidatedSince(systemControlNumber, invalidationCount)) {
+            return bareAuthority;
+        }
+        invocationReads.put(systemControlNumber, bareAuthority);
+        return cache(systemControlNumber, share(systemControlNumber, bareAuthority));
+    }
+
+    /**
+     * Caches an authority read from the shared cache for the shorter time of shared copies, unless it was
+     * invalidated during the read.
+     */
+    private BareAuthority cacheSharedCopy(String systemControlNumber, long invalidationCount,
+                                          BareAuthority bareAuthority) {
+        if (!authorityCache.isInvalidatedSince(systemControlNumber, invalidationCount)) {
+            authorityCache.putSharedCopy(systemControlNumber, bareAuthority);
+            identifierIndex.reconcile(bareAuthority);
+        }
+        return bareAuthority;
+    }
+
+    private BareQueryResponse reconcile(BareQueryResponse searchResult) {
+        if (Objects.nonNull(searchResult.results)) {
+            Arrays.stream(searchResult.results).forEach(identifierIndex::reconcile);
+        }
+        return searchResult;
+    }
+
+    private BareAuthority toBareAuthority(String systemControlNumber, HttpResponse<InputStream> response,
+                                          ObjectMapper objectMapper)
+        throws IOException {
+        try (InputStream body = response.body()) {
+            if (response.statusCode() == HTTP_OK) {
+                return objectMapper.readValue(body, BareAuthority.class);
+            } else if (response.statusCode() == HTTP_NOT_FOUND) {
+                throw new AuthorityNotFoundException(systemControlNumber);
+            } else {
+                final String message = readErrorMessage(body);
+                logger.error(UNEXPECTED_RESPONSE_MESSAGE, systemControlNumber, response.statusCode(), message);
+                throw new IOException(message);
+            }
+        }
+    }
+
+    private BareQueryResponse toBareQueryResponse(HttpResponse<InputStream> response) throws IOException {
+        try (InputStream json = response.body()) {
+            return bareObjectMapper.readValue(json, BareQueryResponse.class);
+        }
+    }
+
+    private String readErrorMessage(InputStream body) throws IOException {
+        return Objects.isNull(body) ? null : new String(body.readAllBytes(), StandardCharsets.UTF_8);
     }
 
     private URI formatGetByScnQuery(String systemControlNumber) throws URISyntaxException {
         String path = String.format(PATH_TO_AUTHORITY_TEMPLATE, systemControlNumber);
-        return new URI(HTTPS, BARE_HOST, path, GET_AUTHORITY_QUERY_PARAMETERS, EMPTY_FRAGMENT);
+        return new URI(BARE_PROTOCOL, BARE_HOST, path, GET_AUTHORITY_QUERY_PARAMETERS, EMPTY_FRAGMENT);
     }
 
-    private HttpResponse<String> sendGetRequest(URI getUri) throws IOException, InterruptedException {
-        final HttpRequest.Builder requestBuilder = getHttpRequestBuilder(getUri);
-        HttpRequest request = requestBuilder.GET().build();
-        return sendRequest(request);
+    private HttpResponse<String> sendRequest(BareOperation operation, String systemControlNumber,
+                                             HttpRequest request)
+        throws IOException, InterruptedException {
+        return send(operation, systemControlNumber, request, HttpResponse.BodyHandlers.ofString());
     }
 
-    private HttpResponse<String> sendRequest(HttpRequest request) throws IOException, InterruptedException {
-        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    private CompletableFuture<HttpResponse<String>> sendRequestAsync(BareOperation operation,
+                                                                     String systemControlNumber,
+                                                                     HttpRequest request) {
+        return sendAsync(operation, systemControlNumber, request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Sends a request whose response body is handed over as a stream, so that JSON payloads are parsed while they
+     * are read instead of first being buffered and decoded into a String. The bytes read are the response size in
+     * {@link #metrics}.
+     */
+    private HttpResponse<InputStream> sendStreamingRequest(BareOperation operation, String systemControlNumber,
+                                                           HttpRequest request)
+        throws IOException, InterruptedException {
+        return send(operation, systemControlNumber, request, metrics.ofCountedInputStream(operation));
+    }
+
+    private CompletableFuture<HttpResponse<InputStream>> sendStreamingRequestAsync(BareOperation operation,
+                                                                                 String systemControlNumber,
+                                                                                 HttpRequest request) {
+        return sendAsync(operation, systemControlNumber, request, metrics.ofCountedInputStream(operation));
+    }
+
+    /**
+     * Sends a request within the budget of the {@link #rateLimiter}, recording its latency, including the time waited
+     * for a permit, and outcome in {@link #metrics} and as a subsegment of the trace. The time waited for the permit
+     * is the <code>queue</code> phase of the {@link ServerTiming}, and only the time after it the <code>bare</code>
+     * phase.
+     */
+    private <T> HttpResponse<T> send(BareOperation operation, String systemControlNumber, HttpRequest request,
+                                     HttpResponse.BodyHandler<T> bodyHandler)
+        throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        acquirePermit(operation, started);
+        long sending = System.nanoTime();
+        Subsegment subsegment = beginBareSubsegment(operation, systemControlNumber, request);
+        try {
+            HttpResponse<T> response = httpClient.get().send(request, bodyHandler);
+            metrics.recordResponse(operation, started, response);
+            endBareSubsegment(subsegment, response, null);
+            return response;
+        } catch (IOException e) {
+            metrics.recordFailure(operation, e);
+            endBareSubsegment(subsegment, null, e);
+            throw e;
+        } finally {
+            recordTiming(timing(), ServerTiming.Phase.BARE, sending);
+        }
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> sendAsync(BareOperation operation, String systemControlNumber,
+                                                             HttpRequest request,
+                                                             HttpResponse.BodyHandler<T> bodyHandler) {
+        long started = System.nanoTime();
+        try {
+            acquirePermit(operation, started);
+        } catch (BareThrottledException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Optional<ServerTiming> timing = timing();
+        long sending = System.nanoTime();
+        Subsegment subsegment = beginBareSubsegment(operation, systemControlNumber, request);
+        return httpClient.get().sendAsync(request, bodyHandler)
+            .whenComplete(metrics.recording(operation, started))
+            .whenComplete((response, failure) -> recordTiming(timing, ServerTiming.Phase.BARE, sending))
+            .whenComplete((response, failure) -> endBareSubsegment(subsegment, response, failure));
+    }
+
+    /**
+     * Takes a permit for a request from the {@link #rateLimiter}, on the calling thread also for asynchronous requests,
+     * counting the queued or throttled request in {@link #metrics}. The time waited, by queued and by throttled
+     * requests, is the <code>queue</code> phase of the {@link ServerTiming}.
+     */
+    private void acquirePermit(BareOperation operation, long started) throws BareThrottledException {
+        try {
+            if (rateLimiter.acquire(operation)) {
+                metrics.recordQueued(operation);
+                recordTiming(timing(), ServerTiming.Phase.QUEUE, started);
+            }
+        } catch (BareThrottledException e) {
+            metrics.recordThrottled(operation);
+            recordTiming(timing(), ServerTiming.Phase.QUEUE, started);
+            throw e;
+        }
+    }
+
+    /**
+     * Timing of the request this thread works for: the one handled by the thread, or else the one of the invocation,
+     * for requests to Bare sent from other threads, such as those of a batch.
+     */
+    private Optional<ServerTiming> timing() {
+        return ServerTiming.current().or(invocationTiming::get);
+    }
+
+    private static void recordTiming(Optional<ServerTiming> timing, ServerTiming.Phase phase, long startedNanos) {
+        timing.ifPresent(current -> current.add(phase, System.nanoTime() - startedNanos));
+    }
+
+    private Subsegment beginBareSubsegment(BareOperation operation, String systemControlNumber,
+                                           HttpRequest request) {
+        Subsegment subsegment = traceRecorder.begin(BARE_SUBSEGMENT);
+        subsegment.setHttpRequest(request.method());
+        subsegment.annotate(OPERATION_ANNOTATION, operation.asString());
+        if (Objects.nonNull(systemControlNumber)) {
+            subsegment.annotate(SCN_ANNOTATION, systemControlNumber);
+        }
+        return subsegment;
+    }
+
+    private void endBareSubsegment(Subsegment subsegment, HttpResponse<?> response, Throwable failure) {
+        if (Objects.nonNull(failure)) {
+            subsegment.setFault(failure instanceof CompletionException ? failure.getCause() : failure);
+        } else if (Objects.nonNull(response)) {
+            subsegment.setHttpResponse(response.statusCode());
+            subsegment.annotate(STATUS_CODE_ANNOTATION, response.statusCode());
+        }
+        traceRecorder.end(subsegment);
+    }
+
+    /**
+     * Lets response mappers that throw checked exceptions be used as stages of a {@link CompletableFuture}; the
+     * original exception is kept as the cause of the {@link CompletionException}.
+     */
+    private static <T, R> Function<T, R> completing(FunctionWithException<T, R, IOException> mapper) {
+        return value -> {
+            try {
+                return mapper.apply(value);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        };
     }
 
     private HttpRequest.Builder getHttpRequestBuilder(URI uri) {
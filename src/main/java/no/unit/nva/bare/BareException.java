@@ -1,16 +1,51 @@
-package no.unit.nva.bare;
-
-import java.net.HttpURLConnection;
-import nva.commons.apigateway.exceptions.ApiGatewayException;
-
-public class BareException extends ApiGatewayException {
-
-    public BareException(String message) {
-        super(message);
-    }
-
-    @Override
-    protected Integer statusCode() {
-        return HttpURLConnection.HTTP_INTERNAL_ERROR;
-    }
-}
+package no.unit.nva.bare;
+
+import java.net.HttpURLConnection;
+import java.util.Optional;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+
+public class BareException extends ApiGatewayException {
+
+    private final transient Integer status;
+    private final transient Optional<String> retryAfterSeconds;
+
+    public BareException(String message) {
+        this(message, HttpURLConnection.HTTP_INTERNAL_ERROR, Optional.empty());
+    }
+
+    private BareException(String message, Integer statusCode, Optional<String> retryAfterSeconds) {
+        super(message);
+        this.status = statusCode;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Wraps a failure to communicate with Bare. A request that was throttled by the {@link BareRateLimiter} is
+     * answered with 429 and the time to wait before retrying, anything else with 500.
+     *
+     * @param e the failure
+     * @return exception with the message of the failure
+     */
+    public static BareException from(Exception e) {
+        if (e instanceof BareThrottledException) {
+            BareThrottledException throttled = (BareThrottledException) e;
+            return new BareException(e.getMessage(), BareThrottledException.HTTP_TOO_MANY_REQUESTS,
+                                     Optional.of(throttled.getRetryAfterSeconds()));
+        }
+        return new BareException(e.getMessage());
+    }
+
+    /**
+     * The value of the <code>Retry-After</code> header of the response, see {@link BareProxyHandler}.
+     *
+     * @return whole seconds to wait, or empty when the request was not throttled
+     */
+    public Optional<String> getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    protected Integer statusCode() {
+        return status;
+    }
+}
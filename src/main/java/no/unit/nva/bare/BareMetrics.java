@@ -0,0 +1,392 @@
+package no.unit.nva.bare;
+
+import static java.util.Objects.nonNull;
+import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Utf8;
+import com.google.common.net.HttpHeaders;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import nva.commons.core.Environment;
+
+/**
+ * Latency, status code class, response size, timeouts and other exceptions of the requests sent to Bare, and the
+ * requests queued or throttled by the {@link BareRateLimiter}, per {@link BareOperation}, aggregated in-process and
+ * written to stdout in CloudWatch Embedded Metric Format once per invocation.
+ *
+ * <p>Recording a request only updates counters and a fixed histogram of latencies, so it is cheap enough to do for
+ * every request; json is written only by {@link #emit()}. The size of a response handed over as a stream, by
+ * {@link #ofCountedInputStream(BareOperation)}, is the number of bytes read from it, counted while it is read. The size
+ * of other responses is their Content-Length or the length of their String body, and is left out when neither is
+ * known, so that <code>BareResponseBytes</code> is not understated by zeros. Latency is written as the values and counts of the
+ * histogram, with exact minimum, maximum and sum, so CloudWatch can give percentiles over many invocations. Requests
+ * still running when an invocation emits, such as those of a batch that reached its deadline, are counted by the next
+ * invocation.
+ */
+public class BareMetrics {
+
+    public static final String LATENCY = "BareLatency";
+    public static final String REQUESTS = "BareRequests";
+    public static final String RESPONSE_BYTES = "BareResponseBytes";
+    public static final String TIMEOUTS = "BareTimeouts";
+    public static final String EXCEPTIONS = "BareExceptions";
+    public static final String QUEUED = "BareQueued";
+    public static final String THROTTLED = "BareThrottled";
+    public static final String OPERATION_DIMENSION = "Operation";
+    public static final String FUNCTION_NAME_PROPERTY = "FunctionName";
+    public static final String FUNCTION_NAME_ENV = "AWS_LAMBDA_FUNCTION_NAME";
+    public static final List<String> STATUS_CLASS_METRICS = List.of("Bare2xx", "Bare3xx", "Bare4xx", "Bare5xx");
+    private static final int FIRST_STATUS_CLASS = 2;
+    private static final int STATUS_CLASSES = 6;
+    private static final int LATENCY_BUCKETS = 50;
+    private static final double LATENCY_BUCKET_GROWTH = 1.25;
+    private static final long[] LATENCY_BUCKET_BOUNDS_NANOS = new long[LATENCY_BUCKETS];
+    private static final double[] LATENCY_BUCKET_VALUES_MILLIS = new double[LATENCY_BUCKETS];
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final String MILLISECONDS = "Milliseconds";
+    private static final String COUNT = "Count";
+    private static final String BYTES = "Bytes";
+
+    static {
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            double boundMillis = Math.pow(LATENCY_BUCKET_GROWTH, i);
+            LATENCY_BUCKET_BOUNDS_NANOS[i] = (long) (boundMillis * NANOS_PER_MILLI);
+            LATENCY_BUCKET_VALUES_MILLIS[i] = boundMillis / Math.sqrt(LATENCY_BUCKET_GROWTH);
+        }
+    }
+
+    private final transient String namespace;
+    private final transient String functionName;
+    private final transient boolean enabled;
+    private final transient OperationMetrics[] operations = new OperationMetrics[BareOperation.values().length];
+
+    /**
+     * Creates metrics configured by <code>BARE_METRICS_ENABLED</code> and <code>METRICS_NAMESPACE</code>.
+     */
+    public BareMetrics() {
+        this(Config.BARE_METRICS_ENABLED, Config.METRICS_NAMESPACE);
+    }
+
+    /**
+     * Constructor for testability reasons.
+     *
+     * @param enabled   whether requests are recorded and emitted
+     * @param namespace CloudWatch namespace of the metrics
+     */
+    public BareMetrics(boolean enabled, String namespace) {
+        this.enabled = enabled;
+        this.namespace = namespace;
+        this.functionName = new Environment().readEnvOpt(FUNCTION_NAME_ENV).orElse(null);
+        for (BareOperation operation : BareOperation.values()) {
+            operations[operation.ordinal()] = new OperationMetrics();
+        }
+    }
+
+    /**
+     * Records a response from Bare.
+     *
+     * @param operation    kind of request
+     * @param startedNanos {@link System#nanoTime()} when the request was sent
+     * @param response     the response, its size is read from Content-Length or a String body unless it is a stream
+     */
+    public void recordResponse(BareOperation operation, long startedNanos, HttpResponse<?> response) {
+        if (enabled && nonNull(response)) {
+            operations[operation.ordinal()].recordResponse(System.nanoTime() - startedNanos, response.statusCode(),
+                                                           responseSize(response));
+        }
+    }
+
+    /**
+     * Hands the response body over as a stream, like {@link HttpResponse.BodyHandlers#ofInputStream()}, counting the
+     * bytes read from it as the response size of the operation.
+     *
+     * @param operation kind of request
+     * @return body handler counting the bytes read
+     */
+    public HttpResponse.BodyHandler<InputStream> ofCountedInputStream(BareOperation operation) {
+        return responseInfo -> HttpResponse.BodySubscribers.mapping(
+            HttpResponse.BodySubscribers.ofInputStream(),
+            body -> enabled ? new CountedInputStream(body, operations[operation.ordinal()]) : body);
+    }
+
+    /**
+     * Records a request that got no response.
+     *
+     * @param operation kind of request
+     * @param failure   the exception, counted as a timeout when it is or is caused by {@link HttpTimeoutException}
+     */
+    public void recordFailure(BareOperation operation, Throwable failure) {
+        if (!enabled) {
+            return;
+        }
+        Throwable cause = failure instanceof CompletionException && nonNull(failure.getCause())
+                              ? failure.getCause()
+                              : failure;
+        OperationMetrics metrics = operations[operation.ordinal()];
+        if (cause instanceof HttpTimeoutException) {
+            metrics.timeouts.increment();
+        } else {
+            metrics.exceptions.increment();
+        }
+    }
+
+    /**
+     * Records a request that waited for the budget of the {@link BareRateLimiter} before it was sent.
+     *
+     * @param operation kind of request
+     */
+    public void recordQueued(BareOperation operation) {
+        if (enabled) {
+            operations[operation.ordinal()].queued.increment();
+        }
+    }
+
+    /**
+     * Records a request that was not sent because the budget of the {@link BareRateLimiter} was used up.
+     *
+     * @param operation kind of request
+     */
+    public void recordThrottled(BareOperation operation) {
+        if (enabled) {
+            operations[operation.ordinal()].throttled.increment();
+        }
+    }
+
+    /**
+     * Records the outcome of an asynchronous request, for use with
+     * {@link java.util.concurrent.CompletableFuture#whenComplete(BiConsumer)}.
+     *
+     * @param operation    kind of request
+     * @param startedNanos {@link System#nanoTime()} when the request was sent
+     * @param <T>          type of the response body
+     * @return action recording the response or the failure
+     */
+    public <T> BiConsumer<HttpResponse<T>, Throwable> recording(BareOperation operation, long startedNanos) {
+        return (response, failure) -> {
+            if (nonNull(failure)) {
+                recordFailure(operation, failure);
+            } else {
+                recordResponse(operation, startedNanos, response);
+            }
+        };
+    }
+
+    /**
+     * Writes what was recorded since the last call to stdout, one Embedded Metric Format document per operation with
+     * requests, and starts over.
+     *
+     * @return the documents written, none when disabled or nothing was recorded
+     */
+    public List<String> emit() {
+        if (!enabled) {
+            return Collections.emptyList();
+        }
+        long timestamp = System.currentTimeMillis();
+        List<String> documents = new ArrayList<>();
+        for (BareOperation operation : BareOperation.values()) {
+            ObjectNode document = operations[operation.ordinal()].drain(operation, timestamp);
+            if (nonNull(document)) {
+                documents.add(write(document));
+            }
+        }
+        documents.forEach(System.out::println);
+        return documents;
+    }
+
+    private ObjectNode newDocument(BareOperation operation, long timestamp) {
+        ObjectNode document = defaultRestObjectMapper.createObjectNode();
+        ObjectNode directive = document.putObject("_aws")
+            .put("Timestamp", timestamp)
+            .putArray("CloudWatchMetrics")
+            .addObject()
+            .put("Namespace", namespace);
+        directive.putArray("Dimensions").addArray().add(OPERATION_DIMENSION);
+        directive.putArray("Metrics");
+        document.put(OPERATION_DIMENSION, operation.asString());
+        if (nonNull(functionName)) {
+            document.put(FUNCTION_NAME_PROPERTY, functionName);
+        }
+        return document;
+    }
+
+    private static ObjectNode putMetric(ObjectNode document, String name, String unit) {
+        ArrayNode definitions = (ArrayNode) document.get("_aws").get("CloudWatchMetrics").get(0).get("Metrics");
+        definitions.addObject().put("Name", name).put("Unit", unit);
+        return document;
+    }
+
+    private static String write(ObjectNode document) {
+        try {
+            return defaultRestObjectMapper.writeValueAsString(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Size of a response whose body is not counted while it is read.
+     *
+     * @return the size in bytes, or empty when it is not known or the body is a stream, counted as it is read
+     */
+    private static OptionalLong responseSize(HttpResponse<?> response) {
+        if (response.body() instanceof InputStream) {
+            return OptionalLong.empty();
+        }
+        if (nonNull(response.headers())) {
+            OptionalLong contentLength = response.headers().firstValueAsLong(HttpHeaders.CONTENT_LENGTH);
+            if (contentLength.isPresent()) {
+                return contentLength;
+            }
+        }
+        return response.body() instanceof String
+                   ? OptionalLong.of(Utf8.encodedLength((String) response.body()))
+                   : OptionalLong.empty();
+    }
+
+    private static int latencyBucket(long latencyNanos) {
+        int index = Arrays.binarySearch(LATENCY_BUCKET_BOUNDS_NANOS, latencyNanos);
+        int bucket = index >= 0 ? index : -index - 1;
+        return Math.min(bucket, LATENCY_BUCKETS - 1);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    private final class OperationMetrics {
+
+        private final transient AtomicLongArray latencyCounts = new AtomicLongArray(LATENCY_BUCKETS);
+        private final transient LongAdder latencySumNanos = new LongAdder();
+        private final transient AtomicLong latencyMinNanos = new AtomicLong(Long.MAX_VALUE);
+        private final transient AtomicLong latencyMaxNanos = new AtomicLong();
+        private final transient AtomicLongArray statusClasses = new AtomicLongArray(STATUS_CLASSES);
+        private final transient LongAdder responseBytes = new LongAdder();
+        private final transient LongAdder sizedResponses = new LongAdder();
+        private final transient LongAdder timeouts = new LongAdder();
+        private final transient LongAdder exceptions = new LongAdder();
+        private final transient LongAdder queued = new LongAdder();
+        private final transient LongAdder throttled = new LongAdder();
+
+        private void recordResponse(long latencyNanos, int statusCode, OptionalLong size) {
+            latencyCounts.incrementAndGet(latencyBucket(latencyNanos));
+            latencySumNanos.add(latencyNanos);
+            latencyMinNanos.accumulateAndGet(latencyNanos, Math::min);
+            latencyMaxNanos.accumulateAndGet(latencyNanos, Math::max);
+            int statusClass = statusCode / 100;
+            if (statusClass >= FIRST_STATUS_CLASS && statusClass < STATUS_CLASSES) {
+                statusClasses.incrementAndGet(statusClass);
+            }
+            size.ifPresent(this::recordResponseBytes);
+        }
+
+        private void recordResponseBytes(long size) {
+            responseBytes.add(size);
+            sizedResponses.increment();
+        }
+
+        /**
+         * Takes what was recorded and resets the counters.
+         *
+         * @return the metrics as an Embedded Metric Format document, or null when nothing was recorded
+         */
+        private ObjectNode drain(BareOperation operation, long timestamp) {
+            ObjectNode latency = defaultRestObjectMapper.createObjectNode();
+            ArrayNode values = latency.putArray("Values");
+            ArrayNode counts = latency.putArray("Counts");
+            long responses = 0;
+            for (int i = 0; i < LATENCY_BUCKETS; i++) {
+                long count = latencyCounts.getAndSet(i, 0);
+                if (count > 0) {
+                    values.add(LATENCY_BUCKET_VALUES_MILLIS[i]);
+                    counts.add(count);
+                    responses += count;
+                }
+            }
+            latency.put("Min", toMillis(latencyMinNanos.getAndSet(Long.MAX_VALUE)))
+                .put("Max", toMillis(latencyMaxNanos.getAndSet(0)))
+                .put("Sum", toMillis(latencySumNanos.sumThenReset()))
+                .put("Count", responses);
+            long failedWithTimeout = timeouts.sumThenReset();
+            long failedWithException = exceptions.sumThenReset();
+            long requests = responses + failedWithTimeout + failedWithException;
+            long queuedRequests = queued.sumThenReset();
+            long throttledRequests = throttled.sumThenReset();
+            if (requests == 0 && queuedRequests == 0 && throttledRequests == 0) {
+                return null;
+            }
+            ObjectNode document = newDocument(operation, timestamp);
+            putMetric(document, REQUESTS, COUNT).put(REQUESTS, requests);
+            if (responses > 0) {
+                putMetric(document, LATENCY, MILLISECONDS).set(LATENCY, latency);
+            }
+            for (int i = 0; i < STATUS_CLASS_METRICS.size(); i++) {
+                String metric = STATUS_CLASS_METRICS.get(i);
+                putMetric(document, metric, COUNT).put(metric, statusClasses.getAndSet(FIRST_STATUS_CLASS + i, 0));
+            }
+            long bytes = responseBytes.sumThenReset();
+            if (sizedResponses.sumThenReset() > 0) {
+                putMetric(document, RESPONSE_BYTES, BYTES).put(RESPONSE_BYTES, bytes);
+            }
+            putMetric(document, TIMEOUTS, COUNT).put(TIMEOUTS, failedWithTimeout);
+            putMetric(document, EXCEPTIONS, COUNT).put(EXCEPTIONS, failedWithException);
+            putMetric(document, QUEUED, COUNT).put(QUEUED, queuedRequests);
+            putMetric(document, THROTTLED, COUNT).put(THROTTLED, throttledRequests);
+            return document;
+        }
+    }
+
+    /**
+     * Response body adding the bytes read from it to the response size of its operation.
+     */
+    private static final class CountedInputStream extends FilterInputStream {
+
+        private final transient OperationMetrics metrics;
+
+        private CountedInputStream(InputStream body, OperationMetrics metrics) {
+            super(body);
+            this.metrics = metrics;
+            metrics.sizedResponses.increment();
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                metrics.responseBytes.increment();
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                metrics.responseBytes.add(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            long skipped = super.skip(count);
+            metrics.responseBytes.add(skipped);
+            return skipped;
+        }
+    }
+}
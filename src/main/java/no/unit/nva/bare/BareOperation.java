@@ -0,0 +1,48 @@
+package no.unit.nva.bare;
+
+/**
+ * Kinds of requests sent to Bare, the dimension of the metrics in {@link BareMetrics}.
+ */
+public enum BareOperation {
+
+    GET("get", true, true),
+    SEARCH("search", true, true),
+    CREATE("create", false, true),
+    ADD("add", false, true),
+    DELETE("delete", false, true),
+    COMPENSATE("compensate", false, false);
+
+    private final String operation;
+    private final boolean read;
+    private final boolean rateLimited;
+
+    BareOperation(String operation, boolean read, boolean rateLimited) {
+        this.operation = operation;
+        this.read = read;
+        this.rateLimited = rateLimited;
+    }
+
+    public String asString() {
+        return operation;
+    }
+
+    /**
+     * Whether the request only reads from Bare, and so is counted against the read budget of the
+     * {@link BareRateLimiter} instead of the write budget.
+     *
+     * @return true for reads, false for writes
+     */
+    public boolean isRead() {
+        return read;
+    }
+
+    /**
+     * Whether the request takes a permit from the {@link BareRateLimiter}. Adds putting back an identifier after a
+     * failed update do not, so that the budget cannot leave the authority without the identifier.
+     *
+     * @return false for compensating adds, true otherwise
+     */
+    public boolean isRateLimited() {
+        return rateLimited;
+    }
+}
@@ -0,0 +1,99 @@
+package no.unit.nva.bare;
+
+import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+import nva.commons.apigateway.ApiGatewayHandler;
+import nva.commons.apigateway.RequestInfo;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.core.Environment;
+
+/**
+ * Handler of API Gateway requests answered with data from Bare. Times each request with {@link ServerTiming}, returns
+ * the timing in a <code>Server-Timing</code> header of successful responses, traces each invocation as a subsegment
+ * holding those of the requests sent to Bare, and writes the metrics of these requests once per invocation.
+ *
+ * <p>The header is added before the response is serialized, so serialization is only part of the logged timing.
+ *
+ * <p>A request failing because a request to Bare was throttled, see {@link BareException#getRetryAfterSeconds()}, is
+ * answered with a <code>Retry-After</code> header. Failure responses of {@link ApiGatewayHandler} carry no additional
+ * headers, so the response is written to a buffer and the header added to it before it is sent.
+ *
+ * @param <I> type of the request body
+ * @param <O> type of the response body
+ */
+public abstract class BareProxyHandler<I, O> extends ApiGatewayHandler<I, O> {
+
+    private static final String HEADERS = "headers";
+    private static final ThreadLocal<String> RETRY_AFTER = new ThreadLocal<>();
+    protected final transient BareConnection bareConnection;
+
+    protected BareProxyHandler(Class<I> inputClass, Environment environment, BareConnection bareConnection) {
+        super(inputClass, environment);
+        this.bareConnection = bareConnection;
+        addAdditionalHeaders(ServerTiming::currentHeaders);
+    }
+
+    @Override
+    public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+        ServerTiming timing = ServerTiming.start();
+        bareConnection.beginInvocation();
+        bareConnection.beginTrace(getClass().getSimpleName());
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        try {
+            super.handleRequest(input, response, context);
+            writeResponse(response, output);
+        } finally {
+            RETRY_AFTER.remove();
+            bareConnection.endTrace();
+            bareConnection.endInvocation();
+            timing.finish(getClass().getSimpleName());
+        }
+    }
+
+    @Override
+    protected O processInput(I input, RequestInfo requestInfo, Context context) throws ApiGatewayException {
+        ServerTiming.current()
+            .ifPresent(timing -> ServerTiming.record(ServerTiming.Phase.PARSE, timing.getStartedNanos()));
+        try {
+            return processRequest(input, requestInfo, context);
+        } catch (BareException e) {
+            e.getRetryAfterSeconds().ifPresent(RETRY_AFTER::set);
+            throw e;
+        } finally {
+            bareConnection.emitMetrics();
+            ServerTiming.current().ifPresent(ServerTiming::startSerializing);
+        }
+    }
+
+    /**
+     * Handles the request, after its event is parsed.
+     *
+     * @param input       the request body
+     * @param requestInfo the rest of the request
+     * @param context     the Lambda context
+     * @return the response body
+     * @throws ApiGatewayException when the request cannot be handled, answered with its status code
+     */
+    protected abstract O processRequest(I input, RequestInfo requestInfo, Context context) throws ApiGatewayException;
+
+    private static void writeResponse(ByteArrayOutputStream response, OutputStream output) throws IOException {
+        String retryAfter = RETRY_AFTER.get();
+        if (Objects.isNull(retryAfter)) {
+            response.writeTo(output);
+        } else {
+            ObjectNode gatewayResponse = (ObjectNode) defaultRestObjectMapper.readTree(response.toByteArray());
+            JsonNode headers = gatewayResponse.path(HEADERS);
+            ObjectNode responseHeaders = headers.isObject() ? (ObjectNode) headers : gatewayResponse.putObject(HEADERS);
+            responseHeaders.put(BareThrottledException.RETRY_AFTER_HEADER, retryAfter);
+            output.write(defaultRestObjectMapper.writeValueAsBytes(gatewayResponse));
+        }
+        output.flush();
+    }
+}
@@ -0,0 +1,76 @@
+package no.unit.nva.bare;
+
+import com.google.common.util.concurrent.RateLimiter;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Client-side budget of requests per second sent to Bare by one function instance, one budget for reads and one for
+ * writes, so that bulk jobs such as migrations cannot flood Bare nor starve interactive reads.
+ *
+ * <p>A request over budget waits for the next free permit, at most <code>maxWait</code>. The wait queue is bounded by
+ * that wait, as a request is only queued when a permit frees up within it. A request that would wait longer fails at
+ * once with {@link BareThrottledException}, which tells the client when to retry. A budget of zero is unlimited.
+ * Operations that are not rate limited, see {@link BareOperation#isRateLimited()}, never wait nor take a permit.
+ */
+public class BareRateLimiter {
+
+    public static final double UNLIMITED = 0;
+    private static final Duration MIN_RETRY_AFTER = Duration.ofSeconds(1);
+    private static final double NANOS_PER_SECOND = Duration.ofSeconds(1).toNanos();
+    private final transient Optional<RateLimiter> reads;
+    private final transient Optional<RateLimiter> writes;
+    private final transient Duration maxWait;
+
+    /**
+     * Creates budgets configured by <code>BARE_READ_RATE_LIMIT</code>, <code>BARE_WRITE_RATE_LIMIT</code> and
+     * <code>BARE_RATE_LIMIT_MAX_WAIT_MILLIS</code>.
+     */
+    public BareRateLimiter() {
+        this(Config.BARE_READ_RATE_LIMIT, Config.BARE_WRITE_RATE_LIMIT, Config.BARE_RATE_LIMIT_MAX_WAIT);
+    }
+
+    /**
+     * Constructor for testability reasons.
+     *
+     * @param readsPerSecond  budget of reads, or {@link #UNLIMITED}
+     * @param writesPerSecond budget of writes, or {@link #UNLIMITED}
+     * @param maxWait         longest time a request waits for the budget before it is throttled
+     */
+    public BareRateLimiter(double readsPerSecond, double writesPerSecond, Duration maxWait) {
+        this.reads = budget(readsPerSecond);
+        this.writes = budget(writesPerSecond);
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Takes a permit for a request, waiting at most <code>maxWait</code> for one.
+     *
+     * @param operation kind of request
+     * @return whether the request had to wait for the permit
+     * @throws BareThrottledException when no permit frees up within <code>maxWait</code>
+     */
+    public boolean acquire(BareOperation operation) throws BareThrottledException {
+        Optional<RateLimiter> budget = operation.isRead() ? reads : writes;
+        if (!operation.isRateLimited() || budget.isEmpty() || budget.get().tryAcquire()) {
+            return false;
+        }
+        if (budget.get().tryAcquire(maxWait)) {
+            return true;
+        }
+        throw new BareThrottledException(operation, retryAfter(budget.get()));
+    }
+
+    /**
+     * Time until the queue of a budget has drained, rounded up to whole seconds as for <code>Retry-After</code>.
+     */
+    private Duration retryAfter(RateLimiter budget) {
+        long nanos = maxWait.toNanos() + (long) (NANOS_PER_SECOND / budget.getRate());
+        Duration retryAfter = Duration.ofSeconds((long) Math.ceil(nanos / NANOS_PER_SECOND));
+        return retryAfter.compareTo(MIN_RETRY_AFTER) < 0 ? MIN_RETRY_AFTER : retryAfter;
+    }
+
+    private static Optional<RateLimiter> budget(double permitsPerSecond) {
+        return permitsPerSecond > UNLIMITED ? Optional.of(RateLimiter.create(permitsPerSecond)) : Optional.empty();
+    }
+}
@@ -0,0 +1,39 @@
+package no.unit.nva.bare;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * A request was not sent to Bare because the budget of requests of its kind was used up, see {@link BareRateLimiter}.
+ */
+public class BareThrottledException extends IOException {
+
+    public static final int HTTP_TOO_MANY_REQUESTS = 429;
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+    public static final String THROTTLED_MESSAGE = "Too many %s requests to Bare, retry after %d seconds";
+    private final transient Duration retryAfter;
+
+    /**
+     * Creates the exception for a request that was throttled.
+     *
+     * @param operation  kind of request
+     * @param retryAfter how long the client should wait before retrying
+     */
+    public BareThrottledException(BareOperation operation, Duration retryAfter) {
+        super(String.format(THROTTLED_MESSAGE, operation.asString(), retryAfter.getSeconds()));
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * The value of the <code>Retry-After</code> header of the response to the client.
+     *
+     * @return whole seconds to wait
+     */
+    public String getRetryAfterSeconds() {
+        return Long.toString(retryAfter.getSeconds());
+    }
+}
@@ -0,0 +1,120 @@
+package no.unit.nva.bare;
+
+import static java.net.HttpURLConnection.HTTP_BAD_GATEWAY;
+import static java.net.HttpURLConnection.HTTP_GATEWAY_TIMEOUT;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static java.util.Objects.isNull;
+import com.amazonaws.services.lambda.runtime.Context;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import nva.commons.apigateway.RequestInfo;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.core.Environment;
+import nva.commons.core.JacocoGenerated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Handler for requests to Lambda function fetching many authorities by systemControlNumber in one request.
+ *
+ * <p>Authorities are read from Bare concurrently, with at most {@code parallelism} reads in flight at a time. Reads
+ * still outstanding shortly before the Lambda deadline are reported as timed out instead of failing the batch.
+ */
+public class BatchFetchAuthorityHandler
+    extends BareProxyHandler<BatchFetchAuthorityRequest, BatchFetchAuthorityResponse> {
+
+    public static final String MISSING_REQUEST_JSON_BODY = "Missing json in body.";
+    public static final String DEADLINE_REACHED = "Deadline reached before authority was fetched from Bare";
+    public static final String PARTIAL_RESULT_MESSAGE = "Batch deadline reached, fetched {} of {} authorities";
+    private static final Logger logger = LoggerFactory.getLogger(BatchFetchAuthorityHandler.class);
+    private final transient AuthorityConverter authorityConverter;
+    private final transient int parallelism;
+    private final transient int maxBatchSize;
+
+    @JacocoGenerated
+    public BatchFetchAuthorityHandler() {
+        this(new BareConnection());
+    }
+
+    public BatchFetchAuthorityHandler(BareConnection bareConnection) {
+        this(bareConnection, Config.BATCH_FETCH_PARALLELISM, Config.BATCH_FETCH_MAX_SIZE);
+    }
+
+    /**
+     * Constructor for testability reasons.
+     *
+     * @param bareConnection connection to Bare
+     * @param parallelism    maximum number of concurrent reads from Bare
+     * @param maxBatchSize   maximum number of distinct systemControlNumbers in one request
+     */
+    public BatchFetchAuthorityHandler(BareConnection bareConnection, int parallelism, int maxBatchSize) {
+        super(BatchFetchAuthorityRequest.class, new Environment(), bareConnection);
+        this.authorityConverter = new AuthorityConverter();
+        this.parallelism = parallelism;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    protected BatchFetchAuthorityResponse processRequest(BatchFetchAuthorityRequest input, RequestInfo requestInfo,
+                                                         Context context) throws ApiGatewayException {
+        if (isNull(input)) {
+            throw new BadRequestException(MISSING_REQUEST_JSON_BODY);
+        }
+        List<String> systemControlNumbers = input.validate(maxBatchSize);
+        BoundedFanOut fanOut = new BoundedFanOut(parallelism,
+                                                 BoundedFanOut.timeBudget(context, Config.BATCH_FETCH_DEADLINE_MARGIN));
+
+        Map<String, CompletableFuture<BareAuthority>> reads = fanOut.start(systemControlNumbers,
+                                                                           bareConnection::getAsync);
+        boolean complete = reads.size() == systemControlNumbers.size() && fanOut.await(reads.values());
+
+        List<BatchFetchAuthorityResult> results = systemControlNumbers.stream()
+            .map(scn -> toResult(scn, reads.get(scn)))
+            .collect(Collectors.toList());
+        if (!complete) {
+            logger.warn(PARTIAL_RESULT_MESSAGE, countFound(results), results.size());
+        }
+        return new BatchFetchAuthorityResponse(complete, results);
+    }
+
+    @Override
+    protected Integer getSuccessStatusCode(BatchFetchAuthorityRequest input, BatchFetchAuthorityResponse output) {
+        return HTTP_OK;
+    }
+
+    private BatchFetchAuthorityResult toResult(String scn, CompletableFuture<BareAuthority> read) {
+        if (isNull(read) || !read.isDone()) {
+            return BatchFetchAuthorityResult.failed(scn, HTTP_GATEWAY_TIMEOUT, DEADLINE_REACHED);
+        }
+        try {
+            return BatchFetchAuthorityResult.found(scn, authorityConverter.asAuthority(read.join()));
+        } catch (CompletionException e) {
+            return BatchFetchAuthorityResult.failed(scn, failureStatus(e.getCause()), e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Status of an item of a batch that failed: 404 when Bare has no such authority, 429 when the request to Bare was
+     * throttled, see {@link BareRateLimiter}, and 502 for any other failure.
+     *
+     * @param failure why the item failed
+     * @return the status of the item
+     */
+    static int failureStatus(Throwable failure) {
+        if (failure instanceof AuthorityNotFoundException) {
+            return HTTP_NOT_FOUND;
+        }
+        return failure instanceof BareThrottledException
+                   ? BareThrottledException.HTTP_TOO_MANY_REQUESTS
+                   : HTTP_BAD_GATEWAY;
+    }
+
+    private static long countFound(List<BatchFetchAuthorityResult> results) {
+        return results.stream().filter(result -> result.getStatus() == HTTP_OK).count();
+    }
+}
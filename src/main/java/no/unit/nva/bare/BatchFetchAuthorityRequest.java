@@ -0,0 +1,72 @@
+package no.unit.nva.bare;
+
+import static java.util.Objects.isNull;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.core.JacocoGenerated;
+import nva.commons.core.StringUtils;
+
+public class BatchFetchAuthorityRequest {
+
+    public static final String BODY_ARGS_MISSING = "Nothing to fetch. 'systemControlNumbers' is missing or empty.";
+    public static final String BLANK_SYSTEM_CONTROL_NUMBER = "'systemControlNumbers' contains a blank value.";
+    public static final String TOO_MANY_SYSTEM_CONTROL_NUMBERS =
+        "Too many systemControlNumbers, at most %d are allowed in one request.";
+
+    @JsonProperty("systemControlNumbers")
+    private final List<String> systemControlNumbers;
+
+    @JsonCreator
+    public BatchFetchAuthorityRequest(@JsonProperty("systemControlNumbers") List<String> systemControlNumbers) {
+        this.systemControlNumbers = systemControlNumbers;
+    }
+
+    public List<String> getSystemControlNumbers() {
+        return systemControlNumbers;
+    }
+
+    /**
+     * Validates the request and returns the requested systemControlNumbers with duplicates removed, in the order
+     * they were first requested.
+     *
+     * @param maxBatchSize the maximum number of distinct systemControlNumbers allowed
+     * @return distinct systemControlNumbers
+     * @throws BadRequestException when the list is missing, empty, too long or contains blank values
+     */
+    public List<String> validate(int maxBatchSize) throws BadRequestException {
+        if (isNull(systemControlNumbers) || systemControlNumbers.isEmpty()) {
+            throw new BadRequestException(BODY_ARGS_MISSING);
+        }
+        if (systemControlNumbers.stream().anyMatch(StringUtils::isBlank)) {
+            throw new BadRequestException(BLANK_SYSTEM_CONTROL_NUMBER);
+        }
+        List<String> distinct = List.copyOf(new LinkedHashSet<>(systemControlNumbers));
+        if (distinct.size() > maxBatchSize) {
+            throw new BadRequestException(String.format(TOO_MANY_SYSTEM_CONTROL_NUMBERS, maxBatchSize));
+        }
+        return distinct;
+    }
+
+    @JacocoGenerated
+    @Override
+    public int hashCode() {
+        return Objects.hash(getSystemControlNumbers());
+    }
+
+    @JacocoGenerated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BatchFetchAuthorityRequest)) {
+            return false;
+        }
+        BatchFetchAuthorityRequest that = (BatchFetchAuthorityRequest) o;
+        return Objects.equals(getSystemControlNumbers(), that.getSystemControlNumbers());
+    }
+}
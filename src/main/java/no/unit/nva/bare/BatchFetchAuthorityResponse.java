@@ -0,0 +1,60 @@
+package no.unit.nva.bare;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.Objects;
+import nva.commons.core.JacocoGenerated;
+import nva.commons.core.JsonSerializable;
+
+/**
+ * Results of a batch fetch, one per distinct requested systemControlNumber in request order. {@code complete} is
+ * false when the deadline was reached before every authority had been fetched.
+ */
+public class BatchFetchAuthorityResponse implements JsonSerializable {
+
+    @JsonProperty("complete")
+    private final boolean complete;
+    @JsonProperty("results")
+    private final List<BatchFetchAuthorityResult> results;
+
+    @JsonCreator
+    public BatchFetchAuthorityResponse(@JsonProperty("complete") boolean complete,
+                                       @JsonProperty("results") List<BatchFetchAuthorityResult> results) {
+        this.complete = complete;
+        this.results = results;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public List<BatchFetchAuthorityResult> getResults() {
+        return results;
+    }
+
+    @JacocoGenerated
+    @Override
+    public int hashCode() {
+        return Objects.hash(isComplete(), getResults());
+    }
+
+    @JacocoGenerated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BatchFetchAuthorityResponse)) {
+            return false;
+        }
+        BatchFetchAuthorityResponse that = (BatchFetchAuthorityResponse) o;
+        return isComplete() == that.isComplete() && Objects.equals(getResults(), that.getResults());
+    }
+
+    @JacocoGenerated
+    @Override
+    public String toString() {
+        return toJsonString();
+    }
+}
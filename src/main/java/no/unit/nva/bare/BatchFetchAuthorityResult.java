@@ -0,0 +1,94 @@
+package no.unit.nva.bare;
+
+import static java.net.HttpURLConnection.HTTP_OK;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Objects;
+import nva.commons.core.JacocoGenerated;
+import nva.commons.core.JsonSerializable;
+
+/**
+ * Outcome of fetching one authority in a batch: either the authority or an error, with an HTTP-style status.
+ */
+public class BatchFetchAuthorityResult implements JsonSerializable {
+
+    @JsonProperty("systemControlNumber")
+    private final String systemControlNumber;
+    @JsonProperty("status")
+    private final int status;
+    @JsonProperty("authority")
+    private final Authority authority;
+    @JsonProperty("error")
+    private final String error;
+
+    /**
+     * Creates a result.
+     *
+     * @param systemControlNumber the requested systemControlNumber
+     * @param status              HTTP-style status of this item
+     * @param authority           the authority, when found
+     * @param error               error message, when not found
+     */
+    @JsonCreator
+    public BatchFetchAuthorityResult(@JsonProperty("systemControlNumber") String systemControlNumber,
+                                     @JsonProperty("status") int status,
+                                     @JsonProperty("authority") Authority authority,
+                                     @JsonProperty("error") String error) {
+        this.systemControlNumber = systemControlNumber;
+        this.status = status;
+        this.authority = authority;
+        this.error = error;
+    }
+
+    public static BatchFetchAuthorityResult found(String systemControlNumber, Authority authority) {
+        return new BatchFetchAuthorityResult(systemControlNumber, HTTP_OK, authority, null);
+    }
+
+    public static BatchFetchAuthorityResult failed(String systemControlNumber, int status, String error) {
+        return new BatchFetchAuthorityResult(systemControlNumber, status, null, error);
+    }
+
+    public String getSystemControlNumber() {
+        return systemControlNumber;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Authority getAuthority() {
+        return authority;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @JacocoGenerated
+    @Override
+    public int hashCode() {
+        return Objects.hash(getSystemControlNumber(), getStatus(), getAuthority(), getError());
+    }
+
+    @JacocoGenerated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BatchFetchAuthorityResult)) {
+            return false;
+        }
+        BatchFetchAuthorityResult that = (BatchFetchAuthorityResult) o;
+        return getStatus() == that.getStatus()
+               && Objects.equals(getSystemControlNumber(), that.getSystemControlNumber())
+               && Objects.equals(getAuthority(), that.getAuthority())
+               && Objects.equals(getError(), that.getError());
+    }
+
+    @JacocoGenerated
+    @Override
+    public String toString() {
+        return toJsonString();
+    }
+}
@@ -0,0 +1,249 @@
+package no.unit.nva.bare;
+
+import static java.net.HttpURLConnection.HTTP_BAD_GATEWAY;
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_GATEWAY_TIMEOUT;
+import static java.net.HttpURLConnection.HTTP_NO_CONTENT;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static no.unit.nva.bare.BatchFetchAuthorityHandler.failureStatus;
+import com.amazonaws.services.lambda.runtime.Context;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import nva.commons.apigateway.RequestInfo;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.core.Environment;
+import nva.commons.core.JacocoGenerated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Handler for requests to Lambda function applying many identifier changes in one request.
+ *
+ * <p>Operations are grouped per systemControlNumber. The operations on one authority run one after another in
+ * request order, while different authorities are changed concurrently, with at most {@code parallelism} authorities
+ * in flight at a time. Each changed authority is read from Bare once, after its last operation.
+ *
+ * <p>When the deadline is reached, an operation that was not started is reported as such and is not started later,
+ * so it is safe to retry. An operation that was started but has not finished may already have been applied by Bare,
+ * and is reported as having an unknown outcome. An operation that throws instead of returning a future stops the
+ * operations after it on the same authority, which are reported as skipped.
+ */
+public class BatchIdentifierMutationHandler
+    extends BareProxyHandler<BatchIdentifierMutationRequest, BatchIdentifierMutationResponse> {
+
+    public static final String MISSING_REQUEST_JSON_BODY = "Missing json in body.";
+    public static final String REMOTE_SERVER_ERRORMESSAGE = "remote server errormessage: ";
+    public static final String DEADLINE_REACHED = "Deadline reached before operation was run";
+    public static final String OUTCOME_UNKNOWN =
+        "Deadline reached while operation was running, it may have been applied; read the authority before retrying";
+    public static final String SKIPPED_AFTER_FAILURE =
+        "Operation skipped because an earlier operation on the same authority could not be started";
+    public static final int HTTP_FAILED_DEPENDENCY = 424;
+    private static final String START_FAILED_MESSAGE = "Could not start {} on scn={}, skipping later operations";
+    private static final int NOT_STARTED = 0;
+    private static final int STARTED = 1;
+    private static final int ABANDONED = 2;
+    public static final String PARTIAL_RESULT_MESSAGE = "Batch deadline reached, started {} of {} authorities";
+    private static final Logger logger = LoggerFactory.getLogger(BatchIdentifierMutationHandler.class);
+    private final transient AuthorityConverter authorityConverter;
+    private final transient int parallelism;
+    private final transient int maxBatchSize;
+
+    @JacocoGenerated
+    public BatchIdentifierMutationHandler() {
+        this(new BareConnection());
+    }
+
+    public BatchIdentifierMutationHandler(BareConnection bareConnection) {
+        this(bareConnection, Config.BATCH_MUTATION_PARALLELISM, Config.BATCH_MUTATION_MAX_SIZE);
+    }
+
+    /**
+     * Constructor for testability reasons.
+     *
+     * @param bareConnection connection to Bare
+     * @param parallelism    maximum number of authorities changed concurrently
+     * @param maxBatchSize   maximum number of operations in one request
+     */
+    public BatchIdentifierMutationHandler(BareConnection bareConnection, int parallelism, int maxBatchSize) {
+        super(BatchIdentifierMutationRequest.class, new Environment(), bareConnection);
+        this.authorityConverter = new AuthorityConverter();
+        this.parallelism = parallelism;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    protected BatchIdentifierMutationResponse processRequest(BatchIdentifierMutationRequest input,
+                                                             RequestInfo requestInfo,
+                                                             Context context) throws ApiGatewayException {
+        if (isNull(input)) {
+            throw new BadRequestException(MISSING_REQUEST_JSON_BODY);
+        }
+        List<IdentifierOperation> operations = input.validate(maxBatchSize);
+        AtomicReferenceArray<IdentifierOperationResult> results = new AtomicReferenceArray<>(operations.size());
+        AtomicIntegerArray states = new AtomicIntegerArray(operations.size());
+        Map<String, List<Integer>> operationsByScn = groupValidOperations(operations, results);
+        List<String> systemControlNumbers = new ArrayList<>(operationsByScn.keySet());
+        BoundedFanOut fanOut = new BoundedFanOut(parallelism,
+                                                 BoundedFanOut.timeBudget(context,
+                                                                          Config.BATCH_MUTATION_DEADLINE_MARGIN));
+
+        Map<String, CompletableFuture<Optional<BatchFetchAuthorityResult>>> mutations =
+            fanOut.start(systemControlNumbers,
+                         scn -> mutate(scn, operationsByScn.get(scn), operations, results, states));
+        boolean complete = mutations.size() == systemControlNumbers.size() && fanOut.await(mutations.values());
+        if (!complete) {
+            logger.warn(PARTIAL_RESULT_MESSAGE, mutations.size(), systemControlNumbers.size());
+        }
+        return new BatchIdentifierMutationResponse(complete,
+                                                   collectResults(operations, results, states),
+                                                   collectAuthorities(systemControlNumbers, mutations));
+    }
+
+    @Override
+    protected Integer getSuccessStatusCode(BatchIdentifierMutationRequest input,
+                                           BatchIdentifierMutationResponse output) {
+        return HTTP_OK;
+    }
+
+    private static Map<String, List<Integer>> groupValidOperations(
+        List<IdentifierOperation> operations, AtomicReferenceArray<IdentifierOperationResult> results) {
+        IntStream.range(0, operations.size()).forEach(index -> operations.get(index).validationError()
+            .ifPresent(error -> results.set(index, IdentifierOperationResult.failed(
+                index, operations.get(index).getSystemControlNumber(), HTTP_BAD_REQUEST, error))));
+        return IntStream.range(0, operations.size())
+            .filter(index -> isNull(results.get(index)))
+            .boxed()
+            .collect(Collectors.groupingBy(index -> operations.get(index).getSystemControlNumber(),
+                                           LinkedHashMap::new,
+                                           Collectors.toList()));
+    }
+
+    private CompletableFuture<Optional<BatchFetchAuthorityResult>> mutate(
+        String scn, List<Integer> indexes, List<IdentifierOperation> operations,
+        AtomicReferenceArray<IdentifierOperationResult> results, AtomicIntegerArray states) {
+        CompletableFuture<Boolean> anySucceeded = CompletableFuture.completedFuture(false);
+        AtomicBoolean stopped = new AtomicBoolean();
+        for (Integer index : indexes) {
+            IdentifierOperation operation = operations.get(index);
+            anySucceeded = anySucceeded.thenCompose(succeeded -> {
+                if (stopped.get()) {
+                    results.set(index, IdentifierOperationResult.failed(index, scn, HTTP_FAILED_DEPENDENCY,
+                                                                        SKIPPED_AFTER_FAILURE));
+                    return CompletableFuture.completedFuture(succeeded);
+                }
+                if (!states.compareAndSet(index, NOT_STARTED, STARTED)) {
+                    return CompletableFuture.completedFuture(succeeded);
+                }
+                return start(operation, stopped)
+                    .handle((response, failure) -> toResult(index, operation, response, failure))
+                    .thenApply(result -> {
+                        results.set(index, result);
+                        return succeeded || result.isSucceeded();
+                    });
+            });
+        }
+        return anySucceeded.thenCompose(succeeded -> succeeded
+                                                         ? reread(scn)
+                                                         : CompletableFuture.completedFuture(Optional.empty()));
+    }
+
+    /**
+     * Starts an operation, stopping the operations after it on the same authority when it throws instead of
+     * returning a future.
+     */
+    private CompletableFuture<HttpResponse<String>> start(IdentifierOperation operation, AtomicBoolean stopped) {
+        try {
+            return execute(operation);
+        } catch (RuntimeException e) {
+            stopped.set(true);
+            logger.error(START_FAILED_MESSAGE, operation.getOperation().asString(),
+                         operation.getSystemControlNumber(), e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> execute(IdentifierOperation operation) {
+        String scn = operation.getSystemControlNumber();
+        if (operation.getOperation() == IdentifierOperationType.ADD) {
+            AuthorityIdentifier authorityIdentifier =
+                new AuthorityIdentifier(operation.getSource(), operation.getIdentifier());
+            return bareConnection.addNewIdentifierAsync(scn, authorityIdentifier);
+        }
+        if (operation.getOperation() == IdentifierOperationType.DELETE) {
+            return bareConnection.deleteIdentifierAsync(scn, operation.getSource(), operation.getIdentifier());
+        }
+        return bareConnection.updateIdentifierAsync(scn, operation.getSource(), operation.getIdentifier(),
+                                                    operation.getUpdatedIdentifier());
+    }
+
+    private static IdentifierOperationResult toResult(int index, IdentifierOperation operation,
+                                                      HttpResponse<String> response, Throwable failure) {
+        String scn = operation.getSystemControlNumber();
+        if (nonNull(failure)) {
+            Throwable cause = unwrap(failure);
+            return IdentifierOperationResult.failed(index, scn, failureStatus(cause),
+                                                    cause.getMessage());
+        }
+        if (response.statusCode() == HTTP_OK || response.statusCode() == HTTP_NO_CONTENT) {
+            return IdentifierOperationResult.succeeded(index, scn);
+        }
+        logger.error(String.format("%s - ErrorCode=%s, reasonPhrase=%s", operation.getOperation().asString(),
+                                   response.statusCode(), response.body()));
+        return IdentifierOperationResult.failed(index, scn, HTTP_BAD_GATEWAY,
+                                                REMOTE_SERVER_ERRORMESSAGE + response.body());
+    }
+
+    private CompletableFuture<Optional<BatchFetchAuthorityResult>> reread(String scn) {
+        return bareConnection.getAsync(scn).handle((bareAuthority, failure) -> isNull(failure)
+            ? Optional.of(BatchFetchAuthorityResult.found(scn, authorityConverter.asAuthority(bareAuthority)))
+            : Optional.of(BatchFetchAuthorityResult.failed(scn, failureStatus(unwrap(failure)),
+                                                           unwrap(failure).getMessage())));
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && nonNull(failure.getCause()) ? failure.getCause() : failure;
+    }
+
+    /**
+     * Collects the result of every operation. An operation without a result is marked as abandoned unless it was
+     * started, so that it is not started after the response is sent.
+     */
+    private static List<IdentifierOperationResult> collectResults(
+        List<IdentifierOperation> operations, AtomicReferenceArray<IdentifierOperationResult> results,
+        AtomicIntegerArray states) {
+        return IntStream.range(0, operations.size())
+            .mapToObj(index -> Optional.ofNullable(results.get(index)).orElseGet(
+                () -> IdentifierOperationResult.failed(index, operations.get(index).getSystemControlNumber(),
+                                                       HTTP_GATEWAY_TIMEOUT,
+                                                       states.compareAndSet(index, NOT_STARTED, ABANDONED)
+                                                           ? DEADLINE_REACHED
+                                                           : OUTCOME_UNKNOWN)))
+            .collect(Collectors.toList());
+    }
+
+    private static List<BatchFetchAuthorityResult> collectAuthorities(
+        List<String> systemControlNumbers,
+        Map<String, CompletableFuture<Optional<BatchFetchAuthorityResult>>> mutations) {
+        return systemControlNumbers.stream()
+            .map(mutations::get)
+            .filter(mutation -> nonNull(mutation) && mutation.isDone() && !mutation.isCompletedExceptionally())
+            .map(CompletableFuture::join)
+            .flatMap(Optional::stream)
+            .collect(Collectors.toList());
+    }
+}
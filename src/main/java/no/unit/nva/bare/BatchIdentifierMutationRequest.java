@@ -0,0 +1,64 @@
+package no.unit.nva.bare;
+
+import static java.util.Objects.isNull;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.Objects;
+import nva.commons.apigateway.exceptions.BadRequestException;
+import nva.commons.core.JacocoGenerated;
+
+public class BatchIdentifierMutationRequest {
+
+    public static final String BODY_ARGS_MISSING = "Nothing to change. 'operations' is missing or empty.";
+    public static final String TOO_MANY_OPERATIONS = "Too many operations, at most %d are allowed in one request.";
+
+    @JsonProperty("operations")
+    private final List<IdentifierOperation> operations;
+
+    @JsonCreator
+    public BatchIdentifierMutationRequest(@JsonProperty("operations") List<IdentifierOperation> operations) {
+        this.operations = operations;
+    }
+
+    public List<IdentifierOperation> getOperations() {
+        return operations;
+    }
+
+    /**
+     * Validates the size of the batch. Single operations are validated one by one so that an invalid operation does
+     * not stop the rest of the batch.
+     *
+     * @param maxBatchSize the maximum number of operations allowed
+     * @return the operations
+     * @throws BadRequestException when the list is missing, empty or too long
+     */
+    public List<IdentifierOperation> validate(int maxBatchSize) throws BadRequestException {
+        if (isNull(operations) || operations.isEmpty()) {
+            throw new BadRequestException(BODY_ARGS_MISSING);
+        }
+        if (operations.size() > maxBatchSize) {
+            throw new BadRequestException(String.format(TOO_MANY_OPERATIONS, maxBatchSize));
+        }
+        return operations;
+    }
+
+    @JacocoGenerated
+    @Override
+    public int hashCode() {
+        return Objects.hash(getOperations());
+    }
+
+    @JacocoGenerated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BatchIdentifierMutationRequest)) {
+            return false;
+        }
+        BatchIdentifierMutationRequest that = (BatchIdentifierMutationRequest) o;
+        return Objects.equals(getOperations(), that.getOperations());
+    }
+}
@@ -0,0 +1,78 @@
+package no.unit.nva.bare;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.Objects;
+import nva.commons.core.JacocoGenerated;
+import nva.commons.core.JsonSerializable;
+
+/**
+ * Report of a batch of identifier changes: one result per requested operation in request order, and the authorities
+ * as read from Bare after their changes. {@code complete} is false when the deadline was reached before every
+ * operation had run.
+ */
+public class BatchIdentifierMutationResponse implements JsonSerializable {
+
+    @JsonProperty("complete")
+    private final boolean complete;
+    @JsonProperty("results")
+    private final List<IdentifierOperationResult> results;
+    @JsonProperty("authorities")
+    private final List<BatchFetchAuthorityResult> authorities;
+
+    /**
+     * Creates a report.
+     *
+     * @param complete    whether every operation ran before the deadline
+     * @param results     one result per requested operation
+     * @param authorities the changed authorities as read after the changes
+     */
+    @JsonCreator
+    public BatchIdentifierMutationResponse(@JsonProperty("complete") boolean complete,
+                                           @JsonProperty("results") List<IdentifierOperationResult> results,
+                                           @JsonProperty("authorities") List<BatchFetchAuthorityResult> authorities) {
+        this.complete = complete;
+        this.results = results;
+        this.authorities = authorities;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public List<IdentifierOperationResult> getResults() {
+        return results;
+    }
+
+    public List<BatchFetchAuthorityResult> getAuthorities() {
+        return authorities;
+    }
+
+    @JacocoGenerated
+    @Override
+    public int hashCode() {
+        return Objects.hash(isComplete(), getResults(), getAuthorities());
+    }
+
+    @JacocoGenerated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BatchIdentifierMutationResponse)) {
+            return false;
+        }
+        BatchIdentifierMutationResponse that = (BatchIdentifierMutationResponse) o;
+        return isComplete() == that.isComplete()
+               && Objects.equals(getResults(), that.getResults())
+               && Objects.equals(getAuthorities(), that.getAuthorities());
+    }
+
+    @JacocoGenerated
+    @Override
+    public String toString() {
+        return toJsonString();
+    }
+}
@@ -0,0 +1,122 @@
+package no.unit.nva.bare;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import com.amazonaws.services.lambda.runtime.Context;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Starts asynchronous calls for a list of keys with at most {@code parallelism} calls in flight, until a deadline.
+ *
+ * <p>Calls are started in key order. A key whose call could not be started before the deadline is left out of the
+ * returned map, so callers can tell calls that failed from calls that never ran. A call that throws instead of
+ * returning a future is recorded as a failed call.
+ */
+public class BoundedFanOut {
+
+    public static final Duration DEFAULT_TIME_BUDGET = Duration.ofSeconds(15);
+    private final transient int parallelism;
+    private final transient long deadline;
+
+    /**
+     * Creates a fan-out that stops starting and waiting for calls when the time budget is spent.
+     *
+     * @param parallelism maximum number of calls in flight
+     * @param timeBudget  time from now until the deadline
+     */
+    public BoundedFanOut(int parallelism, Duration timeBudget) {
+        this.parallelism = parallelism;
+        this.deadline = System.nanoTime() + timeBudget.toNanos();
+    }
+
+    /**
+     * Time left of the Lambda invocation minus a safety margin. Falls back to {@link #DEFAULT_TIME_BUDGET} when the
+     * remaining time is unknown, as it is when the context is not provided by the Lambda runtime.
+     *
+     * @param context the Lambda context
+     * @param margin  time to keep for building the response
+     * @return the time budget for the fan-out
+     */
+    public static Duration timeBudget(Context context, Duration margin) {
+        long remainingMillis = context.getRemainingTimeInMillis();
+        if (remainingMillis <= 0) {
+            return DEFAULT_TIME_BUDGET;
+        }
+        return Duration.ofMillis(remainingMillis).minus(margin);
+    }
+
+    /**
+     * Starts one call per key.
+     *
+     * @param keys keys to start calls for
+     * @param call starts the call for a key
+     * @param <K>  key type
+     * @param <V>  result type
+     * @return the started calls by key
+     */
+    public <K, V> Map<K, CompletableFuture<V>> start(List<K> keys, Function<K, CompletableFuture<V>> call) {
+        Semaphore permits = new Semaphore(parallelism);
+        Map<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+        for (K key : keys) {
+            if (!acquireBeforeDeadline(permits)) {
+                break;
+            }
+            calls.put(key, startCall(key, call, permits));
+        }
+        return calls;
+    }
+
+    /**
+     * Waits until every call has completed or the deadline is reached.
+     *
+     * @param calls the calls to wait for
+     * @return true when every call completed, successfully or not, before the deadline
+     */
+    public boolean await(Collection<? extends CompletableFuture<?>> calls) {
+        try {
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).get(remainingNanos(), NANOSECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static <K, V> CompletableFuture<V> startCall(K key, Function<K, CompletableFuture<V>> call,
+                                                         Semaphore permits) {
+        try {
+            return call.apply(key).whenComplete((value, failure) -> permits.release());
+        } catch (RuntimeException e) {
+            permits.release();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private boolean acquireBeforeDeadline(Semaphore permits) {
+        if (remainingNanos() <= 0) {
+            return false;
+        }
+        try {
+            return permits.tryAcquire(remainingNanos(), NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private long remainingNanos() {
+        return deadline - System.nanoTime();
+    }
+}
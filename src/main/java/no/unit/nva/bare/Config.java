@@ -1,5 +1,6 @@
 package no.unit.nva.bare;
 
+import java.time.Duration;
 import nva.commons.core.Environment;
 
 public final class Config {
@@ -11,10 +12,49 @@ public final class Config {
     public static final String PERSON_AUTHORITY_BASE_ADDRESS = readEnv("PERSON_AUTHORITY_BASE_ADDRESS");
     public static final String PATH_SEPARATOR = "/";
     public static final String BARE_HOST = setupBareHost(readEnv("BARE_HOST"));
+    public static final String BARE_PROTOCOL = readEnv("BARE_PROTOCOL", "https");
     public static final String BARE_QUERY_PATH = "/authority/rest/functions/v2/query";
     public static final String BARE_CREATE_PATH = "/authority/rest/authorities/v2";
     public static final String BARE_GET_PATH = "/authority/rest/authorities/v2";
-
+    public static final long AUTHORITY_CACHE_MAX_SIZE = readLongEnv("AUTHORITY_CACHE_MAX_SIZE", 1000);
+    public static final Duration AUTHORITY_CACHE_TTL =
+        Duration.ofSeconds(readLongEnv("AUTHORITY_CACHE_TTL_SECONDS", 5));
+    public static final Duration AUTHORITY_NOT_FOUND_TTL =
+        Duration.ofSeconds(readLongEnv("AUTHORITY_NOT_FOUND_TTL_SECONDS", 30));
+    public static final Duration AUTHORITY_SHARED_COPY_TTL =
+        Duration.ofSeconds(readLongEnv("AUTHORITY_SHARED_COPY_TTL_SECONDS", 2));
+    public static final int BATCH_FETCH_MAX_SIZE = readIntEnv("BATCH_FETCH_MAX_SIZE", 100);
+    public static final int BATCH_FETCH_PARALLELISM = readIntEnv("BATCH_FETCH_PARALLELISM", 10);
+    public static final Duration BATCH_FETCH_DEADLINE_MARGIN =
+        Duration.ofMillis(readLongEnv("BATCH_FETCH_DEADLINE_MARGIN_MILLIS", 1000));
+    public static final int BATCH_MUTATION_MAX_SIZE = readIntEnv("BATCH_MUTATION_MAX_SIZE", 500);
+    public static final int BATCH_MUTATION_PARALLELISM = readIntEnv("BATCH_MUTATION_PARALLELISM", 5);
+    public static final Duration BATCH_MUTATION_DEADLINE_MARGIN =
+        Duration.ofMillis(readLongEnv("BATCH_MUTATION_DEADLINE_MARGIN_MILLIS", 1000));
+    public static final boolean BARE_SELECTIVE_READ = readBooleanEnv("BARE_SELECTIVE_READ", true);
+    public static final int SEARCH_MAX_PAGE_SIZE = readIntEnv("SEARCH_MAX_PAGE_SIZE", 100);
+    public static final boolean DERIVE_AUTHORITY_AFTER_MUTATION =
+        readBooleanEnv("DERIVE_AUTHORITY_AFTER_MUTATION", false);
+    public static final double DERIVED_AUTHORITY_VERIFICATION_RATE =
+        readDoubleEnv("DERIVED_AUTHORITY_VERIFICATION_RATE", 0.0);
+    public static final boolean PRIMING_ENABLED =
+        readBooleanEnv("PRIMING_ENABLED", ENVIRONMENT.readEnvOpt("AWS_LAMBDA_INITIALIZATION_TYPE").isPresent());
+    public static final boolean BARE_METRICS_ENABLED = readBooleanEnv("BARE_METRICS_ENABLED", true);
+    public static final String METRICS_NAMESPACE = readEnv("METRICS_NAMESPACE", "NvaBareProxy");
+    public static final boolean IDENTIFIER_INDEX_ENABLED = readBooleanEnv("IDENTIFIER_INDEX_ENABLED", true);
+    public static final long IDENTIFIER_INDEX_MAX_SIZE = readLongEnv("IDENTIFIER_INDEX_MAX_SIZE", 10_000);
+    public static final Duration IDENTIFIER_INDEX_TTL =
+        Duration.ofSeconds(readLongEnv("IDENTIFIER_INDEX_TTL_SECONDS", 60));
+    public static final String SHARED_CACHE_ADDRESS = readEnv("SHARED_CACHE_ADDRESS", "");
+    public static final Duration SHARED_CACHE_TTL =
+        Duration.ofSeconds(readLongEnv("SHARED_CACHE_TTL_SECONDS", 60));
+    public static final Duration SHARED_CACHE_TIMEOUT =
+        Duration.ofMillis(readLongEnv("SHARED_CACHE_TIMEOUT_MILLIS", 100));
+    public static final double BARE_READ_RATE_LIMIT = readDoubleEnv("BARE_READ_RATE_LIMIT", 0.0);
+    public static final double BARE_WRITE_RATE_LIMIT = readDoubleEnv("BARE_WRITE_RATE_LIMIT", 0.0);
+    public static final Duration BARE_RATE_LIMIT_MAX_WAIT =
+        Duration.ofMillis(readLongEnv("BARE_RATE_LIMIT_MAX_WAIT_MILLIS", 100));
+    public static final String XRAY_DAEMON_ADDRESS = readEnv("AWS_XRAY_DAEMON_ADDRESS", "127.0.0.1:2000");
 
     private Config() {
     }
@@ -28,4 +68,24 @@ public final class Config {
     private static String readEnv(String envVariable) {
         return ENVIRONMENT.readEnv(envVariable);
     }
+
+    private static String readEnv(String envVariable, String defaultValue) {
+        return ENVIRONMENT.readEnvOpt(envVariable).orElse(defaultValue);
+    }
+
+    private static long readLongEnv(String envVariable, long defaultValue) {
+        return ENVIRONMENT.readEnvOpt(envVariable).map(Long::parseLong).orElse(defaultValue);
+    }
+
+    private static int readIntEnv(String envVariable, int defaultValue) {
+        return ENVIRONMENT.readEnvOpt(envVariable).map(Integer::parseInt).orElse(defaultValue);
+    }
+
+    private static boolean readBooleanEnv(String envVariable, boolean defaultValue) {
+        return ENVIRONMENT.readEnvOpt(envVariable).map(Boolean::parseBoolean).orElse(defaultValue);
+    }
+
+    private static double readDoubleEnv(String envVariable, double defaultValue) {
+        return ENVIRONMENT.readEnvOpt(envVariable).map(Double::parseDouble).orElse(defaultValue);
+    }
 }
@@ -6,7 +6,6 @@ import static nva.commons.core.attempt.Try.attempt;
 import com.amazonaws.services.lambda.runtime.Context;
 import java.net.http.HttpResponse;
 import java.util.Optional;
-import nva.commons.apigateway.ApiGatewayHandler;
 import nva.commons.apigateway.RequestInfo;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
 import nva.commons.apigateway.exceptions.BadGatewayException;
@@ -22,7 +21,7 @@ import org.slf4j.LoggerFactory;
 /**
  * Handler for requests to Lambda function creating an authority in ARP.
  */
-public class CreateAuthorityHandler extends ApiGatewayHandler<CreateAuthorityRequest, Authority> {
+public class CreateAuthorityHandler extends BareProxyHandler<CreateAuthorityRequest, Authority> {
 
     public static final String COMMUNICATION_ERROR_WHILE_CREATING = "Communication failure while creating new "
                                                                     + "authority with name='%s'";
@@ -31,19 +30,17 @@ public class CreateAuthorityHandler extends ApiGatewayHandler<CreateAuthorityReq
     public static final String FAILED_RESPONSE = "Failed response:";
     public static final String INVALID_INPUT_ERROR_MESSAGE = "Invalid input:";
     private static final Logger logger = LoggerFactory.getLogger(CreateAuthorityHandler.class);
-    protected final transient BareConnection bareConnection;
 
     public CreateAuthorityHandler() {
         this(new BareConnection());
     }
 
     public CreateAuthorityHandler(BareConnection bareConnection) {
-        super(CreateAuthorityRequest.class, new Environment());
-        this.bareConnection = bareConnection;
+        super(CreateAuthorityRequest.class, new Environment(), bareConnection);
     }
 
     @Override
-    protected Authority processInput(CreateAuthorityRequest input, RequestInfo requestInfo, Context context)
+    protected Authority processRequest(CreateAuthorityRequest input, RequestInfo requestInfo, Context context)
         throws ApiGatewayException {
         validateInput(input);
         BareAuthority bareAuthority = createAuthorityOnBare(input.getInvertedName());
@@ -55,7 +52,7 @@ public class CreateAuthorityHandler extends ApiGatewayHandler<CreateAuthorityReq
         return HTTP_OK;
     }
 
-    protected BareAuthority createAuthorityOnBare(String name) throws BadGatewayException {
+    protected BareAuthority createAuthorityOnBare(String name) throws BadGatewayException, BareException {
         AuthorityConverter authorityConverter = new AuthorityConverter();
         BareAuthority bareAuthority = authorityConverter.buildAuthority(name);
 
@@ -78,9 +75,9 @@ public class CreateAuthorityHandler extends ApiGatewayHandler<CreateAuthorityReq
         return new BadRequestException(INVALID_INPUT_ERROR_MESSAGE + input, fail.getException());
     }
 
-    private RuntimeException handleUnexpectedFailure(Failure<HttpResponse<String>> fail) {
+    private BareException handleUnexpectedFailure(Failure<HttpResponse<String>> fail) {
         logger.error(ExceptionUtils.stackTraceInSingleLine(fail.getException()));
-        return new RuntimeException(fail.getException());
+        return BareException.from(fail.getException());
     }
 
     private BadGatewayException handlerFailureResponse(HttpResponse<String> response) {
@@ -48,6 +48,18 @@ public class CustomGatewayResponse {
         return headers;
     }
 
+    /**
+     * Adds a header to the default headers.
+     *
+     * @param name  header name
+     * @param value header value
+     */
+    public void addHeader(String name, String value) {
+        Map<String, String> headers = new ConcurrentHashMap<>(this.headers);
+        headers.put(name, value);
+        this.headers = Collections.unmodifiableMap(headers);
+    }
+
     public int getStatusCode() {
         return statusCode;
     }
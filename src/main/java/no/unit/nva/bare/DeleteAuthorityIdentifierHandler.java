@@ -9,7 +9,8 @@ import java.net.http.HttpResponse;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import nva.commons.apigateway.ApiGatewayHandler;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import nva.commons.apigateway.RequestInfo;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
 import nva.commons.apigateway.exceptions.BadRequestException;
@@ -22,7 +23,7 @@ import org.slf4j.LoggerFactory;
 /**
  * Handler for requests to Lambda function.
  */
-public class DeleteAuthorityIdentifierHandler extends ApiGatewayHandler<DeleteAuthorityIdentifierRequest, Authority> {
+public class DeleteAuthorityIdentifierHandler extends BareProxyHandler<DeleteAuthorityIdentifierRequest, Authority> {
 
     public static final String MISSING_PATH_PARAMETER_SCN = "Missing path parameter 'scn'.";
     public static final String MISSING_PATH_PARAMETER_QUALIFIER = "Missing path parameter 'qualifier'.";
@@ -34,13 +35,15 @@ public class DeleteAuthorityIdentifierHandler extends ApiGatewayHandler<DeleteAu
     public static final String SCN_KEY = "scn";
     public static final String QUALIFIER_KEY = "qualifier";
     public static final String REMOTE_SERVER_ERRORMESSAGE = "remote server errormessage: ";
+    public static final String SKIPPED_WRITE_MESSAGE =
+            "deleteIdentifier skipped, identifier already absent, scn={} skippedWrites={}";
 
     public static final List<String> VALID_QUALIFIERS = asList(
             ValidIdentifierKey.FEIDEID.asString(),
             ValidIdentifierKey.ORCID.asString(),
             ValidIdentifierKey.ORGUNITID.asString());
 
-    private final transient BareConnection bareConnection;
+    private final transient AtomicLong skippedWrites = new AtomicLong();
     private static final Logger logger = LoggerFactory.getLogger(DeleteAuthorityIdentifierHandler.class);
 
     /**
@@ -58,13 +61,12 @@ public class DeleteAuthorityIdentifierHandler extends ApiGatewayHandler<DeleteAu
      * @param bareConnection bareConnection
      */
     public DeleteAuthorityIdentifierHandler(Environment environment, BareConnection bareConnection) {
-        super(DeleteAuthorityIdentifierRequest.class, environment);
-        this.bareConnection = bareConnection;
+        super(DeleteAuthorityIdentifierRequest.class, environment, bareConnection);
     }
 
     @Override
-    protected Authority processInput(DeleteAuthorityIdentifierRequest input, RequestInfo requestInfo,
-                                     Context context) throws ApiGatewayException {
+    protected Authority processRequest(DeleteAuthorityIdentifierRequest input, RequestInfo requestInfo,
+                                       Context context) throws ApiGatewayException {
 
         validateInput(input, requestInfo.getPathParameters());
 
@@ -102,9 +104,31 @@ public class DeleteAuthorityIdentifierHandler extends ApiGatewayHandler<DeleteAu
         }
     }
 
+    /**
+     * Deletes an identifier from an authority. The delete is skipped when the authority does not have the identifier.
+     * The cached authority may be older than changes made by other functions or directly in Bare, so it only tells
+     * whether to check. The authority is then read from Bare, and the delete is skipped only if that copy lacks the
+     * identifier.
+     *
+     * @param scn        systemControlNumber of the authority
+     * @param qualifier  qualifier of the identifier
+     * @param identifier identifier to delete
+     * @return the authority without the identifier
+     * @throws BareException              when Bare fails
+     * @throws BareCommunicationException when the authority cannot be read after the delete
+     */
     protected Authority deleteIdentifier(String scn, String qualifier, String identifier)
         throws BareException, BareCommunicationException {
+        AuthorityIdentifier authorityIdentifier = new AuthorityIdentifier(qualifier, identifier);
         try {
+            Optional<BareAuthority> cachedAuthority = bareConnection.getCached(scn);
+            if (cachedAuthority.isPresent() && !cachedAuthority.get().hasIdentifier(authorityIdentifier)) {
+                BareAuthority currentAuthority = bareConnection.getFromBare(scn);
+                if (!currentAuthority.hasIdentifier(authorityIdentifier)) {
+                    logger.info(SKIPPED_WRITE_MESSAGE, scn, skippedWrites.incrementAndGet());
+                    return new AuthorityConverter().asAuthority(currentAuthority);
+                }
+            }
             HttpResponse<String> response = bareConnection.deleteIdentifier(scn, qualifier, identifier);
             int responseCode = response.statusCode();
             if (responseCode == HTTP_OK) {
@@ -116,10 +140,19 @@ public class DeleteAuthorityIdentifierHandler extends ApiGatewayHandler<DeleteAu
             }
         } catch (IOException | URISyntaxException | InterruptedException e) {
             logger.error(e.getMessage(), e);
-            throw new BareException(e.getMessage());
+            throw BareException.from(e);
         }
     }
 
+    /**
+     * Number of deletes not sent to Bare because the authority read from Bare did not have the identifier.
+     *
+     * @return number of skipped deletes since the handler was created
+     */
+    public long getSkippedWriteCount() {
+        return skippedWrites.get();
+    }
+
     private Authority getAuthority(String scn) throws InterruptedException, BareCommunicationException, BareException {
         try {
             final BareAuthority updatedAuthority = bareConnection.get(scn);
@@ -133,7 +166,7 @@ public class DeleteAuthorityIdentifierHandler extends ApiGatewayHandler<DeleteAu
             }
         } catch (IOException | URISyntaxException e) {
             logger.error(e.getMessage(), e);
-            throw new BareException(e.getMessage());
+            throw BareException.from(e);
         }
     }
 
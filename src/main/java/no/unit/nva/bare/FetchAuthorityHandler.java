@@ -2,16 +2,20 @@ package no.unit.nva.bare;
 
 import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
 import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
 import static java.net.HttpURLConnection.HTTP_OK;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import static no.unit.nva.bare.BareConnection.DEFAULT_SEARCH_MAX;
+import static no.unit.nva.bare.BareConnection.DEFAULT_SEARCH_START;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import nva.commons.core.JacocoGenerated;
 import nva.commons.core.exceptions.ExceptionUtils;
 import org.slf4j.Logger;
@@ -29,9 +33,21 @@ public class FetchAuthorityHandler implements RequestHandler<Map<String, Object>
     public static final String ORCID_KEY = "orcid";
     public static final String ARPID_KEY = "arpId";
     public static final String SCN_KEY = "scn";
+    public static final String START_KEY = "start";
+    public static final String MAX_KEY = "max";
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    public static final String NEXT_PAGE_START_HEADER = "X-Next-Page-Start";
+    public static final String EXPOSE_HEADERS_HEADER = "Access-Control-Expose-Headers";
+    public static final String SEARCH_SUMMARY_MESSAGE = "search start={} hits={} numFound={} chars={}";
+    public static final String SEARCH_PAYLOAD_MESSAGE = "search payload={}";
+    public static final int MAX_LOGGED_PAYLOAD_LENGTH = 1000;
+    public static final String TRUNCATED_MARKER = "...";
     protected static final String MISSING_PARAMETERS = "Missing parameters! Query parameter not set.";
+    protected static final String INVALID_PAGING_PARAMETERS =
+        "Invalid paging parameters! 'start' and 'max' must be positive integers.";
     protected final transient AuthorityConverter authorityConverter;
     protected final transient BareConnection bareConnection;
+    private final transient int maxPageSize;
     private final transient Logger log = LoggerFactory.getLogger(FetchAuthorityHandler.class);
 
     @JacocoGenerated
@@ -40,19 +56,47 @@ public class FetchAuthorityHandler implements RequestHandler<Map<String, Object>
     }
 
     public FetchAuthorityHandler(BareConnection bareConnection) {
+        this(bareConnection, Config.SEARCH_MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Constructor for testability reasons.
+     *
+     * @param bareConnection bareConnection
+     * @param maxPageSize    largest number of hits returned for one search, larger 'max' values are reduced to it
+     */
+    public FetchAuthorityHandler(BareConnection bareConnection, int maxPageSize) {
         this.bareConnection = bareConnection;
         this.authorityConverter = new AuthorityConverter();
+        this.maxPageSize = maxPageSize;
     }
 
     /**
-     * Main lambda function to get authority metadata from Bare.
+     * Main lambda function to get authority metadata from Bare. The time spent is returned in a
+     * <code>Server-Timing</code> header.
      *
      * @param input payload with identifying parameters
      * @return a GatewayResponse
      */
     @Override
-    @SuppressWarnings("unchecked")
     public CustomGatewayResponse handleRequest(final Map<String, Object> input, Context context) {
+        ServerTiming timing = ServerTiming.start();
+        bareConnection.beginInvocation();
+        bareConnection.beginTrace(getClass().getSimpleName());
+        try {
+            CustomGatewayResponse gatewayResponse = processRequest(input);
+            gatewayResponse.addHeader(ServerTiming.HEADER, timing.toHeaderValue());
+            return gatewayResponse;
+        } finally {
+            bareConnection.endTrace();
+            bareConnection.endInvocation();
+            bareConnection.emitMetrics();
+            timing.finish(getClass().getSimpleName());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CustomGatewayResponse processRequest(final Map<String, Object> input) {
         CustomGatewayResponse gatewayResponse = new CustomGatewayResponse();
 
         if (isGetByScnQuery(input)
@@ -70,10 +114,13 @@ public class FetchAuthorityHandler implements RequestHandler<Map<String, Object>
                 }
 
                 String query;
+                Optional<ValidIdentifierSource> identifierSource = Optional.empty();
                 if (nonNull(queryStringParameters) && queryStringParameters.containsKey(FEIDE_KEY)) {
                     query = queryStringParameters.get(FEIDE_KEY);
+                    identifierSource = Optional.of(ValidIdentifierSource.feide);
                 } else if (nonNull(queryStringParameters) && queryStringParameters.containsKey(ORCID_KEY)) {
                     query = queryStringParameters.get(ORCID_KEY);
+                    identifierSource = Optional.of(ValidIdentifierSource.orcid);
                 } else if (nonNull(queryStringParameters) && queryStringParameters.containsKey(NAME_KEY)) {
                     query = queryStringParameters.get(NAME_KEY);
                 } else {
@@ -81,15 +128,29 @@ public class FetchAuthorityHandler implements RequestHandler<Map<String, Object>
                     gatewayResponse.setStatusCode(HTTP_BAD_REQUEST);
                     return gatewayResponse;
                 }
+                int start;
+                int max;
+                try {
+                    start = readPagingParameter(queryStringParameters, START_KEY, DEFAULT_SEARCH_START);
+                    max = Math.min(readPagingParameter(queryStringParameters, MAX_KEY, DEFAULT_SEARCH_MAX),
+                                   maxPageSize);
+                } catch (IllegalArgumentException e) {
+                    gatewayResponse.setErrorBody(INVALID_PAGING_PARAMETERS);
+                    gatewayResponse.setStatusCode(HTTP_BAD_REQUEST);
+                    return gatewayResponse;
+                }
                 try {
 
-                    BareQueryResponse searchResult = bareConnection.searchByAuthorityName(query);
+                    BareQueryResponse searchResult = search(identifierSource, query, start, max);
 
-                    final List<Authority> fetchedAuthority = authorityConverter.extractAuthorities(searchResult);
-                    log.info(defaultRestObjectMapper.writeValueAsString(fetchedAuthority));
+                    final String fetchedAuthorities = authorityConverter.extractAuthoritiesAsJson(searchResult);
+                    logSearch(searchResult, start, fetchedAuthorities);
 
-                    gatewayResponse.setBody(defaultRestObjectMapper.writeValueAsString(fetchedAuthority));
+                    gatewayResponse.setBody(fetchedAuthorities);
+                    addPagingHeaders(gatewayResponse, searchResult, start);
                     gatewayResponse.setStatusCode(HTTP_OK);
+                } catch (BareThrottledException e) {
+                    return throttled(gatewayResponse, e);
                 } catch (IOException | URISyntaxException | InterruptedException e) {
 
                     gatewayResponse.setErrorBody(ExceptionUtils.stackTraceInSingleLine(e));
@@ -104,6 +165,80 @@ public class FetchAuthorityHandler implements RequestHandler<Map<String, Object>
         return gatewayResponse;
     }
 
+    /**
+     * Searches by name, or by feide or orcid identifier, first through the index of identifiers.
+     */
+    private BareQueryResponse search(Optional<ValidIdentifierSource> source, String query, int start, int max)
+        throws IOException, URISyntaxException, InterruptedException {
+        if (source.isEmpty()) {
+            return bareConnection.searchByAuthorityName(query, start, max);
+        }
+        Optional<BareQueryResponse> indexedResult = getByIdentifier(source.get(), query, start);
+        return indexedResult.isPresent()
+                   ? indexedResult.get()
+                   : bareConnection.searchByIdentifier(source.get(), query, start, max);
+    }
+
+    /**
+     * Finds the authority having a feide or orcid identifier through the index of identifiers, see
+     * {@link IdentifierIndex}, as a search response with that single hit. Only the first page has a hit. The index
+     * only has identifiers a recent search found on one authority, so the total of one is what that search found.
+     */
+    private Optional<BareQueryResponse> getByIdentifier(ValidIdentifierSource source, String identifier, int start)
+        throws URISyntaxException, InterruptedException {
+        if (start != DEFAULT_SEARCH_START) {
+            return Optional.empty();
+        }
+        return bareConnection.getByIdentifier(source, identifier).map(bareAuthority -> {
+            BareQueryResponse searchResult = new BareQueryResponse();
+            searchResult.results = new BareAuthority[]{bareAuthority};
+            searchResult.setNumFound(searchResult.results.length);
+            return searchResult;
+        });
+    }
+
+    /**
+     * Logs a one line summary of the search, and the start of the payload when debugging. The payload is already
+     * serialized for the response, so logging it costs no further serialization.
+     */
+    private void logSearch(BareQueryResponse searchResult, int start, String payload) {
+        log.info(SEARCH_SUMMARY_MESSAGE, start, searchResult.results.length, searchResult.getNumFound(),
+                 payload.length());
+        if (log.isDebugEnabled()) {
+            log.debug(SEARCH_PAYLOAD_MESSAGE, payload.length() > MAX_LOGGED_PAYLOAD_LENGTH
+                                                  ? payload.substring(0, MAX_LOGGED_PAYLOAD_LENGTH) + TRUNCATED_MARKER
+                                                  : payload);
+        }
+    }
+
+    /**
+     * Reads a paging parameter, which must be a positive integer when given.
+     */
+    private static int readPagingParameter(Map<String, String> queryStringParameters, String key, int defaultValue) {
+        String value = queryStringParameters.get(key);
+        if (isNull(value)) {
+            return defaultValue;
+        }
+        int parsed = Integer.parseInt(value.trim());
+        if (parsed < 1) {
+            throw new IllegalArgumentException(INVALID_PAGING_PARAMETERS);
+        }
+        return parsed;
+    }
+
+    /**
+     * Tells the client the total number of hits and, when there are more hits, where the next page starts.
+     */
+    private static void addPagingHeaders(CustomGatewayResponse gatewayResponse, BareQueryResponse searchResult,
+                                         int start) {
+        gatewayResponse.addHeader(TOTAL_COUNT_HEADER, Integer.toString(searchResult.getNumFound()));
+        int nextStart = start + searchResult.results.length;
+        if (searchResult.results.length > 0 && nextStart <= searchResult.getNumFound()) {
+            gatewayResponse.addHeader(NEXT_PAGE_START_HEADER, Integer.toString(nextStart));
+        }
+        gatewayResponse.addHeader(EXPOSE_HEADERS_HEADER, TOTAL_COUNT_HEADER + ", " + NEXT_PAGE_START_HEADER);
+    }
+
     private boolean searchQueryContainsArpId(Map<String, String> queryStringParameters) {
         return nonNull(queryStringParameters) && queryStringParameters.containsKey(ARPID_KEY);
     }
@@ -123,13 +258,34 @@ public class FetchAuthorityHandler implements RequestHandler<Map<String, Object>
         try {
             BareAuthority fetchedAuthority = bareConnection.get(arpId);
             Authority authority = authorityConverter.asAuthority(fetchedAuthority);
+            long serializing = System.nanoTime();
             gatewayResponse.setBody(defaultRestObjectMapper.writeValueAsString(authority));
+            ServerTiming.record(ServerTiming.Phase.SERIALIZE, serializing);
             gatewayResponse.setStatusCode(HTTP_OK);
             return gatewayResponse;
+        } catch (AuthorityNotFoundException e) {
+            gatewayResponse.setErrorBody(e.getMessage());
+            gatewayResponse.setStatusCode(HTTP_NOT_FOUND);
+            return gatewayResponse;
+        } catch (BareThrottledException e) {
+            return throttled(gatewayResponse, e);
         } catch (URISyntaxException | IOException | InterruptedException e) {
             gatewayResponse.setErrorBody(ExceptionUtils.stackTraceInSingleLine(e));
             gatewayResponse.setStatusCode(HTTP_INTERNAL_ERROR);
             return gatewayResponse;
+        } finally {
+            bareConnection.getAuthorityCache().logStatistics();
         }
     }
+
+    /**
+     * Answers a request Bare had no budget for with 429 and a <code>Retry-After</code> header, see
+     * {@link BareRateLimiter}.
+     */
+    private static CustomGatewayResponse throttled(CustomGatewayResponse gatewayResponse, BareThrottledException e) {
+        gatewayResponse.setErrorBody(e.getMessage());
+        gatewayResponse.addHeader(BareThrottledException.RETRY_AFTER_HEADER, e.getRetryAfterSeconds());
+        gatewayResponse.setStatusCode(BareThrottledException.HTTP_TOO_MANY_REQUESTS);
+        return gatewayResponse;
+    }
 }
@@ -0,0 +1,162 @@
+package no.unit.nva.bare;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Secondary index from the feide and orcid identifiers of authorities to their system control number, so that an
+ * authority searched for by identifier can be read by key instead of searching Bare again.
+ *
+ * <p>An identifier is only indexed when a search for it in Bare, made by this instance, found exactly one authority
+ * and that authority has the identifier, so the single hit answered from the index is what the search answered. An
+ * entry expires after <code>IDENTIFIER_INDEX_TTL_SECONDS</code>, which bounds how long the index misses the
+ * identifier being given to a second authority directly in Bare. An entry is dropped when the identifier is removed
+ * from the authority, or added to or read on another authority by this instance, after which the identifier is
+ * searched for again. The authority found must still be checked to have the identifier.
+ */
+public class IdentifierIndex {
+
+    public static final List<ValidIdentifierSource> INDEXED_SOURCES =
+        List.of(ValidIdentifierSource.feide, ValidIdentifierSource.orcid);
+    private static final String KEY_SEPARATOR = ":";
+    private final transient boolean enabled;
+    private final transient Cache<String, String> entries;
+
+    /**
+     * Creates an in-process index configured by <code>IDENTIFIER_INDEX_ENABLED</code>,
+     * <code>IDENTIFIER_INDEX_MAX_SIZE</code> and <code>IDENTIFIER_INDEX_TTL_SECONDS</code>.
+     */
+    public IdentifierIndex() {
+        this(Config.IDENTIFIER_INDEX_ENABLED, Config.IDENTIFIER_INDEX_MAX_SIZE, Config.IDENTIFIER_INDEX_TTL,
+             Ticker.systemTicker());
+    }
+
+    /**
+     * Constructor for testability reasons.
+     *
+     * @param enabled     whether identifiers are indexed and looked up
+     * @param maximumSize maximum number of identifiers kept
+     * @param timeToLive  how long an identifier found unique by a search is looked up
+     * @param ticker      time source
+     */
+    public IdentifierIndex(boolean enabled, long maximumSize, Duration timeToLive, Ticker ticker) {
+        this.enabled = enabled;
+        this.entries = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .ticker(ticker)
+            .build();
+    }
+
+    /**
+     * Finds the system control number of the authority having an identifier.
+     *
+     * @param source     system of the identifier
+     * @param identifier the identifier
+     * @return the system control number, or empty when no recent search found the identifier on one authority only
+     */
+    public Optional<String> lookUp(ValidIdentifierSource source, String identifier) {
+        if (!enabled || !INDEXED_SOURCES.contains(source) || Objects.isNull(identifier)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entries.getIfPresent(key(source.asString(), identifier)));
+    }
+
+    /**
+     * Indexes an identifier from the first page of a search for it in Bare, when the search found exactly one
+     * authority and that authority has the identifier. Otherwise the identifier is dropped from the index.
+     *
+     * @param source       system of the identifier
+     * @param identifier   the identifier searched for
+     * @param searchResult first page of hits of the search
+     */
+    public void confirm(ValidIdentifierSource source, String identifier, BareQueryResponse searchResult) {
+        if (!enabled || !INDEXED_SOURCES.contains(source) || Objects.isNull(identifier)) {
+            return;
+        }
+        String key = key(source.asString(), identifier);
+        Optional<BareAuthority> onlyHit = searchResult.getNumFound() == 1
+                                          && Objects.nonNull(searchResult.results)
+                                          && searchResult.results.length == 1
+                                              ? Optional.ofNullable(searchResult.results[0])
+                                              : Optional.empty();
+        Optional<String> systemControlNumber = onlyHit
+            .filter(hit -> hit.hasIdentifier(new AuthorityIdentifier(source.asString(), identifier.trim())))
+            .map(BareAuthority::getSystemControlNumber);
+        if (systemControlNumber.isPresent()) {
+            entries.put(key, systemControlNumber.get());
+        } else {
+            entries.invalidate(key);
+        }
+    }
+
+    /**
+     * Drops the feide and orcid identifiers of an authority read from Bare that are indexed for another authority,
+     * as they are then on two authorities.
+     *
+     * @param bareAuthority authority as read from Bare
+     */
+    public void reconcile(BareAuthority bareAuthority) {
+        if (!enabled || Objects.isNull(bareAuthority.getSystemControlNumber())) {
+            return;
+        }
+        for (ValidIdentifierSource source : INDEXED_SOURCES) {
+            for (String identifier : bareAuthority.getIdentifiers(source)) {
+                add(bareAuthority.getSystemControlNumber(), source.asString(), identifier);
+            }
+        }
+    }
+
+    /**
+     * Drops an identifier added to an authority if it is indexed for another authority, as it is then on two
+     * authorities. An identifier not indexed is not indexed by adding it, as no search has found it unique.
+     *
+     * @param systemControlNumber system control number of the authority
+     * @param source              system of the identifier
+     * @param identifier          the identifier
+     */
+    public void add(String systemControlNumber, String source, String identifier) {
+        if (!enabled || !isIndexed(source) || Objects.isNull(identifier)) {
+            return;
+        }
+        String key = key(source, identifier);
+        Optional<String> indexed = Optional.ofNullable(entries.getIfPresent(key));
+        if (indexed.isPresent() && !indexed.get().equals(systemControlNumber)) {
+            entries.invalidate(key);
+        }
+    }
+
+    /**
+     * Drops an identifier removed from an authority, unless it is indexed for another authority.
+     *
+     * @param systemControlNumber system control number of the authority
+     * @param source              system of the identifier
+     * @param identifier          the identifier
+     */
+    public void remove(String systemControlNumber, String source, String identifier) {
+        if (!enabled || !isIndexed(source) || Objects.isNull(identifier)) {
+            return;
+        }
+        String key = key(source, identifier);
+        if (systemControlNumber.equals(entries.getIfPresent(key))) {
+            entries.invalidate(key);
+        }
+    }
+
+    public long size() {
+        return entries.size();
+    }
+
+    private static boolean isIndexed(String source) {
+        return INDEXED_SOURCES.stream().anyMatch(indexed -> indexed.asString().equals(source));
+    }
+
+    private static String key(String source, String identifier) {
+        return source + KEY_SEPARATOR + identifier.trim();
+    }
+}
@@ -0,0 +1,142 @@
+package no.unit.nva.bare;
+
+import static java.util.Arrays.asList;
+import static java.util.Objects.isNull;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import nva.commons.core.JacocoGenerated;
+import nva.commons.core.StringUtils;
+
+/**
+ * One identifier change on one authority, as requested in a batch.
+ */
+public class IdentifierOperation {
+
+    public static final String MISSING_SCN = "Missing attribute 'scn'.";
+    public static final String MISSING_OPERATION = "Missing or invalid attribute 'operation'.";
+    public static final String INVALID_QUALIFIER = "Missing or invalid attribute 'qualifier'.";
+    public static final String MISSING_IDENTIFIER = "Missing attribute 'identifier'.";
+    public static final String MISSING_UPDATED_IDENTIFIER = "Missing attribute 'updatedIdentifier'.";
+    public static final List<String> VALID_QUALIFIERS = asList(
+        ValidIdentifierKey.FEIDEID.asString(),
+        ValidIdentifierKey.ORCID.asString(),
+        ValidIdentifierKey.ORGUNITID.asString());
+
+    @JsonProperty("scn")
+    private final String systemControlNumber;
+    @JsonProperty("operation")
+    private final IdentifierOperationType operation;
+    @JsonProperty("qualifier")
+    private final String qualifier;
+    @JsonProperty("identifier")
+    private final String identifier;
+    @JsonProperty("updatedIdentifier")
+    private final String updatedIdentifier;
+
+    /**
+     * Creates an identifier operation.
+     *
+     * @param systemControlNumber systemControlNumber of the authority to change
+     * @param operation           add, delete or update
+     * @param qualifier           feideid, orcid or orgunitid
+     * @param identifier          the identifier to add or delete, or the current value when updating
+     * @param updatedIdentifier   the new value when updating
+     */
+    @JsonCreator
+    public IdentifierOperation(@JsonProperty("scn") String systemControlNumber,
+                               @JsonProperty("operation") IdentifierOperationType operation,
+                               @JsonProperty("qualifier") String qualifier,
+                               @JsonProperty("identifier") String identifier,
+                               @JsonProperty("updatedIdentifier") String updatedIdentifier) {
+        this.systemControlNumber = systemControlNumber;
+        this.operation = operation;
+        this.qualifier = qualifier;
+        this.identifier = identifier;
+        this.updatedIdentifier = updatedIdentifier;
+    }
+
+    public String getSystemControlNumber() {
+        return systemControlNumber;
+    }
+
+    public IdentifierOperationType getOperation() {
+        return operation;
+    }
+
+    public String getQualifier() {
+        return qualifier;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public String getUpdatedIdentifier() {
+        return updatedIdentifier;
+    }
+
+    /**
+     * The identifier source in Bare for the qualifier, which differs from the qualifier for feideid.
+     *
+     * @return the identifier source in Bare
+     */
+    @JsonIgnore
+    public String getSource() {
+        if (ValidIdentifierKey.FEIDEID.asString().equals(qualifier)) {
+            return ValidIdentifierSource.feide.asString();
+        }
+        return qualifier;
+    }
+
+    /**
+     * Checks that the operation has everything needed to run it.
+     *
+     * @return the reason the operation is invalid, or empty when it is valid
+     */
+    public Optional<String> validationError() {
+        if (StringUtils.isBlank(systemControlNumber)) {
+            return Optional.of(MISSING_SCN);
+        }
+        if (isNull(operation)) {
+            return Optional.of(MISSING_OPERATION);
+        }
+        if (!VALID_QUALIFIERS.contains(qualifier)) {
+            return Optional.of(INVALID_QUALIFIER);
+        }
+        if (StringUtils.isBlank(identifier)) {
+            return Optional.of(MISSING_IDENTIFIER);
+        }
+        if (operation == IdentifierOperationType.UPDATE && StringUtils.isBlank(updatedIdentifier)) {
+            return Optional.of(MISSING_UPDATED_IDENTIFIER);
+        }
+        return Optional.empty();
+    }
+
+    @JacocoGenerated
+    @Override
+    public int hashCode() {
+        return Objects.hash(getSystemControlNumber(), getOperation(), getQualifier(), getIdentifier(),
+                            getUpdatedIdentifier());
+    }
+
+    @JacocoGenerated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IdentifierOperation)) {
+            return false;
+        }
+        IdentifierOperation that = (IdentifierOperation) o;
+        return Objects.equals(getSystemControlNumber(), that.getSystemControlNumber())
+               && getOperation() == that.getOperation()
+               && Objects.equals(getQualifier(), that.getQualifier())
+               && Objects.equals(getIdentifier(), that.getIdentifier())
+               && Objects.equals(getUpdatedIdentifier(), that.getUpdatedIdentifier());
+    }
+}
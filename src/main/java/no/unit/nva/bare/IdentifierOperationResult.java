@@ -0,0 +1,100 @@
+package no.unit.nva.bare;
+
+import static java.net.HttpURLConnection.HTTP_OK;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Objects;
+import nva.commons.core.JacocoGenerated;
+import nva.commons.core.JsonSerializable;
+
+/**
+ * Outcome of one operation in a batch of identifier changes, with an HTTP-style status.
+ */
+public class IdentifierOperationResult implements JsonSerializable {
+
+    @JsonProperty("index")
+    private final int index;
+    @JsonProperty("scn")
+    private final String systemControlNumber;
+    @JsonProperty("status")
+    private final int status;
+    @JsonProperty("error")
+    private final String error;
+
+    /**
+     * Creates a result.
+     *
+     * @param index               position of the operation in the request
+     * @param systemControlNumber systemControlNumber of the authority changed
+     * @param status              HTTP-style status of the operation
+     * @param error               error message, when the operation failed
+     */
+    @JsonCreator
+    public IdentifierOperationResult(@JsonProperty("index") int index,
+                                     @JsonProperty("scn") String systemControlNumber,
+                                     @JsonProperty("status") int status,
+                                     @JsonProperty("error") String error) {
+        this.index = index;
+        this.systemControlNumber = systemControlNumber;
+        this.status = status;
+        this.error = error;
+    }
+
+    public static IdentifierOperationResult succeeded(int index, String systemControlNumber) {
+        return new IdentifierOperationResult(index, systemControlNumber, HTTP_OK, null);
+    }
+
+    public static IdentifierOperationResult failed(int index, String systemControlNumber, int status, String error) {
+        return new IdentifierOperationResult(index, systemControlNumber, status, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getSystemControlNumber() {
+        return systemControlNumber;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @JsonIgnore
+    public boolean isSucceeded() {
+        return status == HTTP_OK;
+    }
+
+    @JacocoGenerated
+    @Override
+    public int hashCode() {
+        return Objects.hash(getIndex(), getSystemControlNumber(), getStatus(), getError());
+    }
+
+    @JacocoGenerated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IdentifierOperationResult)) {
+            return false;
+        }
+        IdentifierOperationResult that = (IdentifierOperationResult) o;
+        return getIndex() == that.getIndex()
+               && getStatus() == that.getStatus()
+               && Objects.equals(getSystemControlNumber(), that.getSystemControlNumber())
+               && Objects.equals(getError(), that.getError());
+    }
+
+    @JacocoGenerated
+    @Override
+    public String toString() {
+        return toJsonString();
+    }
+}
@@ -0,0 +1,37 @@
+package no.unit.nva.bare;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.util.Arrays;
+
+public enum IdentifierOperationType {
+
+    ADD("add"),
+    DELETE("delete"),
+    UPDATE("update");
+
+    private final String operation;
+
+    IdentifierOperationType(String operation) {
+        this.operation = operation;
+    }
+
+    @JsonValue
+    public String asString() {
+        return operation;
+    }
+
+    /**
+     * Looks up an operation by its name in requests.
+     *
+     * @param operation name of the operation
+     * @return the operation, or null when there is none by that name
+     */
+    @JsonCreator
+    public static IdentifierOperationType fromString(String operation) {
+        return Arrays.stream(values())
+            .filter(value -> value.operation.equalsIgnoreCase(operation))
+            .findFirst()
+            .orElse(null);
+    }
+}
@@ -1,7 +1,10 @@
 package no.unit.nva.bare;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import nva.commons.core.JacocoGenerated;
 
@@ -14,6 +17,7 @@ public class Marc21 {
     private String ind1;
     private String ind2;
     private Subfield[] subfields;
+    private transient List<Subfield> subfieldList = Collections.emptyList();
 
     @Override
     public boolean equals(Object o) {
@@ -27,13 +31,13 @@ public class Marc21 {
         return Objects.equals(getTag(), marc21.getTag())
             && Objects.equals(getInd1(), marc21.getInd1())
             && Objects.equals(getInd2(), marc21.getInd2())
-            && Arrays.equals(getSubfields(), marc21.getSubfields());
+            && Arrays.equals(subfields, marc21.subfields);
     }
 
     @Override
     public int hashCode() {
         int result = Objects.hash(getTag(), getInd1(), getInd2());
-        result = 31 * result + Arrays.hashCode(getSubfields());
+        result = 31 * result + Arrays.hashCode(subfields);
         return result;
     }
 
@@ -43,7 +47,7 @@ public class Marc21 {
               + "tag='" + getTag() + '\''
               + ", ind1='" + getInd1() + '\''
               + ", ind2='" + getInd2() + '\''
-              + ", subfields=" + Arrays.toString(getSubfields())
+              + ", subfields=" + Arrays.toString(subfields)
               + '}';
     }
 
@@ -77,5 +81,17 @@ public class Marc21 {
 
     public void setSubfields(Subfield...subfields) {
         this.subfields = subfields.clone();
+        this.subfieldList = Collections.unmodifiableList(Arrays.asList(this.subfields));
+    }
+
+    /**
+     * Read-only view of the subfields. Unlike {@link #getSubfields()} it does not copy them, so it is the one to use
+     * when going through the marc fields of many authorities.
+     *
+     * @return the subfields, in the order Bare has them
+     */
+    @JsonIgnore
+    public List<Subfield> getSubfieldList() {
+        return subfieldList;
     }
 }
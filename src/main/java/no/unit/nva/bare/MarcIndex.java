@@ -0,0 +1,73 @@
+package no.unit.nva.bare;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toUnmodifiableList;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Values of the marc subfields of an authority, looked up by field tag and subfield code.
+ *
+ * <p>The index is built once from the marc fields, after which looking up a subfield does not go through the fields
+ * again. Values keep the order in which they appear in the marc fields.
+ */
+public final class MarcIndex {
+
+    private static final MarcIndex EMPTY = new MarcIndex(Collections.emptyMap());
+    private final transient Map<String, Map<String, List<String>>> valuesByTagAndSubcode;
+
+    private MarcIndex(Map<String, Map<String, List<String>>> valuesByTagAndSubcode) {
+        this.valuesByTagAndSubcode = valuesByTagAndSubcode;
+    }
+
+    /**
+     * Builds the index of the given marc fields. Fields or subfields missing their tag, code or value are left out.
+     *
+     * @param marcdata marc fields of an authority, may be null
+     * @return the index
+     */
+    public static MarcIndex of(Marc21... marcdata) {
+        if (Objects.isNull(marcdata)) {
+            return EMPTY;
+        }
+        return new MarcIndex(Arrays.stream(marcdata)
+            .filter(marc -> Objects.nonNull(marc) && Objects.nonNull(marc.getTag()))
+            .flatMap(marc -> marc.getSubfieldList().stream()
+                .map(subfield -> new SimpleImmutableEntry<>(marc.getTag(), subfield)))
+            .filter(entry -> Objects.nonNull(entry.getValue().getSubcode())
+                             && Objects.nonNull(entry.getValue().getValue()))
+            .collect(groupingBy(SimpleImmutableEntry::getKey,
+                                groupingBy(entry -> entry.getValue().getSubcode(),
+                                           mapping(entry -> entry.getValue().getValue(), toUnmodifiableList())))));
+    }
+
+    /**
+     * All values of a subfield, over all fields with the given tag.
+     *
+     * @param tag     marc field tag, e.g. 100
+     * @param subcode subfield code, e.g. a
+     * @return the values, or an empty list when there are none
+     */
+    public List<String> getValues(String tag, String subcode) {
+        return valuesByTagAndSubcode.getOrDefault(tag, Collections.emptyMap())
+            .getOrDefault(subcode, Collections.emptyList());
+    }
+
+    /**
+     * The first value of a subfield, over all fields with the given tag.
+     *
+     * @param tag     marc field tag, e.g. 100
+     * @param subcode subfield code, e.g. a
+     * @return the first value, or empty when there is none
+     */
+    public Optional<String> getFirstValue(String tag, String subcode) {
+        List<String> values = getValues(tag, subcode);
+        return values.isEmpty() ? Optional.empty() : Optional.of(values.get(0));
+    }
+}
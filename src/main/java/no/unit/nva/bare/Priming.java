@@ -0,0 +1,120 @@
+package no.unit.nva.bare;
+
+import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import static no.unit.nva.bare.ApplicationConfig.selectiveBareObjectMapper;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import nva.commons.core.JacocoGenerated;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Work done during function init so that the first request does not pay for it: loading and warming the classes used
+ * to read, convert and write authorities, and opening the connection to Bare.
+ *
+ * <p>Priming runs once per JVM, when the Lambda handlers create their {@link BareConnection}, and only when
+ * <code>PRIMING_ENABLED</code> is set or the function runs in Lambda. With SnapStart the primed state is part of the
+ * snapshot; after restore the http client is renewed and the connection to Bare opened again, as connections do not
+ * survive the snapshot.
+ */
+public final class Priming implements Resource {
+
+    public static final String PRIMED_MESSAGE = "Primed in {} ms, connection to Bare answered {}";
+    public static final String CONNECTION_NOT_PRIMED_MESSAGE = "Could not open connection to Bare while priming: {}";
+    public static final String RESTORED_MESSAGE = "Restored from snapshot, connection to Bare answered {}";
+    public static final String PRIMING_NAME = "Moser, May-Britt";
+    public static final String PRIMING_SCN = "0";
+    public static final int NO_ANSWER = -1;
+    private static final AtomicBoolean primed = new AtomicBoolean();
+    private static final Logger logger = LoggerFactory.getLogger(Priming.class);
+    // CRaC keeps weak references to registered resources
+    private static final AtomicReference<Priming> registered = new AtomicReference<>();
+    private final transient BareConnection bareConnection;
+
+    Priming(BareConnection bareConnection) {
+        this.bareConnection = bareConnection;
+    }
+
+    /**
+     * Primes the classes and the given connection, and registers for the checkpoint and restore of the function.
+     * Does nothing if priming is disabled or has been done.
+     *
+     * @param bareConnection connection to Bare used by the handler
+     */
+    public static void prime(BareConnection bareConnection) {
+        if (!Config.PRIMING_ENABLED || !primed.compareAndSet(false, true)) {
+            return;
+        }
+        long started = System.nanoTime();
+        primeConversion();
+        int answer = primeConnection(bareConnection);
+        logger.info(PRIMED_MESSAGE, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), answer);
+        register(new Priming(bareConnection));
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        primeConversion();
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        bareConnection.renewHttpClient();
+        logger.info(RESTORED_MESSAGE, primeConnection(bareConnection));
+    }
+
+    /**
+     * Reads, converts and writes an authority the way the handlers do.
+     *
+     * @return the converted authority written as json
+     */
+    static String primeConversion() {
+        AuthorityConverter converter = new AuthorityConverter();
+        BareAuthority bareAuthority = converter.buildAuthority(PRIMING_NAME);
+        bareAuthority.setSystemControlNumber(PRIMING_SCN);
+        bareAuthority.setIdentifiersMap(Map.of(ValidIdentifierSource.feide.asString(), List.of(PRIMING_NAME)));
+        try {
+            String bareJson = defaultRestObjectMapper.writeValueAsString(bareAuthority);
+            defaultRestObjectMapper.readValue(bareJson, BareAuthority.class);
+            BareAuthority selectiveRead = selectiveBareObjectMapper.readValue(bareJson, BareAuthority.class);
+            BareQueryResponse bareQueryResponse = new BareQueryResponse();
+            bareQueryResponse.results = new BareAuthority[]{selectiveRead};
+            return converter.extractAuthoritiesAsJson(bareQueryResponse)
+                   + defaultRestObjectMapper.writeValueAsString(converter.asAuthority(selectiveRead));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Opens the connection to Bare. A failure is logged and does not stop the function from starting.
+     *
+     * @param bareConnection connection to Bare
+     * @return status code of Bare's answer, or {@link #NO_ANSWER}
+     */
+    static int primeConnection(BareConnection bareConnection) {
+        try {
+            return bareConnection.warmUp();
+        } catch (IOException | URISyntaxException e) {
+            logger.warn(CONNECTION_NOT_PRIMED_MESSAGE, e.getMessage());
+            return NO_ANSWER;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return NO_ANSWER;
+        }
+    }
+
+    @JacocoGenerated
+    private static void register(Priming priming) {
+        registered.set(priming);
+        Core.getGlobalContext().register(priming);
+    }
+}
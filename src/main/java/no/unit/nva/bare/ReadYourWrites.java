@@ -0,0 +1,110 @@
+package no.unit.nva.bare;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides whether the authority Bare holds after an identifier has been added or deleted is derived locally, instead
+ * of being read from Bare again, and how often a derived authority is checked against what Bare actually returns.
+ *
+ * <p>An authority is only derived from a copy read from Bare earlier in the same invocation, never from a cached copy
+ * that may be older than a change made elsewhere, and the derived authority is served to the rest of that invocation
+ * only, see {@link BareConnection#beginInvocation()}. Deriving is off by default.
+ *
+ * <p>A checked authority is not kept; the next read of it goes to Bare and is compared with the derived one. A
+ * mismatch is logged so that a verification rate above zero shows whether deriving can be trusted.
+ */
+public class ReadYourWrites {
+
+    public static final String MISMATCH_MESSAGE =
+        "Derived authority differs from authority read from Bare, scn={} derived={} read={}";
+    private static final Logger logger = LoggerFactory.getLogger(ReadYourWrites.class);
+    private final transient boolean deriveLocally;
+    private final transient double verificationRate;
+    private final transient DoubleSupplier random;
+    private final transient AtomicLong verificationCount = new AtomicLong();
+    private final transient AtomicLong mismatchCount = new AtomicLong();
+
+    /**
+     * Creates a policy with mode and verification rate read from the environment.
+     */
+    public ReadYourWrites() {
+        this(Config.DERIVE_AUTHORITY_AFTER_MUTATION, Config.DERIVED_AUTHORITY_VERIFICATION_RATE);
+    }
+
+    public ReadYourWrites(boolean deriveLocally, double verificationRate) {
+        this(deriveLocally, verificationRate, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * Constructor for testability reasons.
+     *
+     * @param deriveLocally    whether the authority after a mutation is derived from the one read before it
+     * @param verificationRate fraction, from 0 to 1, of derived authorities checked against Bare
+     * @param random           source of numbers from 0 (inclusive) to 1 (exclusive) used for sampling
+     */
+    public ReadYourWrites(boolean deriveLocally, double verificationRate, DoubleSupplier random) {
+        this.deriveLocally = deriveLocally;
+        this.verificationRate = verificationRate;
+        this.random = random;
+    }
+
+    public boolean isDeriveLocally() {
+        return deriveLocally;
+    }
+
+    /**
+     * Samples whether a derived authority is checked against Bare.
+     *
+     * @return <code>TRUE</code> if the derived authority should be checked
+     */
+    public boolean shouldVerify() {
+        return verificationRate > 0 && random.getAsDouble() < verificationRate;
+    }
+
+    /**
+     * Compares the identifiers of a derived authority with those of the authority read from Bare.
+     *
+     * @param systemControlNumber scn
+     * @param derived             authority derived locally after the mutation
+     * @param read                authority read from Bare after the mutation
+     * @return <code>TRUE</code> if both have the same identifiers
+     */
+    public boolean verify(String systemControlNumber, BareAuthority derived, BareAuthority read) {
+        verificationCount.incrementAndGet();
+        if (identifiers(derived).equals(identifiers(read))) {
+            return true;
+        }
+        mismatchCount.incrementAndGet();
+        logger.warn(MISMATCH_MESSAGE, systemControlNumber, derived.getIdentifiersMap(), read.getIdentifiersMap());
+        return false;
+    }
+
+    public long getVerificationCount() {
+        return verificationCount.get();
+    }
+
+    public long getMismatchCount() {
+        return mismatchCount.get();
+    }
+
+    /**
+     * Bare leaves out systems without identifiers and does not promise any order of identifiers.
+     */
+    private static Map<String, Set<String>> identifiers(BareAuthority authority) {
+        Map<String, List<String>> identifiersMap =
+            Optional.ofNullable(authority.getIdentifiersMap()).orElse(Map.of());
+        return identifiersMap.entrySet().stream()
+            .filter(entry -> Objects.nonNull(entry.getValue()) && !entry.getValue().isEmpty())
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> Set.copyOf(entry.getValue())));
+    }
+}
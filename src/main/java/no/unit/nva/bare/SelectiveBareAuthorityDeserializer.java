@@ -0,0 +1,163 @@
+package no.unit.nva.bare;
+
+import static java.util.Objects.nonNull;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads an authority record from Bare keeping only what is needed to convert it to an {@link Authority}.
+ *
+ * <p>Only the marc fields with the given tags are kept. The subfields of other marc fields are skipped by the parser
+ * without creating objects for them, as are the record properties {@link BareAuthority} does not have. Records read
+ * this way are incomplete; read them with the default object mapper when the whole marc record is needed.
+ */
+public class SelectiveBareAuthorityDeserializer extends StdDeserializer<BareAuthority> {
+
+    public static final String AUTHORITY_TYPE = "authorityType";
+    public static final String STATUS = "status";
+    public static final String SYSTEM_CONTROL_NUMBER = "systemControlNumber";
+    public static final String IDENTIFIERS_MAP = "identifiersMap";
+    public static final String MARCDATA = "marcdata";
+    public static final String TAG = "tag";
+    public static final String IND1 = "ind1";
+    public static final String IND2 = "ind2";
+    public static final String SUBFIELDS = "subfields";
+    private static final long serialVersionUID = 1L;
+    private static final JavaType IDENTIFIERS_MAP_TYPE = TypeFactory.defaultInstance().constructMapType(
+        HashMap.class,
+        TypeFactory.defaultInstance().constructType(String.class),
+        TypeFactory.defaultInstance().constructCollectionType(List.class, String.class));
+    private final transient Set<String> marcTags;
+
+    /**
+     * Creates a deserializer keeping the marc fields read by {@link AuthorityConverter}.
+     */
+    public SelectiveBareAuthorityDeserializer() {
+        this(Set.of(AuthorityConverter.MARC_TAG_PERSONAL_NAME_FIELD_CODE));
+    }
+
+    /**
+     * Creates a deserializer keeping the marc fields with the given tags.
+     *
+     * @param marcTags tags of the marc fields to keep
+     */
+    public SelectiveBareAuthorityDeserializer(Set<String> marcTags) {
+        super(BareAuthority.class);
+        this.marcTags = Set.copyOf(marcTags);
+    }
+
+    @Override
+    public BareAuthority deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        }
+        if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (BareAuthority) context.handleUnexpectedToken(BareAuthority.class, parser);
+        }
+        BareAuthority authority = new BareAuthority();
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String property = parser.getCurrentName();
+            parser.nextToken();
+            switch (property) {
+                case AUTHORITY_TYPE:
+                    authority.setAuthorityType(parser.getValueAsString());
+                    break;
+                case STATUS:
+                    authority.setStatus(parser.getValueAsString());
+                    break;
+                case SYSTEM_CONTROL_NUMBER:
+                    authority.setSystemControlNumber(parser.getValueAsString());
+                    break;
+                case IDENTIFIERS_MAP:
+                    authority.setIdentifiersMap(readIdentifiersMap(parser, context));
+                    break;
+                case MARCDATA:
+                    authority.setMarcdata(readMarcdata(parser, context));
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return authority;
+    }
+
+    private static Map<String, List<String>> readIdentifiersMap(JsonParser parser, DeserializationContext context)
+        throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL
+                   ? new HashMap<>()
+                   : context.readValue(parser, IDENTIFIERS_MAP_TYPE);
+    }
+
+    private Marc21[] readMarcdata(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return new Marc21[0];
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            return (Marc21[]) context.handleUnexpectedToken(Marc21[].class, parser);
+        }
+        List<Marc21> kept = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                Marc21 marc = readMarc(parser, context);
+                if (isKept(marc.getTag())) {
+                    kept.add(marc);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return kept.toArray(new Marc21[0]);
+    }
+
+    /**
+     * Subfields are bound only when the tag is wanted or not yet known, Bare sends the tag first.
+     */
+    private Marc21 readMarc(JsonParser parser, DeserializationContext context) throws IOException {
+        Marc21 marc = new Marc21();
+        Subfield[] subfields = new Subfield[0];
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String property = parser.getCurrentName();
+            parser.nextToken();
+            switch (property) {
+                case TAG:
+                    marc.setTag(parser.getValueAsString());
+                    break;
+                case IND1:
+                    marc.setInd1(parser.getValueAsString());
+                    break;
+                case IND2:
+                    marc.setInd2(parser.getValueAsString());
+                    break;
+                case SUBFIELDS:
+                    if (parser.currentToken() == JsonToken.VALUE_NULL
+                        || (nonNull(marc.getTag()) && !isKept(marc.getTag()))) {
+                        parser.skipChildren();
+                    } else {
+                        subfields = context.readValue(parser, Subfield[].class);
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        marc.setSubfields(subfields);
+        return marc;
+    }
+
+    private boolean isKept(String tag) {
+        return nonNull(tag) && marcTags.contains(tag);
+    }
+}
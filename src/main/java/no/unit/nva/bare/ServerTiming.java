@@ -0,0 +1,169 @@
+package no.unit.nva.bare;
+
+import static java.util.Objects.nonNull;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Time spent by one request in the phases of a handler: parsing the event, waiting for a permit of the rate limiter,
+ * waiting for Bare, converting authorities and serializing the response. Written as a <code>Server-Timing</code> header
+ * and as one log line per request, so a slow request can be attributed to the proxy or to Bare without tracing.
+ *
+ * <p>The timing of the request being handled is kept per thread. Each request to Bare adds its own time once, also
+ * when it completes on another thread, so in a batch whose requests run concurrently <code>bare</code> is their sum
+ * and may be more than <code>total</code>.
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+    public static final String TOTAL = "total";
+    public static final String TIMING_MESSAGE =
+        "timing handler={} parse={} queue={} bare={} convert={} serialize={} total={}";
+    private static final String METRIC_FORMAT = "%s;dur=%.1f";
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+    private static final Logger logger = LoggerFactory.getLogger(ServerTiming.class);
+
+    private final transient long startedNanos;
+    private final transient AtomicLongArray phaseNanos = new AtomicLongArray(Phase.values().length);
+    private transient boolean serializing;
+    private transient long serializingSinceNanos;
+
+    private ServerTiming(long startedNanos) {
+        this.startedNanos = startedNanos;
+    }
+
+    /**
+     * Starts timing the request handled by the current thread.
+     *
+     * @return the timing of the request
+     */
+    public static ServerTiming start() {
+        ServerTiming timing = new ServerTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * Timing of the request handled by the current thread.
+     *
+     * @return the timing, empty outside of a handler
+     */
+    public static Optional<ServerTiming> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Adds the time since <code>startedNanos</code> to a phase of the request handled by the current thread, if any.
+     *
+     * @param phase        phase of the request
+     * @param startedNanos {@link System#nanoTime()} when the phase started
+     */
+    public static void record(Phase phase, long startedNanos) {
+        ServerTiming timing = CURRENT.get();
+        if (nonNull(timing)) {
+            timing.add(phase, System.nanoTime() - startedNanos);
+        }
+    }
+
+    /**
+     * Headers with the timing of the request handled by the current thread.
+     *
+     * @return the <code>Server-Timing</code> header, or no headers outside of a handler
+     */
+    public static Map<String, String> currentHeaders() {
+        return current()
+            .map(timing -> Map.of(HEADER, timing.toHeaderValue()))
+            .orElse(Collections.emptyMap());
+    }
+
+    /**
+     * Adds time to a phase, from any thread.
+     *
+     * @param phase phase of the request
+     * @param nanos time spent in the phase
+     */
+    public void add(Phase phase, long nanos) {
+        phaseNanos.addAndGet(phase.ordinal(), nanos);
+    }
+
+    /**
+     * Marks the start of serializing a response written by the caller of the handler, counted as serialization until
+     * {@link #finish(String)}.
+     */
+    public void startSerializing() {
+        serializing = true;
+        serializingSinceNanos = System.nanoTime();
+    }
+
+    public long getStartedNanos() {
+        return startedNanos;
+    }
+
+    /**
+     * Time spent so far, as the value of a <code>Server-Timing</code> header. Phases without time are left out.
+     *
+     * @return the phases and the total in milliseconds, e.g. <code>parse;dur=0.4, bare;dur=52.1, total;dur=54.0</code>
+     */
+    public String toHeaderValue() {
+        StringJoiner value = new StringJoiner(", ");
+        for (Phase phase : Phase.values()) {
+            long nanos = phaseNanos.get(phase.ordinal());
+            if (nanos > 0) {
+                value.add(String.format(Locale.ROOT, METRIC_FORMAT, phase.asString(), toMillis(nanos)));
+            }
+        }
+        value.add(String.format(Locale.ROOT, METRIC_FORMAT, TOTAL, toMillis(System.nanoTime() - startedNanos)));
+        return value.toString();
+    }
+
+    /**
+     * Logs the time spent by the request and stops timing it.
+     *
+     * @param handler name of the handler
+     */
+    public void finish(String handler) {
+        if (serializing) {
+            add(Phase.SERIALIZE, System.nanoTime() - serializingSinceNanos);
+        }
+        logger.info(TIMING_MESSAGE, handler, phaseMillis(Phase.PARSE), phaseMillis(Phase.QUEUE),
+                    phaseMillis(Phase.BARE), phaseMillis(Phase.CONVERT), phaseMillis(Phase.SERIALIZE),
+                    toMillis(System.nanoTime() - startedNanos));
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    private double phaseMillis(Phase phase) {
+        return toMillis(phaseNanos.get(phase.ordinal()));
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / NANOS_PER_MILLI * 10) / 10.0;
+    }
+
+    public enum Phase {
+        PARSE("parse"),
+        QUEUE("queue"),
+        BARE("bare"),
+        CONVERT("convert"),
+        SERIALIZE("serialize");
+
+        private final String name;
+
+        Phase(String name) {
+            this.name = name;
+        }
+
+        public String asString() {
+            return name;
+        }
+    }
+}
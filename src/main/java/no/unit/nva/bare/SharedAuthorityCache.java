@@ -0,0 +1,132 @@
+package no.unit.nva.bare;
+
+import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import no.unit.nva.bare.store.KeyValueStore;
+import no.unit.nva.bare.store.RedisKeyValueStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Second tier of the authority cache, shared by all function instances, consulted when an authority is not in the
+ * {@link AuthorityCache} of the instance and before reading it from Bare. Authorities are kept as json, keyed by
+ * system control number, in a {@link KeyValueStore}.
+ *
+ * <p>Only authorities read from Bare are written. An identifier mutation removes the authority from this tier and from
+ * the in-process cache of the instance making it, but other instances keep serving their in-process copy until it
+ * expires: after <code>AUTHORITY_CACHE_TTL_SECONDS</code> for an authority they read from Bare, after the shorter
+ * <code>AUTHORITY_SHARED_COPY_TTL_SECONDS</code> for one they read from this tier. A store that cannot be reached is
+ * logged and treated as a miss, so it never fails a request. The tier is disabled when
+ * <code>SHARED_CACHE_ADDRESS</code> is not set.
+ */
+public class SharedAuthorityCache {
+
+    public static final String KEY_PREFIX = "authority:";
+    public static final String STORE_FAILED_MESSAGE = "SharedAuthorityCache {} failed for scn={}: {}";
+    private static final Logger logger = LoggerFactory.getLogger(SharedAuthorityCache.class);
+    private final transient Optional<KeyValueStore> store;
+    private final transient LongAdder hits = new LongAdder();
+    private final transient LongAdder misses = new LongAdder();
+
+    /**
+     * Creates the tier configured by <code>SHARED_CACHE_ADDRESS</code>, <code>SHARED_CACHE_TTL_SECONDS</code> and
+     * <code>SHARED_CACHE_TIMEOUT_MILLIS</code>.
+     */
+    public SharedAuthorityCache() {
+        this(Optional.of(Config.SHARED_CACHE_ADDRESS)
+                 .filter(address -> !address.isBlank())
+                 .map(address -> new RedisKeyValueStore(address, Config.SHARED_CACHE_TTL,
+                                                        Config.SHARED_CACHE_TIMEOUT)));
+    }
+
+    /**
+     * Constructor for testability reasons.
+     *
+     * @param store where the authorities are kept
+     */
+    public SharedAuthorityCache(KeyValueStore store) {
+        this(Optional.of(store));
+    }
+
+    private SharedAuthorityCache(Optional<? extends KeyValueStore> store) {
+        this.store = store.map(KeyValueStore.class::cast);
+    }
+
+    public boolean isEnabled() {
+        return store.isPresent();
+    }
+
+    /**
+     * Reads an authority written by any function instance.
+     *
+     * @param systemControlNumber scn
+     * @return the authority, or empty when it is not kept, the tier is disabled or the store failed
+     */
+    public Optional<BareAuthority> get(String systemControlNumber) {
+        if (store.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            Optional<String> json = store.get().get(key(systemControlNumber));
+            if (json.isEmpty()) {
+                misses.increment();
+                return Optional.empty();
+            }
+            BareAuthority bareAuthority = defaultRestObjectMapper.readValue(json.get(), BareAuthority.class);
+            hits.increment();
+            return Optional.of(bareAuthority);
+        } catch (UncheckedIOException | JsonProcessingException e) {
+            logger.warn(STORE_FAILED_MESSAGE, "get", systemControlNumber, e.getMessage());
+            misses.increment();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes an authority as read from Bare.
+     *
+     * @param systemControlNumber scn
+     * @param bareAuthority       the authority
+     */
+    public void put(String systemControlNumber, BareAuthority bareAuthority) {
+        if (store.isEmpty()) {
+            return;
+        }
+        try {
+            store.get().put(key(systemControlNumber), defaultRestObjectMapper.writeValueAsString(bareAuthority));
+        } catch (UncheckedIOException | JsonProcessingException e) {
+            logger.warn(STORE_FAILED_MESSAGE, "put", systemControlNumber, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes an authority, so that function instances not holding it in process read it from Bare again.
+     *
+     * @param systemControlNumber scn
+     */
+    public void invalidate(String systemControlNumber) {
+        if (store.isEmpty()) {
+            return;
+        }
+        try {
+            store.get().remove(key(systemControlNumber));
+        } catch (UncheckedIOException e) {
+            logger.warn(STORE_FAILED_MESSAGE, "invalidate", systemControlNumber, e.getMessage());
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private static String key(String systemControlNumber) {
+        return KEY_PREFIX + systemControlNumber;
+    }
+}
@@ -0,0 +1,98 @@
+package no.unit.nva.bare;
+
+import static java.util.Objects.nonNull;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into one in-flight call whose result is shared by all callers.
+ *
+ * <p>The first caller for a key performs the call, callers arriving while it is in flight wait for and receive the
+ * same result or failure. Nothing is remembered once the call has completed, so a later caller triggers a new call.
+ * Synchronous and asynchronous callers for the same key share the same in-flight call.
+ *
+ * @param <K> key identifying equivalent calls
+ * @param <V> result of the call
+ */
+public class SingleFlight<K, V> {
+
+    private final transient ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Performs the call on the calling thread, or waits for an equivalent call already in flight.
+     *
+     * @param key  key identifying equivalent calls
+     * @param call the call to perform when none is in flight
+     * @return the result of the call
+     * @throws Exception the exception thrown by the call
+     */
+    public V execute(K key, Callable<V> call) throws Exception {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (nonNull(existing)) {
+            return await(existing);
+        }
+        try {
+            V value = call.call();
+            promise.complete(value);
+            return value;
+        } catch (Exception e) {
+            promise.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, promise);
+        }
+    }
+
+    /**
+     * Starts the call, or joins an equivalent call already in flight.
+     *
+     * @param key  key identifying equivalent calls
+     * @param call starts the call when none is in flight
+     * @return future completing with the result of the call
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (nonNull(existing)) {
+            return existing;
+        }
+        CompletableFuture<V> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(key, promise);
+            promise.completeExceptionally(e);
+            return promise;
+        }
+        started.whenComplete((value, failure) -> {
+            inFlight.remove(key, promise);
+            if (nonNull(failure)) {
+                promise.completeExceptionally(failure);
+            } else {
+                promise.complete(value);
+            }
+        });
+        return promise;
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> existing) throws Exception {
+        try {
+            return existing.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+}
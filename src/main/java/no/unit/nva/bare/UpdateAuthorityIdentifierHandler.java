@@ -10,7 +10,6 @@ import java.net.http.HttpResponse;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import nva.commons.apigateway.ApiGatewayHandler;
 import nva.commons.apigateway.RequestInfo;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
 import nva.commons.apigateway.exceptions.BadRequestException;
@@ -24,7 +23,7 @@ import org.slf4j.LoggerFactory;
 /**
  * Handler for requests to Lambda function.
  */
-public class UpdateAuthorityIdentifierHandler extends ApiGatewayHandler<UpdateAuthorityIdentifierRequest, Authority> {
+public class UpdateAuthorityIdentifierHandler extends BareProxyHandler<UpdateAuthorityIdentifierRequest, Authority> {
 
     public static final String MISSING_PATH_PARAMETER_SCN = "Missing path parameter 'scn'.";
     public static final String MISSING_PATH_PARAMETER_QUALIFIER = "Missing path parameter 'qualifier'.";
@@ -44,7 +43,6 @@ public class UpdateAuthorityIdentifierHandler extends ApiGatewayHandler<UpdateAu
             ValidIdentifierKey.ORCID.asString(),
             ValidIdentifierKey.ORGUNITID.asString());
 
-    private final transient BareConnection bareConnection;
     private static final Logger logger = LoggerFactory.getLogger(UpdateAuthorityIdentifierHandler.class);
 
     /**
@@ -62,13 +60,12 @@ public class UpdateAuthorityIdentifierHandler extends ApiGatewayHandler<UpdateAu
      * @param bareConnection bareConnection
      */
     public UpdateAuthorityIdentifierHandler(BareConnection bareConnection) {
-        super(UpdateAuthorityIdentifierRequest.class, new Environment());
-        this.bareConnection = bareConnection;
+        super(UpdateAuthorityIdentifierRequest.class, new Environment(), bareConnection);
     }
 
     @Override
-    protected Authority processInput(UpdateAuthorityIdentifierRequest input, RequestInfo requestInfo,
-                                     Context context) throws ApiGatewayException {
+    protected Authority processRequest(UpdateAuthorityIdentifierRequest input, RequestInfo requestInfo,
+                                       Context context) throws ApiGatewayException {
 
         validateInput(input, requestInfo.getPathParameters());
 
@@ -127,7 +124,7 @@ public class UpdateAuthorityIdentifierHandler extends ApiGatewayHandler<UpdateAu
             }
         } catch (IOException | URISyntaxException | InterruptedException e) {
             logger.error(e.getMessage(), e);
-            throw new BareException(e.getMessage());
+            throw BareException.from(e);
         }
     }
 
@@ -145,7 +142,7 @@ public class UpdateAuthorityIdentifierHandler extends ApiGatewayHandler<UpdateAu
             }
         } catch (IOException | URISyntaxException e) {
             logger.error(e.getMessage(), e);
-            throw new BareException(e.getMessage());
+            throw BareException.from(e);
         }
     }
 
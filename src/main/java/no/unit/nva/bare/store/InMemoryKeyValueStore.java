@@ -0,0 +1,44 @@
+package no.unit.nva.bare.store;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Optional;
+
+/**
+ * {@link KeyValueStore} held in process, evicting the least recently used keys when full. It lives as long as its
+ * owner, so it survives between warm invocations of the same Lambda container but is not shared between containers.
+ */
+public class InMemoryKeyValueStore implements KeyValueStore {
+
+    private final transient Cache<String, String> values;
+
+    /**
+     * Creates an empty store.
+     *
+     * @param maximumSize maximum number of keys kept
+     */
+    public InMemoryKeyValueStore(long maximumSize) {
+        this.values = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .build();
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(values.getIfPresent(key));
+    }
+
+    @Override
+    public void put(String key, String value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public void remove(String key) {
+        values.invalidate(key);
+    }
+
+    public long size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,32 @@
+package no.unit.nva.bare.store;
+
+import java.util.Optional;
+
+/**
+ * String keys mapped to string values, kept in process or in a store shared by many function instances.
+ */
+public interface KeyValueStore {
+
+    /**
+     * Reads the value of a key.
+     *
+     * @param key the key
+     * @return the value, or empty when the key has none
+     */
+    Optional<String> get(String key);
+
+    /**
+     * Sets the value of a key, replacing any value it had.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    void put(String key, String value);
+
+    /**
+     * Removes a key and its value, if present.
+     *
+     * @param key the key
+     */
+    void remove(String key);
+}
@@ -0,0 +1,35 @@
+package no.unit.nva.bare.tracing;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the ended subsegments in memory, sampled or not, so traces can be inspected in tests without AWS.
+ */
+public class InMemoryTraceRecorder extends TraceRecorder {
+
+    private final Queue<Subsegment> subsegments = new ConcurrentLinkedQueue<>();
+
+    @Override
+    protected void record(Subsegment subsegment) {
+        subsegments.add(subsegment);
+    }
+
+    /**
+     * The ended subsegments with the given name, in the order they ended.
+     *
+     * @param name name of the subsegments
+     * @return the subsegments
+     */
+    public List<Subsegment> getSubsegments(String name) {
+        return subsegments.stream()
+            .filter(subsegment -> subsegment.getName().equals(name))
+            .collect(Collectors.toList());
+    }
+
+    public List<Subsegment> getSubsegments() {
+        return List.copyOf(subsegments);
+    }
+}
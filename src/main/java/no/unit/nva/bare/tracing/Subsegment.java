@@ -0,0 +1,245 @@
+package no.unit.nva.bare.tracing;
+
+import static java.util.Objects.nonNull;
+import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A timed part of an X-Ray trace, such as the handling of a request or one request to Bare, written as an X-Ray
+ * segment document of type subsegment when it ends.
+ */
+public class Subsegment {
+
+    public static final String REMOTE = "remote";
+    private static final String TRACE_HEADER_SEPARATOR = ";";
+    private static final String TRACE_HEADER_ASSIGNMENT = "=";
+    private static final String ROOT = "Root";
+    private static final String PARENT = "Parent";
+    private static final String SAMPLED = "Sampled";
+    private static final String SAMPLED_YES = "1";
+    private static final int HTTP_CLIENT_ERROR = 400;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int HTTP_SERVER_ERROR = 500;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final transient String name;
+    private final transient String id;
+    private final transient String traceId;
+    private final transient String parentId;
+    private final transient boolean sampled;
+    private final transient double startTime;
+    private final transient Map<String, Object> annotations = new ConcurrentHashMap<>();
+    private final transient AtomicReference<Double> endTime = new AtomicReference<>();
+    private transient String namespace;
+    private transient String httpMethod;
+    private transient Integer httpStatus;
+    private transient boolean error;
+    private transient boolean fault;
+    private transient boolean throttle;
+    private transient Throwable cause;
+
+    protected Subsegment(String name, String traceId, String parentId, boolean sampled) {
+        this.name = name;
+        this.id = String.format("%016x", ThreadLocalRandom.current().nextLong());
+        this.traceId = traceId;
+        this.parentId = parentId;
+        this.sampled = sampled;
+        this.startTime = now();
+    }
+
+    /**
+     * Begins a subsegment of the Lambda function's segment given by an X-Ray trace header.
+     *
+     * @param name        name of the subsegment
+     * @param traceHeader header like <code>Root=1-5759e988-bd862e3fe1be46a994272793;Parent=53995c3f42cd8ad8;Sampled=1
+     *                    </code>, or null outside of a traced invocation
+     * @return the subsegment, not sampled when there is no trace header
+     */
+    public static Subsegment ofTraceHeader(String name, String traceHeader) {
+        Map<String, String> fields = new ConcurrentHashMap<>();
+        if (nonNull(traceHeader)) {
+            for (String field : traceHeader.split(TRACE_HEADER_SEPARATOR)) {
+                String[] keyAndValue = field.trim().split(TRACE_HEADER_ASSIGNMENT, 2);
+                if (keyAndValue.length == 2) {
+                    fields.put(keyAndValue[0], keyAndValue[1]);
+                }
+            }
+        }
+        String traceId = fields.get(ROOT);
+        boolean sampled = nonNull(traceId) && SAMPLED_YES.equals(fields.get(SAMPLED));
+        return new Subsegment(name, traceId, fields.get(PARENT), sampled);
+    }
+
+    /**
+     * Begins a subsegment of this subsegment.
+     *
+     * @param childName name of the subsegment
+     * @return the subsegment, in the same trace
+     */
+    public Subsegment child(String childName) {
+        return new Subsegment(childName, traceId, id, sampled);
+    }
+
+    /**
+     * Adds an annotation, which X-Ray indexes so traces can be filtered by it.
+     *
+     * @param key   letters, digits and underscores
+     * @param value a String, Number or Boolean
+     */
+    public void annotate(String key, Object value) {
+        annotations.put(key, value);
+    }
+
+    /**
+     * Adds one to a numeric annotation, starting from zero.
+     *
+     * @param key letters, digits and underscores
+     */
+    public void increment(String key) {
+        annotations.merge(key, 1L, (count, one) -> ((Number) count).longValue() + ((Number) one).longValue());
+    }
+
+    /**
+     * Marks this subsegment as a call to a remote service.
+     *
+     * @param method http method of the request
+     */
+    public void setHttpRequest(String method) {
+        this.namespace = REMOTE;
+        this.httpMethod = method;
+    }
+
+    /**
+     * Sets the status code of the response, marking 4xx responses as errors, 429 as throttled and 5xx as faults.
+     *
+     * @param status http status code
+     */
+    public void setHttpResponse(int status) {
+        this.httpStatus = status;
+        this.error = status >= HTTP_CLIENT_ERROR && status < HTTP_SERVER_ERROR;
+        this.throttle = status == HTTP_TOO_MANY_REQUESTS;
+        this.fault = status >= HTTP_SERVER_ERROR;
+    }
+
+    /**
+     * Marks this subsegment as failed with an exception.
+     *
+     * @param cause the exception
+     */
+    public void setFault(Throwable cause) {
+        this.fault = true;
+        this.cause = cause;
+    }
+
+    /**
+     * Ends this subsegment, once, also when callbacks on different threads end it concurrently.
+     *
+     * @return true when this call ended the subsegment, false when it had already ended
+     */
+    public boolean end() {
+        return endTime.compareAndSet(null, now());
+    }
+
+    /**
+     * This subsegment as an X-Ray segment document.
+     *
+     * @return json of the document
+     */
+    public String toDocument() {
+        ObjectNode document = defaultRestObjectMapper.createObjectNode()
+            .put("type", "subsegment")
+            .put("name", name)
+            .put("id", id)
+            .put("trace_id", traceId)
+            .put("parent_id", parentId)
+            .put("start_time", startTime)
+            .put("end_time", endTime.get());
+        if (nonNull(namespace)) {
+            document.put("namespace", namespace);
+        }
+        if (nonNull(httpMethod)) {
+            ObjectNode http = document.putObject("http");
+            http.putObject("request").put("method", httpMethod);
+            if (nonNull(httpStatus)) {
+                http.putObject("response").put("status", httpStatus);
+            }
+        }
+        putFlag(document, "error", error);
+        putFlag(document, "throttle", throttle);
+        putFlag(document, "fault", fault);
+        if (nonNull(cause)) {
+            document.putObject("cause").putArray("exceptions").addObject()
+                .put("type", cause.getClass().getName())
+                .put("message", cause.getMessage());
+        }
+        if (!annotations.isEmpty()) {
+            document.set("annotations", defaultRestObjectMapper.valueToTree(annotations));
+        }
+        try {
+            return defaultRestObjectMapper.writeValueAsString(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getParentId() {
+        return parentId;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public boolean isEnded() {
+        return nonNull(endTime.get());
+    }
+
+    public Map<String, Object> getAnnotations() {
+        return Map.copyOf(annotations);
+    }
+
+    public Integer getHttpStatus() {
+        return httpStatus;
+    }
+
+    public boolean isError() {
+        return error;
+    }
+
+    public boolean isThrottle() {
+        return throttle;
+    }
+
+    public boolean isFault() {
+        return fault;
+    }
+
+    private static void putFlag(ObjectNode document, String flag, boolean value) {
+        if (value) {
+            document.put(flag, true);
+        }
+    }
+
+    private static double now() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() + now.getNano() / NANOS_PER_SECOND;
+    }
+}
@@ -0,0 +1,83 @@
+package no.unit.nva.bare.tracing;
+
+import static java.util.Objects.nonNull;
+import java.util.Optional;
+import nva.commons.core.Environment;
+
+/**
+ * Begins and ends the {@link Subsegment}s of X-Ray traces, and decides what happens with the ended ones.
+ *
+ * <p>A handler begins the subsegment of its invocation as the current subsegment of its thread. Subsegments begun
+ * while there is a current one are its children, others are children of the Lambda function's segment, as given by
+ * the trace header of the invocation.
+ */
+public abstract class TraceRecorder {
+
+    public static final String TRACE_HEADER_PROPERTY = "com.amazonaws.xray.traceHeader";
+    public static final String TRACE_HEADER_ENV = "_X_AMZN_TRACE_ID";
+    private static final ThreadLocal<Subsegment> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The current subsegment of the calling thread.
+     *
+     * @return the subsegment, empty when the thread is not handling a request
+     */
+    public static Optional<Subsegment> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Begins a subsegment and makes it the current subsegment of the calling thread until it ends.
+     *
+     * @param name name of the subsegment
+     * @return the subsegment
+     */
+    public Subsegment beginCurrent(String name) {
+        Subsegment subsegment = begin(name);
+        CURRENT.set(subsegment);
+        return subsegment;
+    }
+
+    /**
+     * Begins a subsegment of the current subsegment of the calling thread, or of the Lambda function's segment.
+     *
+     * @param name name of the subsegment
+     * @return the subsegment
+     */
+    public Subsegment begin(String name) {
+        Subsegment parent = CURRENT.get();
+        return nonNull(parent) ? parent.child(name) : Subsegment.ofTraceHeader(name, traceHeader());
+    }
+
+    /**
+     * Ends a subsegment and records it, once.
+     *
+     * @param subsegment the subsegment
+     */
+    public void end(Subsegment subsegment) {
+        boolean ended = subsegment.end();
+        if (CURRENT.get() == subsegment) {
+            CURRENT.remove();
+        }
+        if (ended) {
+            record(subsegment);
+        }
+    }
+
+    /**
+     * Does what should be done with an ended subsegment.
+     *
+     * @param subsegment the ended subsegment
+     */
+    protected abstract void record(Subsegment subsegment);
+
+    /**
+     * Trace header of the invocation being handled. The Java runtimes give it as a system property, set for each
+     * invocation, and the first invocation also as an environment variable.
+     */
+    private static String traceHeader() {
+        return Optional.ofNullable(System.getProperty(TRACE_HEADER_PROPERTY))
+            .or(() -> new Environment().readEnvOpt(TRACE_HEADER_ENV))
+            .orElse(null);
+    }
+}
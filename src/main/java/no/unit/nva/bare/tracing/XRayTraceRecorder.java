@@ -0,0 +1,75 @@
+package no.unit.nva.bare.tracing;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import no.unit.nva.bare.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends sampled subsegments to the X-Ray daemon, which Lambda runs when active tracing is enabled. Each subsegment is
+ * one UDP datagram, so recording does not wait for X-Ray.
+ *
+ * <p>The X-Ray SDK is not used: it keeps the current segment in a thread local, so the requests to Bare that complete
+ * on threads of the http client, as in batches, would need its entity to be passed along by hand, and it would add
+ * the SDK and its dependencies to every function for what is a few json fields and one datagram. Sending to the
+ * daemon this way is the documented UDP protocol the SDK uses too. A subsegment must fit in one datagram, which the
+ * few annotations recorded here do by far.
+ */
+public class XRayTraceRecorder extends TraceRecorder {
+
+    public static final String DAEMON_HEADER = "{\"format\": \"json\", \"version\": 1}\n";
+    public static final String SEND_FAILED_MESSAGE = "Could not send subsegment to X-Ray daemon at {}: {}";
+    private static final String UDP_PREFIX = "udp:";
+    private static final String ADDRESS_SEPARATOR = " ";
+    private static final String PORT_SEPARATOR = ":";
+    private static final Logger logger = LoggerFactory.getLogger(XRayTraceRecorder.class);
+
+    private final InetSocketAddress daemonAddress;
+
+    public XRayTraceRecorder() {
+        this(Config.XRAY_DAEMON_ADDRESS);
+    }
+
+    /**
+     * Creates a recorder sending to the given daemon.
+     *
+     * @param daemonAddress <code>host:port</code>, or <code>tcp:host:port udp:host:port</code> as in
+     *                      <code>AWS_XRAY_DAEMON_ADDRESS</code>
+     */
+    public XRayTraceRecorder(String daemonAddress) {
+        this.daemonAddress = parseUdpAddress(daemonAddress);
+    }
+
+    @Override
+    protected void record(Subsegment subsegment) {
+        if (!subsegment.isSampled()) {
+            return;
+        }
+        byte[] datagram = (DAEMON_HEADER + subsegment.toDocument()).getBytes(StandardCharsets.UTF_8);
+        try (DatagramSocket socket = new DatagramSocket()) {
+            socket.send(new DatagramPacket(datagram, datagram.length, daemonAddress));
+        } catch (IOException e) {
+            logger.warn(SEND_FAILED_MESSAGE, daemonAddress, e.getMessage());
+        }
+    }
+
+    public InetSocketAddress getDaemonAddress() {
+        return daemonAddress;
+    }
+
+    private static InetSocketAddress parseUdpAddress(String daemonAddress) {
+        String address = daemonAddress.trim();
+        for (String part : address.split(ADDRESS_SEPARATOR)) {
+            if (part.startsWith(UDP_PREFIX)) {
+                address = part.substring(UDP_PREFIX.length());
+            }
+        }
+        int portSeparator = address.lastIndexOf(PORT_SEPARATOR);
+        return new InetSocketAddress(address.substring(0, portSeparator),
+                                     Integer.parseInt(address.substring(portSeparator + 1)));
+    }
+}
@@ -19,6 +19,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import com.amazonaws.services.lambda.runtime.Context;
 import java.io.ByteArrayOutputStream;
@@ -26,7 +28,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import no.unit.nva.testutils.HandlerRequestBuilder;
 import no.unit.nva.testutils.IoUtils;
@@ -184,6 +188,57 @@ public class AddNewAuthorityIdentifierHandlerTest {
         assertEquals(HTTP_OK, gatewayResponse.getStatusCode());
     }
 
+    @Test
+    @DisplayName("handler Returns Authority Read From Bare Without Adding When It Already Has The Identifier")
+    public void handlerReturnsAuthorityReadFromBareWithoutAddingWhenItAlreadyHasTheIdentifier() throws Exception {
+
+        InputStream is = IoUtils.inputStreamFromResources(BARE_SINGLE_AUTHORITY_GET_RESPONSE_JSON);
+        final BareAuthority bareAuthority = defaultRestObjectMapper.readValue(new InputStreamReader(is),
+                                                                            BareAuthority.class);
+        BareAuthority withIdentifier =
+            bareAuthority.withIdentifierAdded(ValidIdentifierSource.feide.asString(), MOCK_FEIDEID_VALUE);
+        when(bareConnection.getCached(MOCK_SCN_VALUE)).thenReturn(Optional.of(withIdentifier));
+        when(bareConnection.getFromBare(MOCK_SCN_VALUE)).thenReturn(withIdentifier);
+
+        addNewAuthorityIdentifierHandler = new AddNewAuthorityIdentifierHandler(bareConnection);
+        AddNewAuthorityIdentifierRequest requestObject = new AddNewAuthorityIdentifierRequest(MOCK_FEIDEID_VALUE);
+        Map<String, String> pathParams = getPathParameters(MOCK_SCN_VALUE, ValidIdentifierKey.FEIDEID.asString());
+        InputStream input = createRequest(pathParams, requestObject);
+
+        addNewAuthorityIdentifierHandler.handleRequest(input, output, context);
+        GatewayResponse<Authority> gatewayResponse = GatewayResponse.fromOutputStream(output);
+        assertEquals(HTTP_OK, gatewayResponse.getStatusCode());
+        assertEquals(1, addNewAuthorityIdentifierHandler.getSkippedWriteCount());
+        verify(bareConnection, never()).addNewIdentifier(any(), any());
+    }
+
+    @Test
+    @DisplayName("handler Adds Identifier When Only The Cached Authority Has It")
+    public void handlerAddsIdentifierWhenOnlyTheCachedAuthorityHasIt() throws Exception {
+
+        InputStream is = IoUtils.inputStreamFromResources(BARE_SINGLE_AUTHORITY_GET_RESPONSE_JSON);
+        final BareAuthority bareAuthority = defaultRestObjectMapper.readValue(new InputStreamReader(is),
+                                                                            BareAuthority.class);
+        when(bareConnection.getCached(MOCK_SCN_VALUE)).thenReturn(Optional.of(
+            bareAuthority.withIdentifierAdded(ValidIdentifierSource.feide.asString(), MOCK_FEIDEID_VALUE)));
+        when(bareConnection.getFromBare(MOCK_SCN_VALUE)).thenReturn(
+            bareAuthority.withIdentifierRemoved(ValidIdentifierSource.feide.asString(), MOCK_FEIDEID_VALUE));
+        when(httpResponse.statusCode()).thenReturn(HTTP_OK);
+        when(bareConnection.addNewIdentifier(any(), any())).thenReturn(httpResponse);
+        when(bareConnection.get(any())).thenReturn(bareAuthority);
+
+        addNewAuthorityIdentifierHandler = new AddNewAuthorityIdentifierHandler(bareConnection);
+        AddNewAuthorityIdentifierRequest requestObject = new AddNewAuthorityIdentifierRequest(MOCK_FEIDEID_VALUE);
+        Map<String, String> pathParams = getPathParameters(MOCK_SCN_VALUE, ValidIdentifierKey.FEIDEID.asString());
+        InputStream input = createRequest(pathParams, requestObject);
+
+        addNewAuthorityIdentifierHandler.handleRequest(input, output, context);
+        GatewayResponse<Authority> gatewayResponse = GatewayResponse.fromOutputStream(output);
+        assertEquals(HTTP_OK, gatewayResponse.getStatusCode());
+        assertEquals(0, addNewAuthorityIdentifierHandler.getSkippedWriteCount());
+        verify(bareConnection).addNewIdentifier(any(), any());
+    }
+
     @Test
     @DisplayName("handler Returns Internal Server Error Response When Bare Connection Error")
     public void handlerReturnsInternalServerErrorWhenBareConnectionError() throws Exception {
@@ -205,6 +260,27 @@ public class AddNewAuthorityIdentifierHandlerTest {
         assertThat(problem.getStatus(), is(Status.INTERNAL_SERVER_ERROR));
     }
 
+    @Test
+    @DisplayName("handler Returns Too Many Requests Response When Request To Bare Is Throttled")
+    public void handlerReturnsTooManyRequestsWhenRequestToBareIsThrottled() throws Exception {
+
+        when(bareConnection.addNewIdentifier(any(), any())).thenThrow(
+            new BareThrottledException(BareOperation.ADD, Duration.ofSeconds(1)));
+
+        addNewAuthorityIdentifierHandler = new AddNewAuthorityIdentifierHandler(bareConnection);
+        AddNewAuthorityIdentifierRequest requestObject = new AddNewAuthorityIdentifierRequest(MOCK_FEIDEID_VALUE);
+        Map<String, String> pathParams = getPathParameters(MOCK_SCN_VALUE, ValidIdentifierKey.FEIDEID.asString());
+        InputStream input = createRequest(pathParams, requestObject);
+        addNewAuthorityIdentifierHandler.handleRequest(input, output, context);
+
+        GatewayResponse<Problem> gatewayResponse = GatewayResponse.fromOutputStream(output);
+        Problem problem = gatewayResponse.getBodyObject(Problem.class);
+
+        assertEquals(BareThrottledException.HTTP_TOO_MANY_REQUESTS, gatewayResponse.getStatusCode());
+        assertThat(problem.getStatus(), is(Status.TOO_MANY_REQUESTS));
+        assertEquals("1", gatewayResponse.getHeaders().get(BareThrottledException.RETRY_AFTER_HEADER));
+    }
+
     @Test
     @DisplayName("handler Returns Internal Server Error Response When Failing To Read Authority From Stream")
     public void handleReturnsInternalServerErrorWhenFailingToReadAuthorityFromStream() throws Exception {
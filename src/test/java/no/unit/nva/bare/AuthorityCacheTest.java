@@ -0,0 +1,159 @@
+package no.unit.nva.bare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.google.common.base.Ticker;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AuthorityCacheTest {
+
+    public static final String SCN = "90517730";
+    public static final String OTHER_SCN = "90517731";
+    public static final Duration TIME_TO_LIVE = Duration.ofSeconds(60);
+    public static final Duration NOT_FOUND_TIME_TO_LIVE = Duration.ofSeconds(30);
+    public static final Duration SHARED_COPY_TIME_TO_LIVE = Duration.ofSeconds(10);
+
+    private AtomicLong nanos;
+    private Ticker ticker;
+
+    /**
+     * Initialize a controllable time source.
+     */
+    @BeforeEach
+    public void setUp() {
+        nanos = new AtomicLong();
+        ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+    }
+
+    @Test
+    public void getReturnsAuthorityPutInCacheAndCountsHitsAndMisses() {
+        AuthorityCache authorityCache = new AuthorityCache(10, TIME_TO_LIVE, ticker);
+        BareAuthority bareAuthority = authorityWithScn(SCN);
+
+        assertFalse(authorityCache.get(SCN).isPresent());
+        authorityCache.put(SCN, bareAuthority);
+
+        assertEquals(bareAuthority, authorityCache.get(SCN).orElseThrow());
+        assertEquals(1L, authorityCache.getHitCount());
+        assertEquals(1L, authorityCache.getMissCount());
+        assertEquals(1L, authorityCache.size());
+    }
+
+    @Test
+    public void getReturnsEmptyWhenEntryIsInvalidated() {
+        AuthorityCache authorityCache = new AuthorityCache(10, TIME_TO_LIVE);
+        authorityCache.put(SCN, authorityWithScn(SCN));
+
+        authorityCache.invalidate(SCN);
+
+        assertFalse(authorityCache.get(SCN).isPresent());
+    }
+
+    @Test
+    public void getReturnsEmptyWhenEntryHasExpired() {
+        AuthorityCache authorityCache = new AuthorityCache(10, TIME_TO_LIVE, ticker);
+        authorityCache.put(SCN, authorityWithScn(SCN));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(TIME_TO_LIVE.getSeconds() + 1));
+
+        assertFalse(authorityCache.get(SCN).isPresent());
+    }
+
+    @Test
+    public void putEvictsLeastRecentlyUsedEntryWhenCacheIsFull() {
+        AuthorityCache authorityCache = new AuthorityCache(1, TIME_TO_LIVE, ticker);
+        authorityCache.put(SCN, authorityWithScn(SCN));
+        authorityCache.put(OTHER_SCN, authorityWithScn(OTHER_SCN));
+
+        assertEquals(1L, authorityCache.getEvictionCount());
+        assertTrue(authorityCache.get(OTHER_SCN).isPresent());
+        authorityCache.logStatistics();
+    }
+
+    @Test
+    public void isNotFoundUntilNotFoundEntryHasExpired() {
+        AuthorityCache authorityCache = new AuthorityCache(10, TIME_TO_LIVE, NOT_FOUND_TIME_TO_LIVE, ticker);
+        authorityCache.putNotFound(SCN);
+
+        assertTrue(authorityCache.isNotFound(SCN));
+        assertFalse(authorityCache.isNotFound(OTHER_SCN));
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(NOT_FOUND_TIME_TO_LIVE.getSeconds() + 1));
+
+        assertFalse(authorityCache.isNotFound(SCN));
+    }
+
+    @Test
+    public void isNotFoundIsClearedWhenAuthorityIsPutOrInvalidated() {
+        AuthorityCache authorityCache = new AuthorityCache(10, TIME_TO_LIVE, NOT_FOUND_TIME_TO_LIVE, ticker);
+        authorityCache.putNotFound(SCN);
+        authorityCache.putNotFound(OTHER_SCN);
+
+        authorityCache.put(SCN, authorityWithScn(SCN));
+        authorityCache.invalidate(OTHER_SCN);
+
+        assertFalse(authorityCache.isNotFound(SCN));
+        assertFalse(authorityCache.isNotFound(OTHER_SCN));
+        assertTrue(authorityCache.get(SCN).isPresent());
+    }
+
+    @Test
+    public void sharedCopyIsKeptForShorterTimeThanAuthorityReadFromBare() {
+        AuthorityCache authorityCache =
+            new AuthorityCache(10, TIME_TO_LIVE, NOT_FOUND_TIME_TO_LIVE, SHARED_COPY_TIME_TO_LIVE, ticker);
+        authorityCache.put(SCN, authorityWithScn(SCN));
+        authorityCache.putSharedCopy(OTHER_SCN, authorityWithScn(OTHER_SCN));
+
+        assertTrue(authorityCache.get(OTHER_SCN).isPresent());
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(SHARED_COPY_TIME_TO_LIVE.getSeconds() + 1));
+
+        assertTrue(authorityCache.get(SCN).isPresent());
+        assertFalse(authorityCache.get(OTHER_SCN).isPresent());
+    }
+
+    @Test
+    public void getCountsHitsOnSharedCopiesApartFromHitsAndMisses() {
+        AuthorityCache authorityCache =
+            new AuthorityCache(10, TIME_TO_LIVE, NOT_FOUND_TIME_TO_LIVE, SHARED_COPY_TIME_TO_LIVE, ticker);
+        authorityCache.put(SCN, authorityWithScn(SCN));
+        authorityCache.putSharedCopy(OTHER_SCN, authorityWithScn(OTHER_SCN));
+
+        authorityCache.get(SCN);
+        authorityCache.get(OTHER_SCN);
+        authorityCache.get(OTHER_SCN);
+        authorityCache.get("90517732");
+
+        assertEquals(1L, authorityCache.getHitCount());
+        assertEquals(2L, authorityCache.getSharedCopyHitCount());
+        assertEquals(1L, authorityCache.getMissCount());
+        authorityCache.logStatistics();
+    }
+
+    @Test
+    public void isInvalidatedSinceTellsWhetherAuthorityWasInvalidatedAfterCountWasTaken() {
+        AuthorityCache authorityCache = new AuthorityCache(10, TIME_TO_LIVE, ticker);
+        authorityCache.invalidate(SCN);
+        long invalidationCount = authorityCache.getInvalidationCount();
+
+        assertFalse(authorityCache.isInvalidatedSince(SCN, invalidationCount));
+        authorityCache.invalidate(OTHER_SCN);
+
+        assertFalse(authorityCache.isInvalidatedSince(SCN, invalidationCount));
+        assertTrue(authorityCache.isInvalidatedSince(OTHER_SCN, invalidationCount));
+    }
+
+    private BareAuthority authorityWithScn(String scn) {
+        BareAuthority bareAuthority = new BareAuthority();
+        bareAuthority.setSystemControlNumber(scn);
+        return bareAuthority;
+    }
+}
@@ -6,8 +6,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class BareAuthorityTest {
@@ -43,4 +45,49 @@ public class BareAuthorityTest {
 
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void withIdentifierAddedReturnsCopyWithIdentifierAndLeavesOriginalUnchanged() {
+        BareAuthority bareAuthority = new BareAuthority();
+        AuthorityIdentifier authorityIdentifier = new AuthorityIdentifier(FEIDE.asString(), DUMMY);
+
+        BareAuthority added = bareAuthority.withIdentifierAdded(FEIDE.asString(), DUMMY);
+
+        assertTrue(added.hasIdentifier(authorityIdentifier));
+        assertFalse(bareAuthority.hasIdentifier(authorityIdentifier));
+        assertEquals(List.of(DUMMY), added.withIdentifierAdded(FEIDE.asString(), DUMMY).getIdentifiers(FEIDE));
+    }
+
+    @Test
+    public void withIdentifierRemovedReturnsCopyWithoutIdentifierAndLeavesOriginalUnchanged() {
+        BareAuthority bareAuthority = new BareAuthority().withIdentifierAdded(FEIDE.asString(), DUMMY);
+        AuthorityIdentifier authorityIdentifier = new AuthorityIdentifier(FEIDE.asString(), DUMMY);
+
+        BareAuthority removed = bareAuthority.withIdentifierRemoved(FEIDE.asString(), DUMMY);
+
+        assertFalse(removed.hasIdentifier(authorityIdentifier));
+        assertTrue(bareAuthority.hasIdentifier(authorityIdentifier));
+        assertTrue(new BareAuthority().withIdentifierRemoved(FEIDE.asString(), DUMMY).getIdentifiers(FEIDE).isEmpty());
+    }
+
+    @Test
+    public void getMarcIndexIsBuiltOnceAndRebuiltWhenMarcdataChanges() {
+        BareAuthority bareAuthority = new AuthorityConverter().buildAuthority(DUMMY);
+        MarcIndex index = bareAuthority.getMarcIndex();
+
+        assertEquals(List.of(DUMMY), index.getValues(AuthorityConverter.MARCTAG_100, AuthorityConverter.SUBCODE_A));
+        assertSame(index, bareAuthority.getMarcIndex());
+
+        bareAuthority.setMarcdata(new Marc21[0]);
+        assertTrue(bareAuthority.getMarcIndex()
+                       .getValues(AuthorityConverter.MARCTAG_100, AuthorityConverter.SUBCODE_A).isEmpty());
+    }
+
+    @Test
+    public void getMarcIndexIsNotSerialized() {
+        BareAuthority bareAuthority = new AuthorityConverter().buildAuthority(DUMMY);
+        bareAuthority.getMarcIndex();
+
+        assertFalse(bareAuthority.toJsonString().contains("marcIndex"));
+    }
+}
@@ -1,23 +1,46 @@
 package no.unit.nva.bare;
 
+import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
 import static java.net.HttpURLConnection.HTTP_NOT_ACCEPTABLE;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static java.net.HttpURLConnection.HTTP_NO_CONTENT;
 import static java.net.HttpURLConnection.HTTP_OK;
 import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.http.HttpClient;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import no.unit.nva.bare.store.InMemoryKeyValueStore;
+import no.unit.nva.bare.tracing.InMemoryTraceRecorder;
+import no.unit.nva.bare.tracing.Subsegment;
 import nva.commons.core.Environment;
 import nva.commons.core.ioutils.IoUtils;
+import nva.commons.logutils.LogUtils;
+import nva.commons.logutils.TestAppender;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -27,9 +50,19 @@ public class BareConnectionTest {
     public static final String BARE_SINGLE_AUTHORITY_GET_RESPONSE_WITH_ALL_IDS_JSON =
         "/bareSingleAuthorityGetResponseWithAllIds.json";
     public static final String BARE_SINGLE_AUTHORITY_CREATE_RESPONSE_JSON = "/bareSingleAuthorityCreateResponse.json";
+    public static final String BARE_SINGLE_AUTHORITY_RESPONSE_JSON = "/bareSingleAuthorityResponse.json";
     public static final String NONSENSE_URL = "http://iam.an.url";
     public static final String SCN = "scn";
     public static final String MOCK_NAME = "Unit, DotNo";
+    public static final String HANDLER = "TestHandler";
+    public static final String ERROR_MESSAGE = "Not acceptable";
+    public static final String FEIDE = ValidIdentifierSource.feide.asString();
+    public static final String FEIDE_ID = "may-britt.moser@ntnu.no";
+    public static final String UPDATED_FEIDE_ID = "may-britt.moser@uit.no";
+    public static final String ORCID_ID = "0000-0001-7884-3049";
+    public static final String INDEXED_SCN = "90517730";
+    public static final String UNKNOWN_SCN = "90517731";
+    public static final String MALFORMED_SCN = "90517730/identifiers";
     private static final String MOCK_BARE_HOST = "authority.bibsys.no";
 
     private HttpClient mockHttpClient;
@@ -178,7 +211,7 @@ public class BareConnectionTest {
 
         BareConnection bareConnection = new BareConnection(mockHttpClient);
         when(mockHttpResponse.statusCode()).thenReturn(HTTP_OK);
-        when(mockHttpResponse.body()).thenReturn(mockBody);
+        when(mockHttpResponse.body()).thenReturn(toStream(mockBody));
 
         when(mockHttpClient.send(any(), any())).thenReturn(mockHttpResponse);
         final BareAuthority bareAuthority = bareConnection.get(SCN);
@@ -194,4 +227,757 @@ public class BareConnectionTest {
         when(mockHttpClient.send(any(), any())).thenReturn(mockHttpResponse);
         assertThrows(IOException.class, () -> bareConnection.get(SCN));
     }
+
+    @Test
+    public void getTracesRequestToBareAsSubsegmentOfHandlerCountingCacheHitsAndMisses() throws Exception {
+        InputStream fakeStream = AddNewAuthorityIdentifierHandlerTest.class
+            .getResourceAsStream(BARE_SINGLE_AUTHORITY_GET_RESPONSE_WITH_ALL_IDS_JSON);
+        when(mockHttpResponse.statusCode()).thenReturn(HTTP_OK);
+        when(mockHttpResponse.body()).thenReturn(toStream(IoUtils.streamToString(fakeStream)));
+        when(mockHttpClient.send(any(), any())).thenReturn(mockHttpResponse);
+        InMemoryTraceRecorder traceRecorder = new InMemoryTraceRecorder();
+        BareConnection bareConnection = new BareConnection(mockHttpClient, new AuthorityCache(), new ReadYourWrites(),
+                                                           traceRecorder);
+
+        bareConnection.beginTrace(HANDLER);
+        bareConnection.get(SCN);
+        bareConnection.get(SCN);
+        bareConnection.endTrace();
+
+        Subsegment handler = traceRecorder.getSubsegments(HANDLER).get(0);
+        List<Subsegment> requests = traceRecorder.getSubsegments(BareConnection.BARE_SUBSEGMENT);
+        assertEquals(1, requests.size());
+        assertEquals(handler.getId(), requests.get(0).getParentId());
+        Map<String, Object> annotations = requests.get(0).getAnnotations();
+        assertEquals(BareOperation.GET.asString(), annotations.get(BareConnection.OPERATION_ANNOTATION));
+        assertEquals(HTTP_OK, annotations.get(BareConnection.STATUS_CODE_ANNOTATION));
+        assertEquals(SCN, annotations.get(BareConnection.SCN_ANNOTATION));
+        assertEquals(1L, handler.getAnnotations().get(BareConnection.CACHE_HITS_ANNOTATION));
+        assertEquals(1L, handler.getAnnotations().get(BareConnection.CACHE_MISSES_ANNOTATION));
+    }
+
+    @Test
+    public void createAuthorityAsyncTracesFailedRequestToBareAsFault() {
+        when(mockHttpClient.sendAsync(any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new IOException(ERROR_MESSAGE)));
+        InMemoryTraceRecorder traceRecorder = new InMemoryTraceRecorder();
+        BareConnection bareConnection = new BareConnection(mockHttpClient, new AuthorityCache(), new ReadYourWrites(),
+                                                           traceRecorder);
+
+        BareAuthority bareAuthority = new AuthorityConverter().buildAuthority(MOCK_NAME);
+        assertThrows(CompletionException.class, () -> bareConnection.createAuthorityAsync(bareAuthority).join());
+
+        Subsegment request = traceRecorder.getSubsegments(BareConnection.BARE_SUBSEGMENT).get(0);
+        assertTrue(request.isFault());
+        assertTrue(request.isEnded());
+        Map<String, Object> annotations = request.getAnnotations();
+        assertEquals(BareOperation.CREATE.asString(), annotations.get(BareConnection.OPERATION_ANNOTATION));
+        assertFalse(annotations.containsKey(BareConnection.SCN_ANNOTATION));
+    }
+
+    @Test
+    public void getRecordsMetricsOfRequestToBare() throws Exception {
+        when(mockHttpResponse.statusCode()).thenReturn(HTTP_NOT_ACCEPTABLE);
+        when(mockHttpClient.send(any(), any())).thenReturn(mockHttpResponse);
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        assertThrows(IOException.class, () -> bareConnection.get(SCN));
+
+        List<String> documents = bareConnection.getMetrics().emit();
+        assertEquals(1, documents.size());
+        JsonNode document = defaultRestObjectMapper.readTree(documents.get(0));
+        assertEquals(BareOperation.GET.asString(), document.get(BareMetrics.OPERATION_DIMENSION).asText());
+        assertEquals(1, document.get("Bare4xx").asInt());
+    }
+
+    @Test
+    public void addNewIdentifierAsyncRecordsTimeoutOfRequestToBare() throws Exception {
+        when(mockHttpClient.sendAsync(any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new HttpTimeoutException(ERROR_MESSAGE)));
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        AuthorityIdentifier authorityIdentifier = new AuthorityIdentifier(FEIDE, FEIDE_ID);
+        assertThrows(CompletionException.class,
+            () -> bareConnection.addNewIdentifierAsync(SCN, authorityIdentifier).join());
+
+        JsonNode document = defaultRestObjectMapper.readTree(bareConnection.getMetrics().emit().get(0));
+        assertEquals(BareOperation.ADD.asString(), document.get(BareMetrics.OPERATION_DIMENSION).asText());
+        assertEquals(1, document.get(BareMetrics.TIMEOUTS).asInt());
+    }
+
+    @Test
+    public void getAsyncReturnsAuthorityWhenBareRespondsOk() throws IOException {
+        final String mockBody = IoUtils.streamToString(AddNewAuthorityIdentifierHandlerTest.class
+            .getResourceAsStream(BARE_SINGLE_AUTHORITY_GET_RESPONSE_WITH_ALL_IDS_JSON));
+        when(mockHttpResponse.statusCode()).thenReturn(HTTP_OK);
+        when(mockHttpResponse.body()).thenReturn(toStream(mockBody));
+        when(mockHttpClient.sendAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(mockHttpResponse));
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        BareAuthority bareAuthority = bareConnection.getAsync(SCN).join();
+
+        assertNotNull(bareAuthority);
+        assertNotNull(bareAuthority.getSystemControlNumber());
+    }
+
+    @Test
+    public void getAsyncCompletesExceptionallyWhenBareRespondsWithError() {
+        when(mockHttpResponse.statusCode()).thenReturn(HTTP_NOT_ACCEPTABLE);
+        when(mockHttpClient.sendAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(mockHttpResponse));
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        CompletionException exception = assertThrows(CompletionException.class,
+            () -> bareConnection.getAsync(SCN).join());
+
+        assertTrue(exception.getCause() instanceof IOException);
+    }
+
+    @Test
+    public void identifierOperationsAsyncCompleteWithResponseFromBare() {
+        when(mockHttpResponse.statusCode()).thenReturn(HTTP_OK);
+        when(mockHttpClient.sendAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(mockHttpResponse));
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        AuthorityIdentifier authorityIdentifier =
+            new AuthorityIdentifier(ValidIdentifierSource.feide.asString(), "feide");
+        String feide = ValidIdentifierSource.feide.asString();
+
+        assertEquals(mockHttpResponse, bareConnection.addNewIdentifierAsync(SCN, authorityIdentifier).join());
+        assertEquals(mockHttpResponse, bareConnection.deleteIdentifierAsync(SCN, feide, "feide").join());
+        assertEquals(mockHttpResponse,
+                     bareConnection.updateIdentifierAsync(SCN, feide, "feide", "updatedFeide").join());
+    }
+
+    @Test
+    public void createAuthorityAsyncCompletesWithResponseFromBare() throws IOException {
+        final String mockBody = IoUtils.streamToString(AddNewAuthorityIdentifierHandlerTest.class
+            .getResourceAsStream(BARE_SINGLE_AUTHORITY_CREATE_RESPONSE_JSON));
+        when(mockHttpResponse.body()).thenReturn(mockBody);
+        when(mockHttpClient.sendAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(mockHttpResponse));
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        BareAuthority bareAuthority = new AuthorityConverter().buildAuthority(MOCK_NAME);
+        HttpResponse<String> httpResponse = bareConnection.createAuthorityAsync(bareAuthority).join();
+
+        BareAuthority createdAuthority = defaultRestObjectMapper.readValue(httpResponse.body(), BareAuthority.class);
+        assertEquals(MOCK_NAME, new AuthorityConverter().asAuthority(createdAuthority).getName());
+    }
+
+    @Test
+    public void searchByAuthorityNameAsyncReturnsQueryResponse() {
+        final String mockBody = IoUtils.streamToString(FetchAuthorityHandlerTest.class
+            .getResourceAsStream(BARE_SINGLE_AUTHORITY_RESPONSE_JSON));
+        when(mockHttpResponse.body()).thenReturn(toStream(mockBody));
+        when(mockHttpClient.sendAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(mockHttpResponse));
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        BareQueryResponse queryResponse = bareConnection.searchByAuthorityNameAsync(MOCK_NAME).join();
+
+        assertEquals(1, queryResponse.getNumFound());
+    }
+
+    @Test
+    public void concurrentReadsOfSameAuthorityShareOneRequestToBare() throws IOException {
+        final String mockBody = IoUtils.streamToString(AddNewAuthorityIdentifierHandlerTest.class
+            .getResourceAsStream(BARE_SINGLE_AUTHORITY_GET_RESPONSE_WITH_ALL_IDS_JSON));
+        when(mockHttpResponse.statusCode()).thenReturn(HTTP_OK);
+        when(mockHttpResponse.body()).thenReturn(toStream(mockBody));
+        CompletableFuture<HttpResponse<InputStream>> pendingResponse = new CompletableFuture<>();
+        when(mockHttpClient.sendAsync(any(), any())).thenReturn((CompletableFuture) pendingResponse);
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        CompletableFuture<BareAuthority> first = bareConnection.getAsync(SCN);
+        CompletableFuture<BareAuthority> second = bareConnection.getAsync(SCN);
+        pendingResponse.complete(mockHttpResponse);
+
+        assertEquals(first.join(), second.join());
+        verify(mockHttpClient, times(1)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void concurrentSearchesDifferingOnlyInCaseAndWhitespaceShareOneRequestToBare() {
+        final String mockBody = IoUtils.streamToString(FetchAuthorityHandlerTest.class
+            .getResourceAsStream(BARE_SINGLE_AUTHORITY_RESPONSE_JSON));
+        when(mockHttpResponse.body()).thenReturn(toStream(mockBody));
+        CompletableFuture<HttpResponse<InputStream>> pendingResponse = new CompletableFuture<>();
+        when(mockHttpClient.sendAsync(any(), any())).thenReturn((CompletableFuture) pendingResponse);
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        CompletableFuture<BareQueryResponse> first = bareConnection.searchByAuthorityNameAsync(MOCK_NAME);
+        CompletableFuture<BareQueryResponse> second =
+            bareConnection.searchByAuthorityNameAsync("  " + MOCK_NAME.toUpperCase() + " ");
+        pendingResponse.complete(mockHttpResponse);
+
+        assertEquals(1, first.join().getNumFound());
+        assertEquals(1, second.join().getNumFound());
+        verify(mockHttpClient, times(1)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void getReadsAuthorityFromCacheAfterFirstRead() throws Exception {
+        final String mockBody = IoUtils.streamToString(AddNewAuthorityIdentifierHandlerTest.class
+            .getResourceAsStream(BARE_SINGLE_AUTHORITY_GET_RESPONSE_WITH_ALL_IDS_JSON));
+        when(mockHttpResponse.statusCode()).thenReturn(HTTP_OK);
+        when(mockHttpResponse.body()).thenReturn(toStream(mockBody));
+        when(mockHttpClient.send(any(), any())).thenReturn(mockHttpResponse);
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        BareAuthority first = bareConnection.get(SCN);
+        BareAuthority second = bareConnection.get(SCN);
+        BareAuthority third = bareConnection.getAsync(SCN).join();
+
+        assertEquals(first, second);
+        assertEquals(first, third);
+        verify(mockHttpClient, times(1)).send(any(), any());
+        assertEquals(2L, bareConnection.getAuthorityCache().getHitCount());
+    }
+
+    @Test
+    public void identifierMutationsInvalidateCachedAuthority() throws Exception {
+        final String mockBody = IoUtils.streamToString(AddNewAuthorityIdentifierHandlerTest.class
+            .getResourceAsStream(BARE_SINGLE_AUTHORITY_GET_RESPONSE_WITH_ALL_IDS_JSON));
+        when(mockHttpResponse.statusCode()).thenReturn(HTTP_OK);
+        when(mockHttpResponse.body()).thenAnswer(invocation -> toStream(mockBody));
+        when(mockHttpClient.send(any(), any())).thenReturn(mockHttpResponse);
+        when(mockHttpClient.sendAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(mockHttpResponse));
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        AuthorityCache authorityCache = bareConnection.getAuthorityCache();
+        AuthorityIdentifier authorityIdentifier =
+            new AuthorityIdentifier(ValidIdentifierSource.feide.asString(), "feide");
+
+        bareConnection.get(SCN);
+        bareConnection.addNewIdentifier(SCN, authorityIdentifier);
+        assertTrue(authorityCache.get(SCN).isEmpty());
+
+        bareConnection.get(SCN);
+        bareConnection.deleteIdentifier(SCN, ValidIdentifierSource.feide.asString(), "feide");
+        assertTrue(authorityCache.get(SCN).isEmpty());
+
+        bareConnection.get(SCN);
+        bareConnection.addNewIdentifierAsync(SCN, authorityIdentifier).join();
+        assertTrue(authorityCache.get(SCN).isEmpty());
+
+        bareConnection.get(SCN);
+        bareConnection.deleteIdentifierAsync(SCN, ValidIdentifierSource.feide.asString(), "feide").join();
+        assertTrue(authorityCache.get(SCN).isEmpty());
+    }
+
+    @Test
+    public void getThrowsExceptionWithBodyFromBareWhenResponseIsNotOk() throws Exception {
+        when(mockHttpResponse.statusCode()).thenReturn(HTTP_NOT_ACCEPTABLE);
+        when(mockHttpResponse.body()).thenReturn(toStream(ERROR_MESSAGE));
+        when(mockHttpClient.send(any(), any())).thenReturn(mockHttpResponse);
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        IOException exception = assertThrows(IOException.class, () -> bareConnection.get(SCN));
+
+        assertEquals(ERROR_MESSAGE, exception.getMessage());
+    }
+
+    @Test
+    public void updateIdentifierDoesNotAddWhenDeleteFails() throws Exception {
+        when(mockHttpResponse.statusCode()).thenReturn(HTTP_NOT_FOUND);
+        when(mockHttpClient.send(any(), any())).thenReturn(mockHttpResponse);
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        HttpResponse<String> response = bareConnection.updateIdentifier(SCN, FEIDE, FEIDE_ID, UPDATED_FEIDE_ID);
+
+        assertEquals(HTTP_NOT_FOUND, response.statusCode());
+        verify(mockHttpClient, times(1)).send(any(), any());
+    }
+
+    @Test
+    public void updateIdentifierRestoresDeletedIdentifierWhenAddFails() throws Exception {
+        final TestAppender appender = LogUtils.getTestingAppenderForRootLogger();
+        HttpResponse okResponse = mockStringResponse(HTTP_OK);
+        HttpResponse failedResponse = mockStringResponse(HTTP_INTERNAL_ERROR);
+        when(mockHttpClient.send(any(), any())).thenReturn(okResponse, failedResponse, okResponse);
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        HttpResponse<String> response = bareConnection.updateIdentifier(SCN, FEIDE, FEIDE_ID, UPDATED_FEIDE_ID);
+
+        assertEquals(HTTP_INTERNAL_ERROR, response.statusCode());
+        verify(mockHttpClient, times(3)).send(any(), any());
+        assertThat(appender.getMessages(), containsString("phase=compensate outcome=200"));
+    }
+
+    @Test
+    public void updateIdentifierRestoresDeletedIdentifierAndRethrowsWhenAddThrows() throws Exception {
+        final TestAppender appender = LogUtils.getTestingAppenderForRootLogger();
+        HttpResponse okResponse = mockStringResponse(HTTP_OK);
+        when(mockHttpClient.send(any(), any()))
+            .thenReturn(okResponse)
+            .thenThrow(new IOException(ERROR_MESSAGE))
+            .thenThrow(new IOException(ERROR_MESSAGE));
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        IOException exception = assertThrows(IOException.class,
+            () -> bareConnection.updateIdentifier(SCN, FEIDE, FEIDE_ID, UPDATED_FEIDE_ID));
+
+        assertEquals(ERROR_MESSAGE, exception.getMessage());
+        verify(mockHttpClient, times(3)).send(any(), any());
+        assertThat(appender.getMessages(), containsString("could not restore identifier"));
+    }
+
+    @Test
+    public void updateIdentifierKeepsCachedAuthorityUpToDateInsteadOfReadingItAgain() throws Exception {
+        HttpResponse getResponse = mockAuthorityResponse();
+        HttpResponse okResponse = mockStringResponse(HTTP_NO_CONTENT);
+        when(mockHttpClient.send(any(), any())).thenReturn(getResponse, okResponse, okResponse);
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        bareConnection.get(SCN);
+        bareConnection.updateIdentifier(SCN, FEIDE, FEIDE_ID, UPDATED_FEIDE_ID);
+        BareAuthority updated = bareConnection.get(SCN);
+
+        assertEquals(List.of(UPDATED_FEIDE_ID), updated.getIdentifiers(ValidIdentifierSource.feide));
+        verify(mockHttpClient, times(3)).send(any(), any());
+    }
+
+    @Test
+    public void updateIdentifierAsyncDoesNotAddWhenDeleteFails() {
+        when(mockHttpResponse.statusCode()).thenReturn(HTTP_NOT_FOUND);
+        when(mockHttpClient.sendAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(mockHttpResponse));
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        HttpResponse<String> response =
+            bareConnection.updateIdentifierAsync(SCN, FEIDE, FEIDE_ID, UPDATED_FEIDE_ID).join();
+
+        assertEquals(HTTP_NOT_FOUND, response.statusCode());
+        verify(mockHttpClient, times(1)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void updateIdentifierAsyncRestoresDeletedIdentifierWhenAddFails() {
+        final TestAppender appender = LogUtils.getTestingAppenderForRootLogger();
+        HttpResponse okResponse = mockStringResponse(HTTP_OK);
+        HttpResponse failedResponse = mockStringResponse(HTTP_INTERNAL_ERROR);
+        when(mockHttpClient.sendAsync(any(), any())).thenReturn(
+            (CompletableFuture) CompletableFuture.completedFuture(okResponse),
+            (CompletableFuture) CompletableFuture.completedFuture(failedResponse),
+            (CompletableFuture) CompletableFuture.completedFuture(failedResponse));
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        HttpResponse<String> response =
+            bareConnection.updateIdentifierAsync(SCN, FEIDE, FEIDE_ID, UPDATED_FEIDE_ID).join();
+
+        assertEquals(HTTP_INTERNAL_ERROR, response.statusCode());
+        verify(mockHttpClient, times(3)).sendAsync(any(), any());
+        assertThat(appender.getMessages(), containsString("could not restore identifier"));
+    }
+
+    @Test
+    public void updateIdentifierAsyncRestoresDeletedIdentifierAndFailsWhenAddFailsExceptionally() {
+        HttpResponse okResponse = mockStringResponse(HTTP_OK);
+        when(mockHttpClient.sendAsync(any(), any())).thenReturn(
+            (CompletableFuture) CompletableFuture.completedFuture(okResponse),
+            (CompletableFuture) CompletableFuture.failedFuture(new IOException(ERROR_MESSAGE)),
+            (CompletableFuture) CompletableFuture.completedFuture(okResponse));
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        CompletionException exception = assertThrows(CompletionException.class,
+            () -> bareConnection.updateIdentifierAsync(SCN, FEIDE, FEIDE_ID, UPDATED_FEIDE_ID).join());
+
+        assertEquals(ERROR_MESSAGE, exception.getCause().getMessage());
+        verify(mockHttpClient, times(3)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void updateIdentifierAsyncKeepsCachedAuthorityUpToDate() throws Exception {
+        HttpResponse getResponse = mockAuthorityResponse();
+        when(mockHttpClient.send(any(), any())).thenReturn(getResponse);
+        when(mockHttpClient.sendAsync(any(), any()))
+            .thenReturn((CompletableFuture) CompletableFuture.completedFuture(mockStringResponse(HTTP_OK)));
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        bareConnection.get(SCN);
+        bareConnection.updateIdentifierAsync(SCN, FEIDE, FEIDE_ID, UPDATED_FEIDE_ID).join();
+
+        BareAuthority updated = bareConnection.getAuthorityCache().get(SCN).orElseThrow();
+        assertEquals(List.of(UPDATED_FEIDE_ID), updated.getIdentifiers(ValidIdentifierSource.feide));
+    }
+
+    @Test
+    public void addNewIdentifierDerivesAuthorityReadInInvocationInsteadOfReadingItAgain() throws Exception {
+        HttpResponse getResponse = mockAuthorityResponse();
+        HttpResponse okResponse = mockStringResponse(HTTP_OK);
+        when(mockHttpClient.send(any(), any())).thenReturn(getResponse, okResponse);
+
+        BareConnection bareConnection =
+            new BareConnection(mockHttpClient, new AuthorityCache(), new ReadYourWrites(true, 0.0));
+        bareConnection.beginInvocation();
+        bareConnection.get(SCN);
+        bareConnection.addNewIdentifier(SCN, new AuthorityIdentifier(FEIDE, UPDATED_FEIDE_ID));
+        BareAuthority updated = bareConnection.get(SCN);
+
+        assertEquals(List.of(FEIDE_ID, UPDATED_FEIDE_ID), updated.getIdentifiers(ValidIdentifierSource.feide));
+        assertTrue(bareConnection.getAuthorityCache().get(SCN).isEmpty());
+        verify(mockHttpClient, times(2)).send(any(), any());
+    }
+
+    @Test
+    public void deleteIdentifierAsyncDerivesAuthorityWithoutCachingIt() throws Exception {
+        HttpResponse getResponse = mockAuthorityResponse();
+        when(mockHttpClient.send(any(), any())).thenReturn(getResponse);
+        when(mockHttpClient.sendAsync(any(), any()))
+            .thenReturn((CompletableFuture) CompletableFuture.completedFuture(mockStringResponse(HTTP_OK)));
+
+        BareConnection bareConnection =
+            new BareConnection(mockHttpClient, new AuthorityCache(), new ReadYourWrites(true, 0.0));
+        bareConnection.beginInvocation();
+        bareConnection.get(SCN);
+        bareConnection.deleteIdentifierAsync(SCN, FEIDE, FEIDE_ID).join();
+
+        BareAuthority updated = bareConnection.get(SCN);
+        assertTrue(updated.getIdentifiers(ValidIdentifierSource.feide).isEmpty());
+        assertTrue(bareConnection.getAuthorityCache().get(SCN).isEmpty());
+        verify(mockHttpClient, times(1)).send(any(), any());
+    }
+
+    @Test
+    public void mutationDoesNotDeriveAuthorityFromCopyReadInEarlierInvocation() throws Exception {
+        when(mockHttpClient.send(any(), any()))
+            .thenReturn(mockAuthorityResponse(), mockStringResponse(HTTP_OK), mockAuthorityResponse());
+
+        BareConnection bareConnection =
+            new BareConnection(mockHttpClient, new AuthorityCache(), new ReadYourWrites(true, 0.0));
+        bareConnection.beginInvocation();
+        bareConnection.get(SCN);
+        bareConnection.endInvocation();
+        bareConnection.beginInvocation();
+        bareConnection.addNewIdentifier(SCN, new AuthorityIdentifier(FEIDE, UPDATED_FEIDE_ID));
+        BareAuthority read = bareConnection.get(SCN);
+
+        assertEquals(List.of(FEIDE_ID), read.getIdentifiers(ValidIdentifierSource.feide));
+        verify(mockHttpClient, times(3)).send(any(), any());
+    }
+
+    @Test
+    public void getKeepsConvertedMarcFieldsWhileGetCompleteKeepsAll() throws Exception {
+        when(mockHttpClient.send(any(), any())).thenReturn(mockAuthorityResponse(), mockAuthorityResponse());
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        BareAuthority authority = bareConnection.get(SCN);
+        BareAuthority completeAuthority = bareConnection.getComplete(SCN);
+
+        assertEquals(1, authority.getMarcdata().length);
+        assertEquals(3, completeAuthority.getMarcdata().length);
+        assertEquals(completeAuthority.getIdentifiersMap(), authority.getIdentifiersMap());
+        verify(mockHttpClient, times(2)).send(any(), any());
+    }
+
+    @Test
+    public void getCachedDoesNotReadAuthorityFromBare() throws Exception {
+        when(mockHttpClient.send(any(), any())).thenReturn(mockAuthorityResponse());
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        assertTrue(bareConnection.getCached(SCN).isEmpty());
+        BareAuthority authority = bareConnection.get(SCN);
+
+        assertEquals(authority, bareConnection.getCached(SCN).orElseThrow());
+        verify(mockHttpClient, times(1)).send(any(), any());
+    }
+
+    @Test
+    public void mutationInvalidatesCachedAuthorityWhenNotDerivingLocally() throws Exception {
+        HttpResponse getResponse = mockAuthorityResponse();
+        HttpResponse okResponse = mockStringResponse(HTTP_OK);
+        when(mockHttpClient.send(any(), any())).thenReturn(getResponse, okResponse);
+
+        BareConnection bareConnection =
+            new BareConnection(mockHttpClient, new AuthorityCache(), new ReadYourWrites(false, 0.0));
+        bareConnection.get(SCN);
+        bareConnection.deleteIdentifier(SCN, FEIDE, FEIDE_ID);
+
+        assertTrue(bareConnection.getAuthorityCache().get(SCN).isEmpty());
+    }
+
+    @Test
+    public void mutationInvalidatesCachedAuthorityWhenMutationFails() throws Exception {
+        HttpResponse getResponse = mockAuthorityResponse();
+        HttpResponse failedResponse = mockStringResponse(HTTP_INTERNAL_ERROR);
+        when(mockHttpClient.send(any(), any())).thenReturn(getResponse, failedResponse);
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        bareConnection.get(SCN);
+        bareConnection.addNewIdentifier(SCN, new AuthorityIdentifier(FEIDE, UPDATED_FEIDE_ID));
+
+        assertTrue(bareConnection.getAuthorityCache().get(SCN).isEmpty());
+    }
+
+    @Test
+    public void sampledMutationReadsAuthorityFromBareAndComparesItWithDerivedAuthority() throws Exception {
+        HttpResponse getResponse = mockAuthorityResponse();
+        HttpResponse okResponse = mockStringResponse(HTTP_OK);
+        when(mockHttpClient.send(any(), any())).thenReturn(getResponse, okResponse);
+        when(mockHttpClient.sendAsync(any(), any()))
+            .thenReturn((CompletableFuture) CompletableFuture.completedFuture(mockAuthorityResponse()));
+
+        ReadYourWrites readYourWrites = new ReadYourWrites(true, 1.0);
+        BareConnection bareConnection = new BareConnection(mockHttpClient, new AuthorityCache(), readYourWrites);
+        bareConnection.get(SCN);
+        bareConnection.addNewIdentifier(SCN, new AuthorityIdentifier(FEIDE, UPDATED_FEIDE_ID));
+        BareAuthority read = bareConnection.get(SCN);
+
+        assertEquals(List.of(FEIDE_ID), read.getIdentifiers(ValidIdentifierSource.feide));
+        assertEquals(1, readYourWrites.getVerificationCount());
+        assertEquals(1, readYourWrites.getMismatchCount());
+        verify(mockHttpClient, times(1)).sendAsync(any(), any());
+    }
+
+    @Test
+    public void getByIdentifierReadsAuthorityFoundUniqueBySearchWithoutSearchingBareAgain() throws Exception {
+        when(mockHttpClient.send(any(), any())).thenReturn(mockSearchResponse(1), mockAuthorityResponse());
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        assertTrue(bareConnection.getByIdentifier(ValidIdentifierSource.feide, FEIDE_ID).isEmpty());
+        bareConnection.searchByIdentifier(ValidIdentifierSource.feide, FEIDE_ID, BareConnection.DEFAULT_SEARCH_START,
+                                          BareConnection.DEFAULT_SEARCH_MAX);
+        BareAuthority authority = bareConnection.getByIdentifier(ValidIdentifierSource.feide, FEIDE_ID).orElseThrow();
+
+        assertEquals(INDEXED_SCN, authority.getSystemControlNumber());
+        assertTrue(bareConnection.getByIdentifier(ValidIdentifierSource.orcid, ORCID_ID).isEmpty());
+        verify(mockHttpClient, times(2)).send(any(), any());
+    }
+
+    @Test
+    public void getByIdentifierSearchesAgainWhenSearchFoundMoreThanOneAuthority() throws Exception {
+        when(mockHttpClient.send(any(), any())).thenReturn(mockSearchResponse(2));
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        bareConnection.searchByIdentifier(ValidIdentifierSource.feide, FEIDE_ID, BareConnection.DEFAULT_SEARCH_START,
+                                          BareConnection.DEFAULT_SEARCH_MAX);
+
+        assertTrue(bareConnection.getByIdentifier(ValidIdentifierSource.feide, FEIDE_ID).isEmpty());
+        assertEquals(0L, bareConnection.getIdentifierIndex().size());
+    }
+
+    @Test
+    public void identifierMutationsKeepIdentifierIndexUpToDate() throws Exception {
+        HttpResponse getResponse = mockAuthorityResponse();
+        HttpResponse okResponse = mockStringResponse(HTTP_OK);
+        when(mockHttpClient.send(any(), any()))
+            .thenReturn(mockSearchResponse(1), mockSearchResponse(1), getResponse, okResponse);
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        IdentifierIndex identifierIndex = bareConnection.getIdentifierIndex();
+        bareConnection.searchByIdentifier(ValidIdentifierSource.feide, FEIDE_ID, BareConnection.DEFAULT_SEARCH_START,
+                                          BareConnection.DEFAULT_SEARCH_MAX);
+        bareConnection.searchByIdentifier(ValidIdentifierSource.orcid, ORCID_ID, BareConnection.DEFAULT_SEARCH_START,
+                                          BareConnection.DEFAULT_SEARCH_MAX);
+        bareConnection.get(INDEXED_SCN);
+        bareConnection.updateIdentifier(INDEXED_SCN, FEIDE, FEIDE_ID, UPDATED_FEIDE_ID);
+
+        assertTrue(identifierIndex.lookUp(ValidIdentifierSource.feide, FEIDE_ID).isEmpty());
+        assertTrue(identifierIndex.lookUp(ValidIdentifierSource.feide, UPDATED_FEIDE_ID).isEmpty());
+        assertEquals(INDEXED_SCN, identifierIndex.lookUp(ValidIdentifierSource.orcid, ORCID_ID).orElseThrow());
+    }
+
+    @Test
+    public void getByIdentifierDropsIndexEntryWhenAuthorityNoLongerHasIdentifierOrCannotBeRead() throws Exception {
+        HttpResponse notFoundResponse = mock(HttpResponse.class);
+        when(notFoundResponse.statusCode()).thenReturn(HTTP_NOT_FOUND);
+        when(notFoundResponse.body()).thenReturn(toStream(ERROR_MESSAGE));
+        when(mockHttpClient.send(any(), any()))
+            .thenReturn(mockSearchResponse(1, UNKNOWN_SCN), notFoundResponse,
+                        mockSearchResponse(1, INDEXED_SCN, UPDATED_FEIDE_ID), mockAuthorityResponse());
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        IdentifierIndex identifierIndex = bareConnection.getIdentifierIndex();
+        bareConnection.searchByIdentifier(ValidIdentifierSource.orcid, ORCID_ID, BareConnection.DEFAULT_SEARCH_START,
+                                          BareConnection.DEFAULT_SEARCH_MAX);
+        assertTrue(bareConnection.getByIdentifier(ValidIdentifierSource.orcid, ORCID_ID).isEmpty());
+        bareConnection.searchByIdentifier(ValidIdentifierSource.feide, UPDATED_FEIDE_ID,
+                                          BareConnection.DEFAULT_SEARCH_START, BareConnection.DEFAULT_SEARCH_MAX);
+        assertTrue(bareConnection.getByIdentifier(ValidIdentifierSource.feide, UPDATED_FEIDE_ID).isEmpty());
+
+        assertTrue(identifierIndex.lookUp(ValidIdentifierSource.orcid, ORCID_ID).isEmpty());
+        assertTrue(identifierIndex.lookUp(ValidIdentifierSource.feide, UPDATED_FEIDE_ID).isEmpty());
+    }
+
+    @Test
+    public void getReadsAuthorityFromSharedCacheWrittenByAnotherInstanceUntilItIsMutated() throws Exception {
+        HttpResponse okResponse = mockStringResponse(HTTP_OK);
+        when(mockHttpClient.send(any(), any())).thenReturn(mockAuthorityResponse(), okResponse);
+        SharedAuthorityCache sharedAuthorityCache = new SharedAuthorityCache(new InMemoryKeyValueStore(10));
+        InMemoryTraceRecorder traceRecorder = new InMemoryTraceRecorder();
+
+        BareConnection instance = new BareConnection(mockHttpClient, new AuthorityCache(), sharedAuthorityCache,
+                                                     new ReadYourWrites(), traceRecorder);
+        BareConnection otherInstance = new BareConnection(mockHttpClient, new AuthorityCache(), sharedAuthorityCache,
+                                                          new ReadYourWrites(), traceRecorder);
+        BareAuthority authority = instance.get(SCN);
+        otherInstance.beginTrace(HANDLER);
+        BareAuthority sharedAuthority = otherInstance.get(SCN);
+        otherInstance.endTrace();
+
+        assertEquals(authority.getIdentifiersMap(), sharedAuthority.getIdentifiersMap());
+        assertEquals(authority.getMarcdata().length, sharedAuthority.getMarcdata().length);
+        assertEquals(sharedAuthority, otherInstance.getAsync(SCN).join());
+        verify(mockHttpClient, times(1)).send(any(), any());
+        assertEquals(1L, traceRecorder.getSubsegments(HANDLER).get(0)
+            .getAnnotations().get(BareConnection.SHARED_CACHE_HITS_ANNOTATION));
+
+        otherInstance.deleteIdentifier(SCN, FEIDE, FEIDE_ID);
+        assertTrue(sharedAuthorityCache.get(SCN).isEmpty());
+    }
+
+    @Test
+    public void getAsyncNeitherCachesNorSharesAuthorityInvalidatedWhileItWasRead() {
+        CompletableFuture<HttpResponse<InputStream>> pendingResponse = new CompletableFuture<>();
+        when(mockHttpClient.sendAsync(any(), any())).thenReturn((CompletableFuture) pendingResponse);
+        SharedAuthorityCache sharedAuthorityCache = new SharedAuthorityCache(new InMemoryKeyValueStore(10));
+        BareConnection bareConnection = new BareConnection(mockHttpClient, new AuthorityCache(), sharedAuthorityCache,
+                                                           new ReadYourWrites(), new InMemoryTraceRecorder());
+
+        CompletableFuture<BareAuthority> read = bareConnection.getAsync(SCN);
+        bareConnection.getAuthorityCache().invalidate(SCN);
+        pendingResponse.complete(mockAuthorityResponse());
+
+        assertNotNull(read.join());
+        assertTrue(bareConnection.getAuthorityCache().get(SCN).isEmpty());
+        assertTrue(sharedAuthorityCache.get(SCN).isEmpty());
+    }
+
+    @Test
+    public void getRemembersAuthorityNotFoundInBareAndRejectsItWithoutAskingAgain() throws Exception {
+        HttpResponse notFoundResponse = mock(HttpResponse.class);
+        when(notFoundResponse.statusCode()).thenReturn(HTTP_NOT_FOUND);
+        when(notFoundResponse.body()).thenReturn(toStream(ERROR_MESSAGE));
+        when(mockHttpClient.send(any(), any())).thenReturn(notFoundResponse);
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        AuthorityNotFoundException exception =
+            assertThrows(AuthorityNotFoundException.class, () -> bareConnection.get(UNKNOWN_SCN));
+        assertThrows(AuthorityNotFoundException.class, () -> bareConnection.get(UNKNOWN_SCN));
+        CompletionException asyncException = assertThrows(CompletionException.class,
+            () -> bareConnection.getAsync(UNKNOWN_SCN).join());
+
+        assertThat(exception.getMessage(), containsString(UNKNOWN_SCN));
+        assertTrue(asyncException.getCause() instanceof AuthorityNotFoundException);
+        assertTrue(bareConnection.getAuthorityCache().isNotFound(UNKNOWN_SCN));
+        verify(mockHttpClient, times(1)).send(any(), any());
+    }
+
+    @Test
+    public void getAsyncRemembersAuthorityNotFoundInBare() {
+        when(mockHttpResponse.statusCode()).thenReturn(HTTP_NOT_FOUND);
+        when(mockHttpClient.sendAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(mockHttpResponse));
+
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+        CompletionException exception = assertThrows(CompletionException.class,
+            () -> bareConnection.getAsync(UNKNOWN_SCN).join());
+
+        assertTrue(exception.getCause() instanceof AuthorityNotFoundException);
+        assertTrue(bareConnection.getAuthorityCache().isNotFound(UNKNOWN_SCN));
+    }
+
+    @Test
+    public void getRejectsMalformedSystemControlNumberWithoutAskingBare() throws Exception {
+        BareConnection bareConnection = new BareConnection(mockHttpClient);
+
+        assertThrows(AuthorityNotFoundException.class, () -> bareConnection.get(MALFORMED_SCN));
+        assertThrows(AuthorityNotFoundException.class, () -> bareConnection.getComplete(MALFORMED_SCN));
+        assertThrows(CompletionException.class, () -> bareConnection.getAsync(MALFORMED_SCN).join());
+        assertFalse(BareConnection.isValidSystemControlNumber(null));
+        assertTrue(BareConnection.isValidSystemControlNumber(INDEXED_SCN));
+        verify(mockHttpClient, never()).send(any(), any());
+        verify(mockHttpClient, never()).sendAsync(any(), any());
+    }
+
+    @Test
+    public void requestsOverBudgetAreThrottledWithoutAskingBareAndCounted() throws Exception {
+        when(mockHttpClient.send(any(), any())).thenReturn(mockAuthorityResponse());
+        BareRateLimiter rateLimiter = new BareRateLimiter(1.0 / 3600, 1.0 / 3600, Duration.ZERO);
+        BareConnection bareConnection = new BareConnection(mockHttpClient, new AuthorityCache(),
+                                                           new SharedAuthorityCache(new InMemoryKeyValueStore(10)),
+                                                           new ReadYourWrites(), new InMemoryTraceRecorder(),
+                                                           rateLimiter);
+
+        bareConnection.get(INDEXED_SCN);
+        assertThrows(BareThrottledException.class, () -> bareConnection.searchByAuthorityName(MOCK_NAME));
+        CompletionException exception = assertThrows(CompletionException.class,
+            () -> bareConnection.getAsync(UNKNOWN_SCN).join());
+
+        assertTrue(exception.getCause() instanceof BareThrottledException);
+        verify(mockHttpClient, times(1)).send(any(), any());
+        verify(mockHttpClient, never()).sendAsync(any(), any());
+        List<String> documents = bareConnection.getMetrics().emit();
+        JsonNode get = defaultRestObjectMapper.readTree(documents.get(0));
+        JsonNode search = defaultRestObjectMapper.readTree(documents.get(1));
+        assertEquals(1, get.get(BareMetrics.REQUESTS).asInt());
+        assertEquals(1, get.get(BareMetrics.THROTTLED).asInt());
+        assertEquals(1, search.get(BareMetrics.THROTTLED).asInt());
+    }
+
+    @Test
+    public void requestSentFromOtherThreadAddsItsTimeToTimingOfInvocationAndThrottleWaitToQueue() {
+        when(mockHttpResponse.statusCode()).thenReturn(HTTP_OK);
+        when(mockHttpClient.sendAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(mockHttpResponse));
+        BareRateLimiter rateLimiter = new BareRateLimiter(BareRateLimiter.UNLIMITED, 1.0 / 3600, Duration.ZERO);
+        BareConnection bareConnection = new BareConnection(mockHttpClient, new AuthorityCache(),
+                                                           new SharedAuthorityCache(), new ReadYourWrites(),
+                                                           new InMemoryTraceRecorder(), rateLimiter);
+        AuthorityIdentifier authorityIdentifier = new AuthorityIdentifier(FEIDE, FEIDE_ID);
+        ServerTiming timing = ServerTiming.start();
+        bareConnection.beginInvocation();
+        try {
+            CompletableFuture.supplyAsync(() -> bareConnection.addNewIdentifierAsync(SCN, authorityIdentifier))
+                .join()
+                .join();
+            assertThat(timing.toHeaderValue(), containsString("bare;dur="));
+            assertFalse(timing.toHeaderValue().contains("queue;dur="));
+
+            CompletionException exception = assertThrows(CompletionException.class,
+                () -> bareConnection.addNewIdentifierAsync(SCN, authorityIdentifier).join());
+
+            assertTrue(exception.getCause() instanceof BareThrottledException);
+            assertThat(timing.toHeaderValue(), containsString("queue;dur="));
+        } finally {
+            bareConnection.endInvocation();
+            timing.finish(HANDLER);
+        }
+    }
+
+    private static HttpResponse mockStringResponse(int statusCode) {
+        HttpResponse response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(statusCode);
+        when(response.body()).thenReturn(ERROR_MESSAGE);
+        return response;
+    }
+
+    private static HttpResponse mockAuthorityResponse() {
+        final String mockBody = IoUtils.streamToString(BareConnectionTest.class
+            .getResourceAsStream(BARE_SINGLE_AUTHORITY_GET_RESPONSE_WITH_ALL_IDS_JSON));
+        HttpResponse response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(HTTP_OK);
+        when(response.body()).thenReturn(toStream(mockBody));
+        return response;
+    }
+
+    private static HttpResponse mockSearchResponse(int numFound) {
+        return mockSearchResponse(numFound, INDEXED_SCN, FEIDE_ID);
+    }
+
+    private static HttpResponse mockSearchResponse(int numFound, String systemControlNumber) {
+        return mockSearchResponse(numFound, systemControlNumber, FEIDE_ID);
+    }
+
+    private static HttpResponse mockSearchResponse(int numFound, String systemControlNumber, String feideId) {
+        final String mockBody = IoUtils.streamToString(BareConnectionTest.class
+            .getResourceAsStream(BARE_SINGLE_AUTHORITY_RESPONSE_JSON))
+            .replace("\"numFound\": 1", "\"numFound\": " + numFound)
+            .replace("\"systemControlNumber\": \"" + INDEXED_SCN, "\"systemControlNumber\": \"" + systemControlNumber)
+            .replace("\"identifiersMap\": {", "\"identifiersMap\": {\"feide\": [\"" + feideId + "\"], "
+                                                + "\"orcid\": [\"" + ORCID_ID + "\"], ");
+        HttpResponse response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(HTTP_OK);
+        when(response.body()).thenReturn(toStream(mockBody));
+        return response;
+    }
+
+    private static InputStream toStream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
 }
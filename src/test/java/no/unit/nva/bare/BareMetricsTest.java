@@ -0,0 +1,171 @@
+package no.unit.nva.bare;
+
+import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BareMetricsTest {
+
+    public static final String NAMESPACE = "NvaBareProxyTest";
+    public static final String BODY = "{\"systemControlNumber\":\"1\"}";
+    public static final long CONTENT_LENGTH = 123;
+    public static final String LATENCY_COUNT = "Count";
+
+    private HttpResponse<String> mockHttpResponse;
+    private BareMetrics metrics;
+
+    /**
+     * Initialize mocks.
+     */
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        mockHttpResponse = mock(HttpResponse.class);
+        when(mockHttpResponse.statusCode()).thenReturn(HTTP_OK);
+        when(mockHttpResponse.headers()).thenReturn(HttpHeaders.of(
+            Map.of("Content-Length", List.of(String.valueOf(CONTENT_LENGTH))), (name, value) -> true));
+        metrics = new BareMetrics(true, NAMESPACE);
+    }
+
+    @Test
+    public void emitWritesEmbeddedMetricsDocumentPerOperationWithRequests() throws Exception {
+        metrics.recordResponse(BareOperation.GET, System.nanoTime(), mockHttpResponse);
+        metrics.recordResponse(BareOperation.GET, System.nanoTime(), mockHttpResponse);
+        when(mockHttpResponse.statusCode()).thenReturn(HTTP_INTERNAL_ERROR);
+        metrics.recordResponse(BareOperation.SEARCH, System.nanoTime(), mockHttpResponse);
+
+        List<String> documents = metrics.emit();
+
+        assertEquals(2, documents.size());
+        JsonNode get = defaultRestObjectMapper.readTree(documents.get(0));
+        assertEquals(NAMESPACE, get.get("_aws").get("CloudWatchMetrics").get(0).get("Namespace").asText());
+        assertEquals(BareOperation.GET.asString(), get.get(BareMetrics.OPERATION_DIMENSION).asText());
+        assertEquals(2, get.get(BareMetrics.REQUESTS).asInt());
+        assertEquals(2, get.get("Bare2xx").asInt());
+        assertEquals(2 * CONTENT_LENGTH, get.get(BareMetrics.RESPONSE_BYTES).asLong());
+        assertEquals(2, get.get(BareMetrics.LATENCY).get(LATENCY_COUNT).asInt());
+        JsonNode search = defaultRestObjectMapper.readTree(documents.get(1));
+        assertEquals(BareOperation.SEARCH.asString(), search.get(BareMetrics.OPERATION_DIMENSION).asText());
+        assertEquals(1, search.get("Bare5xx").asInt());
+    }
+
+    @Test
+    public void emitCountsTimeoutsAndExceptionsWithoutLatency() throws Exception {
+        metrics.recordFailure(BareOperation.CREATE, new HttpTimeoutException("timed out"));
+        metrics.recordFailure(BareOperation.CREATE, new CompletionException(new IOException("reset")));
+
+        JsonNode create = defaultRestObjectMapper.readTree(metrics.emit().get(0));
+
+        assertEquals(2, create.get(BareMetrics.REQUESTS).asInt());
+        assertEquals(1, create.get(BareMetrics.TIMEOUTS).asInt());
+        assertEquals(1, create.get(BareMetrics.EXCEPTIONS).asInt());
+        assertTrue(create.path(BareMetrics.LATENCY).isMissingNode());
+    }
+
+    @Test
+    public void emitCountsQueuedAndThrottledRequests() throws Exception {
+        metrics.recordQueued(BareOperation.ADD);
+        metrics.recordThrottled(BareOperation.ADD);
+        metrics.recordThrottled(BareOperation.ADD);
+
+        JsonNode add = defaultRestObjectMapper.readTree(metrics.emit().get(0));
+
+        assertEquals(0, add.get(BareMetrics.REQUESTS).asInt());
+        assertEquals(1, add.get(BareMetrics.QUEUED).asInt());
+        assertEquals(2, add.get(BareMetrics.THROTTLED).asInt());
+    }
+
+    @Test
+    public void emitStartsOverAfterWriting() {
+        metrics.recordResponse(BareOperation.DELETE, System.nanoTime(), mockHttpResponse);
+
+        assertEquals(1, metrics.emit().size());
+        assertTrue(metrics.emit().isEmpty());
+    }
+
+    @Test
+    public void disabledMetricsRecordAndEmitNothing() {
+        BareMetrics disabled = new BareMetrics(false, NAMESPACE);
+        disabled.recordResponse(BareOperation.GET, System.nanoTime(), mockHttpResponse);
+        disabled.recordFailure(BareOperation.GET, new HttpTimeoutException("timed out"));
+        disabled.recordThrottled(BareOperation.GET);
+        disabled.recordQueued(BareOperation.GET);
+
+        assertTrue(disabled.emit().isEmpty());
+    }
+
+    @Test
+    public void recordingRecordsResponseOrFailureOfAsynchronousRequest() throws Exception {
+        metrics.<String>recording(BareOperation.ADD, System.nanoTime()).accept(mockHttpResponse, null);
+        metrics.<String>recording(BareOperation.ADD, System.nanoTime())
+            .accept(null, new CompletionException(new HttpTimeoutException("timed out")));
+
+        JsonNode add = defaultRestObjectMapper.readTree(metrics.emit().get(0));
+
+        assertEquals(2, add.get(BareMetrics.REQUESTS).asInt());
+        assertEquals(1, add.get("Bare2xx").asInt());
+        assertEquals(1, add.get(BareMetrics.TIMEOUTS).asInt());
+    }
+
+    @Test
+    public void recordResponseUsesLengthOfBodyWithoutContentLength() throws Exception {
+        when(mockHttpResponse.headers()).thenReturn(HttpHeaders.of(Map.of(), (name, value) -> true));
+        when(mockHttpResponse.body()).thenReturn(BODY);
+        metrics.recordResponse(BareOperation.GET, System.nanoTime(), mockHttpResponse);
+
+        JsonNode get = defaultRestObjectMapper.readTree(metrics.emit().get(0));
+
+        assertEquals(BODY.length(), get.get(BareMetrics.RESPONSE_BYTES).asInt());
+    }
+
+    @Test
+    public void emitLeavesOutResponseBytesWhenSizeIsNotKnown() throws Exception {
+        when(mockHttpResponse.headers()).thenReturn(HttpHeaders.of(Map.of(), (name, value) -> true));
+        metrics.recordResponse(BareOperation.GET, System.nanoTime(), mockHttpResponse);
+
+        JsonNode get = defaultRestObjectMapper.readTree(metrics.emit().get(0));
+
+        assertEquals(1, get.get(BareMetrics.REQUESTS).asInt());
+        assertTrue(get.path(BareMetrics.RESPONSE_BYTES).isMissingNode());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void ofCountedInputStreamCountsBytesReadFromStreamedBody() throws Exception {
+        HttpResponse.BodySubscriber<InputStream> subscriber =
+            metrics.ofCountedInputStream(BareOperation.GET).apply(mock(HttpResponse.ResponseInfo.class));
+        subscriber.onSubscribe(mock(Flow.Subscription.class));
+        subscriber.onNext(List.of(ByteBuffer.wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        subscriber.onComplete();
+        try (InputStream body = subscriber.getBody().toCompletableFuture().get()) {
+            HttpResponse<InputStream> streamedResponse = mock(HttpResponse.class);
+            when(streamedResponse.statusCode()).thenReturn(HTTP_OK);
+            when(streamedResponse.headers()).thenReturn(mockHttpResponse.headers());
+            when(streamedResponse.body()).thenReturn(body);
+            metrics.recordResponse(BareOperation.GET, System.nanoTime(), streamedResponse);
+            assertEquals(BODY, new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        JsonNode get = defaultRestObjectMapper.readTree(metrics.emit().get(0));
+
+        assertEquals(BODY.length(), get.get(BareMetrics.RESPONSE_BYTES).asInt());
+    }
+}
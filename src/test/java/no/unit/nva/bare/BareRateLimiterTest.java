@@ -0,0 +1,66 @@
+package no.unit.nva.bare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+public class BareRateLimiterTest {
+
+    public static final double ONE_PER_HOUR = 1.0 / 3600;
+    public static final double TWENTY_PER_SECOND = 20;
+    public static final Duration MAX_WAIT = Duration.ofMillis(50);
+    public static final int MANY_REQUESTS = 100;
+
+    @Test
+    public void acquireNeverWaitsForUnlimitedBudget() throws Exception {
+        BareRateLimiter rateLimiter =
+            new BareRateLimiter(BareRateLimiter.UNLIMITED, BareRateLimiter.UNLIMITED, MAX_WAIT);
+
+        for (int i = 0; i < MANY_REQUESTS; i++) {
+            assertFalse(rateLimiter.acquire(BareOperation.GET));
+            assertFalse(rateLimiter.acquire(BareOperation.ADD));
+        }
+    }
+
+    @Test
+    public void acquireThrottlesRequestOverBudgetWithRetryAfterOfQueue() throws Exception {
+        BareRateLimiter rateLimiter = new BareRateLimiter(ONE_PER_HOUR, BareRateLimiter.UNLIMITED, MAX_WAIT);
+
+        assertFalse(rateLimiter.acquire(BareOperation.GET));
+        BareThrottledException exception =
+            assertThrows(BareThrottledException.class, () -> rateLimiter.acquire(BareOperation.SEARCH));
+
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ofMinutes(59)) > 0);
+        assertEquals(Long.toString(exception.getRetryAfter().getSeconds()), exception.getRetryAfterSeconds());
+    }
+
+    @Test
+    public void acquireKeepsReadsAndWritesInSeparateBudgets() throws Exception {
+        BareRateLimiter rateLimiter = new BareRateLimiter(ONE_PER_HOUR, ONE_PER_HOUR, MAX_WAIT);
+
+        assertFalse(rateLimiter.acquire(BareOperation.GET));
+        assertFalse(rateLimiter.acquire(BareOperation.DELETE));
+        assertThrows(BareThrottledException.class, () -> rateLimiter.acquire(BareOperation.CREATE));
+        assertThrows(BareThrottledException.class, () -> rateLimiter.acquire(BareOperation.GET));
+    }
+
+    @Test
+    public void acquireQueuesRequestWhenPermitFreesUpWithinMaxWait() throws Exception {
+        BareRateLimiter rateLimiter = new BareRateLimiter(TWENTY_PER_SECOND, TWENTY_PER_SECOND, Duration.ofSeconds(1));
+
+        assertFalse(rateLimiter.acquire(BareOperation.ADD));
+        assertTrue(rateLimiter.acquire(BareOperation.ADD));
+    }
+
+    @Test
+    public void acquireNeverThrottlesCompensationOfFailedUpdate() throws Exception {
+        BareRateLimiter rateLimiter = new BareRateLimiter(ONE_PER_HOUR, ONE_PER_HOUR, MAX_WAIT);
+
+        assertFalse(rateLimiter.acquire(BareOperation.DELETE));
+        assertThrows(BareThrottledException.class, () -> rateLimiter.acquire(BareOperation.ADD));
+        assertFalse(rateLimiter.acquire(BareOperation.COMPENSATE));
+    }
+}
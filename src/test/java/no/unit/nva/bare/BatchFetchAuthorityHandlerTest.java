@@ -0,0 +1,206 @@
+package no.unit.nva.bare;
+
+import static java.net.HttpURLConnection.HTTP_BAD_GATEWAY;
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_GATEWAY_TIMEOUT;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import static no.unit.nva.bare.BatchFetchAuthorityHandler.DEADLINE_REACHED;
+import static no.unit.nva.bare.BatchFetchAuthorityRequest.BODY_ARGS_MISSING;
+import static no.unit.nva.bare.BatchFetchAuthorityRequest.BLANK_SYSTEM_CONTROL_NUMBER;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import com.amazonaws.services.lambda.runtime.Context;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import no.unit.nva.testutils.HandlerRequestBuilder;
+import nva.commons.apigateway.GatewayResponse;
+import nva.commons.core.ioutils.IoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BatchFetchAuthorityHandlerTest {
+
+    public static final String BARE_SINGLE_AUTHORITY_GET_RESPONSE_WITH_ALL_IDS_JSON =
+        "/bareSingleAuthorityGetResponseWithAllIds.json";
+    public static final String SCN = "90517730";
+    public static final String OTHER_SCN = "90517731";
+    public static final String ERROR_MESSAGE = "Not found";
+    public static final String EXPECTED_NAME = "Moser, May-Britt";
+    public static final int PARALLELISM = 10;
+    public static final int MAX_BATCH_SIZE = 10;
+    public static final int SHORT_DEADLINE_MILLIS = (int) Config.BATCH_FETCH_DEADLINE_MARGIN.toMillis() + 200;
+
+    private BareConnection mockBareConnection;
+    private Context context;
+    private ByteArrayOutputStream outputStream;
+    private BareAuthority bareAuthority;
+
+    /**
+     * Initialize mocks.
+     */
+    @BeforeEach
+    public void setUp() {
+        mockBareConnection = mock(BareConnection.class);
+        context = mock(Context.class);
+        outputStream = new ByteArrayOutputStream();
+        bareAuthority = BareAuthority.fromJson(IoUtils.streamToString(BatchFetchAuthorityHandlerTest.class
+            .getResourceAsStream(BARE_SINGLE_AUTHORITY_GET_RESPONSE_WITH_ALL_IDS_JSON)));
+    }
+
+    @Test
+    public void handlerReturnsOneResultPerDistinctScnInRequestOrder() throws IOException {
+        when(mockBareConnection.getAsync(anyString())).thenReturn(CompletableFuture.completedFuture(bareAuthority));
+
+        BatchFetchAuthorityResponse response = fetch(new BatchFetchAuthorityHandler(mockBareConnection),
+                                                     List.of(SCN, OTHER_SCN, SCN));
+
+        assertTrue(response.isComplete());
+        assertEquals(2, response.getResults().size());
+        assertEquals(SCN, response.getResults().get(0).getSystemControlNumber());
+        assertEquals(OTHER_SCN, response.getResults().get(1).getSystemControlNumber());
+        assertEquals(HTTP_OK, response.getResults().get(0).getStatus());
+        assertEquals(EXPECTED_NAME, response.getResults().get(0).getAuthority().getName());
+        verify(mockBareConnection, times(1)).getAsync(SCN);
+    }
+
+    @Test
+    public void handlerReturnsErrorForItemsBareFailsToFetchAndAuthorityForOthers() throws IOException {
+        when(mockBareConnection.getAsync(SCN)).thenReturn(CompletableFuture.completedFuture(bareAuthority));
+        when(mockBareConnection.getAsync(OTHER_SCN))
+            .thenReturn(CompletableFuture.failedFuture(new IOException(ERROR_MESSAGE)));
+
+        BatchFetchAuthorityResponse response = fetch(newHandler(PARALLELISM), List.of(SCN, OTHER_SCN));
+
+        assertTrue(response.isComplete());
+        assertEquals(HTTP_OK, response.getResults().get(0).getStatus());
+        BatchFetchAuthorityResult failed = response.getResults().get(1);
+        assertEquals(HTTP_BAD_GATEWAY, failed.getStatus());
+        assertEquals(ERROR_MESSAGE, failed.getError());
+        assertNull(failed.getAuthority());
+    }
+
+    @Test
+    public void handlerReturnsNotFoundForItemsBareHasNoAuthorityFor() throws IOException {
+        when(mockBareConnection.getAsync(SCN)).thenReturn(CompletableFuture.completedFuture(bareAuthority));
+        when(mockBareConnection.getAsync(OTHER_SCN))
+            .thenReturn(CompletableFuture.failedFuture(new AuthorityNotFoundException(OTHER_SCN)));
+
+        BatchFetchAuthorityResponse response = fetch(newHandler(PARALLELISM), List.of(SCN, OTHER_SCN));
+
+        BatchFetchAuthorityResult notFound = response.getResults().get(1);
+        assertEquals(HTTP_NOT_FOUND, notFound.getStatus());
+        assertThat(notFound.getError(), containsString(OTHER_SCN));
+        assertNull(notFound.getAuthority());
+    }
+
+    @Test
+    public void handlerReturnsTooManyRequestsForItemsThrottledBeforeReachingBare() throws IOException {
+        when(mockBareConnection.getAsync(SCN)).thenReturn(CompletableFuture.completedFuture(bareAuthority));
+        when(mockBareConnection.getAsync(OTHER_SCN)).thenReturn(CompletableFuture.failedFuture(
+            new BareThrottledException(BareOperation.GET, Duration.ofSeconds(1))));
+
+        BatchFetchAuthorityResponse response = fetch(newHandler(PARALLELISM), List.of(SCN, OTHER_SCN));
+
+        assertEquals(HTTP_OK, response.getResults().get(0).getStatus());
+        assertEquals(BareThrottledException.HTTP_TOO_MANY_REQUESTS, response.getResults().get(1).getStatus());
+    }
+
+    @Test
+    public void handlerReturnsPartialResultsWhenDeadlineIsReached() throws IOException {
+        when(context.getRemainingTimeInMillis()).thenReturn(SHORT_DEADLINE_MILLIS);
+        when(mockBareConnection.getAsync(SCN)).thenReturn(CompletableFuture.completedFuture(bareAuthority));
+        when(mockBareConnection.getAsync(OTHER_SCN)).thenReturn(new CompletableFuture<>());
+
+        BatchFetchAuthorityResponse response = fetch(newHandler(PARALLELISM), List.of(SCN, OTHER_SCN));
+
+        assertFalse(response.isComplete());
+        assertEquals(HTTP_OK, response.getResults().get(0).getStatus());
+        assertEquals(HTTP_GATEWAY_TIMEOUT, response.getResults().get(1).getStatus());
+        assertEquals(DEADLINE_REACHED, response.getResults().get(1).getError());
+    }
+
+    @Test
+    public void handlerDoesNotStartMoreReadsThanParallelismAllows() throws IOException {
+        when(context.getRemainingTimeInMillis()).thenReturn(SHORT_DEADLINE_MILLIS);
+        when(mockBareConnection.getAsync(SCN)).thenReturn(new CompletableFuture<>());
+
+        BatchFetchAuthorityResponse response = fetch(newHandler(1), List.of(SCN, OTHER_SCN));
+
+        assertFalse(response.isComplete());
+        assertEquals(HTTP_GATEWAY_TIMEOUT, response.getResults().get(0).getStatus());
+        assertEquals(HTTP_GATEWAY_TIMEOUT, response.getResults().get(1).getStatus());
+        verify(mockBareConnection, never()).getAsync(OTHER_SCN);
+    }
+
+    @Test
+    public void handlerReturnsBadRequestWhenScnListIsEmpty() throws IOException {
+        GatewayResponse<Void> response = send(newHandler(PARALLELISM), Collections.emptyList());
+
+        assertEquals(HTTP_BAD_REQUEST, response.getStatusCode());
+        assertThat(response.getBody(), containsString(BODY_ARGS_MISSING));
+    }
+
+    @Test
+    public void handlerReturnsBadRequestWhenScnListContainsBlankValue() throws IOException {
+        GatewayResponse<Void> response = send(newHandler(PARALLELISM), List.of(SCN, " "));
+
+        assertEquals(HTTP_BAD_REQUEST, response.getStatusCode());
+        assertThat(response.getBody(), containsString(BLANK_SYSTEM_CONTROL_NUMBER));
+    }
+
+    @Test
+    public void handlerReturnsBadRequestWhenBatchIsTooLarge() throws IOException {
+        BatchFetchAuthorityHandler handler = new BatchFetchAuthorityHandler(mockBareConnection, PARALLELISM, 1);
+
+        GatewayResponse<Void> response = send(handler, List.of(SCN, OTHER_SCN));
+
+        assertEquals(HTTP_BAD_REQUEST, response.getStatusCode());
+        verify(mockBareConnection, never()).getAsync(anyString());
+    }
+
+    @Test
+    public void handlerReturnsBadRequestWhenBodyIsMissing() throws IOException {
+        InputStream request = new HandlerRequestBuilder<BatchFetchAuthorityRequest>(defaultRestObjectMapper).build();
+
+        newHandler(PARALLELISM).handleRequest(request, outputStream, context);
+        GatewayResponse<Void> response = GatewayResponse.fromOutputStream(outputStream);
+
+        assertEquals(HTTP_BAD_REQUEST, response.getStatusCode());
+    }
+
+    private BatchFetchAuthorityHandler newHandler(int parallelism) {
+        return new BatchFetchAuthorityHandler(mockBareConnection, parallelism, MAX_BATCH_SIZE);
+    }
+
+    private BatchFetchAuthorityResponse fetch(BatchFetchAuthorityHandler handler, List<String> scns)
+        throws IOException {
+        GatewayResponse<Void> response = send(handler, scns);
+        assertEquals(HTTP_OK, response.getStatusCode());
+        return defaultRestObjectMapper.readValue(response.getBody(), BatchFetchAuthorityResponse.class);
+    }
+
+    private GatewayResponse<Void> send(BatchFetchAuthorityHandler handler, List<String> scns) throws IOException {
+        InputStream request = new HandlerRequestBuilder<BatchFetchAuthorityRequest>(defaultRestObjectMapper)
+            .withBody(new BatchFetchAuthorityRequest(scns))
+            .build();
+        handler.handleRequest(request, outputStream, context);
+        return GatewayResponse.fromOutputStream(outputStream);
+    }
+}
@@ -0,0 +1,276 @@
+package no.unit.nva.bare;
+
+import static java.net.HttpURLConnection.HTTP_BAD_GATEWAY;
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_GATEWAY_TIMEOUT;
+import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
+import static java.net.HttpURLConnection.HTTP_NO_CONTENT;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import static no.unit.nva.bare.BatchIdentifierMutationHandler.DEADLINE_REACHED;
+import static no.unit.nva.bare.BatchIdentifierMutationHandler.HTTP_FAILED_DEPENDENCY;
+import static no.unit.nva.bare.BatchIdentifierMutationHandler.OUTCOME_UNKNOWN;
+import static no.unit.nva.bare.BatchIdentifierMutationHandler.REMOTE_SERVER_ERRORMESSAGE;
+import static no.unit.nva.bare.BatchIdentifierMutationHandler.SKIPPED_AFTER_FAILURE;
+import static no.unit.nva.bare.IdentifierOperation.INVALID_QUALIFIER;
+import static no.unit.nva.bare.IdentifierOperation.MISSING_IDENTIFIER;
+import static no.unit.nva.bare.IdentifierOperation.MISSING_OPERATION;
+import static no.unit.nva.bare.IdentifierOperation.MISSING_SCN;
+import static no.unit.nva.bare.IdentifierOperation.MISSING_UPDATED_IDENTIFIER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import com.amazonaws.services.lambda.runtime.Context;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import no.unit.nva.testutils.HandlerRequestBuilder;
+import nva.commons.apigateway.GatewayResponse;
+import nva.commons.core.ioutils.IoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BatchIdentifierMutationHandlerTest {
+
+    public static final String BARE_SINGLE_AUTHORITY_GET_RESPONSE_WITH_ALL_IDS_JSON =
+        "/bareSingleAuthorityGetResponseWithAllIds.json";
+    public static final String SCN = "90517730";
+    public static final String OTHER_SCN = "90517731";
+    public static final String ORCID = "orcid";
+    public static final String FEIDEID = "feideid";
+    public static final String FEIDE = "feide";
+    public static final String IDENTIFIER = "0000-0001-7884-3049";
+    public static final String UPDATED_IDENTIFIER = "0000-0001-7884-3050";
+    public static final String ERROR_MESSAGE = "Bare is down";
+    public static final int PARALLELISM = 5;
+    public static final int MAX_BATCH_SIZE = 10;
+    public static final int SHORT_DEADLINE_MILLIS =
+        (int) Config.BATCH_MUTATION_DEADLINE_MARGIN.toMillis() + 200;
+
+    private BareConnection mockBareConnection;
+    private HttpResponse<String> okResponse;
+    private Context context;
+    private ByteArrayOutputStream outputStream;
+    private BareAuthority bareAuthority;
+
+    /**
+     * Initialize mocks.
+     */
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        mockBareConnection = mock(BareConnection.class);
+        okResponse = mock(HttpResponse.class);
+        when(okResponse.statusCode()).thenReturn(HTTP_OK);
+        context = mock(Context.class);
+        outputStream = new ByteArrayOutputStream();
+        bareAuthority = BareAuthority.fromJson(IoUtils.streamToString(BatchIdentifierMutationHandlerTest.class
+            .getResourceAsStream(BARE_SINGLE_AUTHORITY_GET_RESPONSE_WITH_ALL_IDS_JSON)));
+        when(mockBareConnection.getAsync(anyString())).thenReturn(CompletableFuture.completedFuture(bareAuthority));
+    }
+
+    @Test
+    public void handlerRunsEveryOperationAndReadsEachChangedAuthorityOnce() throws IOException {
+        when(mockBareConnection.addNewIdentifierAsync(anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(okResponse));
+        when(mockBareConnection.deleteIdentifierAsync(anyString(), anyString(), anyString()))
+            .thenReturn(CompletableFuture.completedFuture(okResponse));
+        when(mockBareConnection.updateIdentifierAsync(anyString(), anyString(), anyString(), anyString()))
+            .thenReturn(CompletableFuture.completedFuture(okResponse));
+
+        BatchIdentifierMutationResponse response = mutate(newHandler(PARALLELISM), List.of(
+            operation(SCN, IdentifierOperationType.ADD, ORCID, IDENTIFIER),
+            operation(SCN, IdentifierOperationType.DELETE, FEIDEID, IDENTIFIER),
+            new IdentifierOperation(OTHER_SCN, IdentifierOperationType.UPDATE, ORCID, IDENTIFIER,
+                                    UPDATED_IDENTIFIER)));
+
+        assertTrue(response.isComplete());
+        assertEquals(3, response.getResults().size());
+        response.getResults().forEach(result -> assertEquals(HTTP_OK, result.getStatus()));
+        assertEquals(2, response.getAuthorities().size());
+        assertEquals(SCN, response.getAuthorities().get(0).getSystemControlNumber());
+        verify(mockBareConnection, times(1)).getAsync(SCN);
+        verify(mockBareConnection, times(1)).getAsync(OTHER_SCN);
+        verify(mockBareConnection).deleteIdentifierAsync(SCN, FEIDE, IDENTIFIER);
+        verify(mockBareConnection).updateIdentifierAsync(OTHER_SCN, ORCID, IDENTIFIER, UPDATED_IDENTIFIER);
+    }
+
+    @Test
+    public void handlerReportsFailedOperationsPerItemAndSkipsReadWhenNothingChanged() throws IOException {
+        HttpResponse<String> failedResponse = mockResponse(HTTP_INTERNAL_ERROR, ERROR_MESSAGE);
+        when(mockBareConnection.addNewIdentifierAsync(eq(SCN), any()))
+            .thenReturn(CompletableFuture.completedFuture(failedResponse));
+        when(mockBareConnection.addNewIdentifierAsync(eq(OTHER_SCN), any()))
+            .thenReturn(CompletableFuture.failedFuture(new IOException(ERROR_MESSAGE)));
+
+        BatchIdentifierMutationResponse response = mutate(newHandler(PARALLELISM), List.of(
+            operation(SCN, IdentifierOperationType.ADD, ORCID, IDENTIFIER),
+            operation(OTHER_SCN, IdentifierOperationType.ADD, ORCID, IDENTIFIER)));
+
+        assertTrue(response.isComplete());
+        assertEquals(HTTP_BAD_GATEWAY, response.getResults().get(0).getStatus());
+        assertEquals(REMOTE_SERVER_ERRORMESSAGE + ERROR_MESSAGE, response.getResults().get(0).getError());
+        assertEquals(ERROR_MESSAGE, response.getResults().get(1).getError());
+        assertTrue(response.getAuthorities().isEmpty());
+        verify(mockBareConnection, never()).getAsync(anyString());
+    }
+
+    @Test
+    public void handlerAcceptsNoContentFromBareAndReportsFailedRereadPerAuthority() throws IOException {
+        when(mockBareConnection.deleteIdentifierAsync(anyString(), anyString(), anyString()))
+            .thenReturn(CompletableFuture.completedFuture(mockResponse(HTTP_NO_CONTENT, null)));
+        when(mockBareConnection.getAsync(SCN))
+            .thenReturn(CompletableFuture.failedFuture(new IOException(ERROR_MESSAGE)));
+
+        BatchIdentifierMutationResponse response = mutate(newHandler(PARALLELISM), List.of(
+            operation(SCN, IdentifierOperationType.DELETE, ORCID, IDENTIFIER)));
+
+        assertEquals(HTTP_OK, response.getResults().get(0).getStatus());
+        assertEquals(HTTP_BAD_GATEWAY, response.getAuthorities().get(0).getStatus());
+        assertEquals(ERROR_MESSAGE, response.getAuthorities().get(0).getError());
+    }
+
+    @Test
+    public void handlerReportsInvalidOperationsWithoutStoppingTheBatch() throws IOException {
+        when(mockBareConnection.addNewIdentifierAsync(anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(okResponse));
+
+        BatchIdentifierMutationResponse response = mutate(newHandler(PARALLELISM), List.of(
+            operation(null, IdentifierOperationType.ADD, ORCID, IDENTIFIER),
+            operation(SCN, null, ORCID, IDENTIFIER),
+            operation(SCN, IdentifierOperationType.ADD, "handle", IDENTIFIER),
+            operation(SCN, IdentifierOperationType.ADD, ORCID, " "),
+            operation(SCN, IdentifierOperationType.UPDATE, ORCID, IDENTIFIER),
+            operation(SCN, IdentifierOperationType.ADD, ORCID, IDENTIFIER)));
+
+        assertEquals(MISSING_SCN, response.getResults().get(0).getError());
+        assertEquals(MISSING_OPERATION, response.getResults().get(1).getError());
+        assertEquals(INVALID_QUALIFIER, response.getResults().get(2).getError());
+        assertEquals(MISSING_IDENTIFIER, response.getResults().get(3).getError());
+        assertEquals(MISSING_UPDATED_IDENTIFIER, response.getResults().get(4).getError());
+        response.getResults().subList(0, 5).forEach(result -> assertEquals(HTTP_BAD_REQUEST, result.getStatus()));
+        assertEquals(HTTP_OK, response.getResults().get(5).getStatus());
+        verify(mockBareConnection, times(1)).addNewIdentifierAsync(anyString(), any());
+    }
+
+    @Test
+    public void handlerReportsOperationsNotRunBeforeDeadline() throws IOException {
+        when(context.getRemainingTimeInMillis()).thenReturn(SHORT_DEADLINE_MILLIS);
+        when(mockBareConnection.addNewIdentifierAsync(anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        BatchIdentifierMutationResponse response = mutate(newHandler(1), List.of(
+            operation(SCN, IdentifierOperationType.ADD, ORCID, IDENTIFIER),
+            operation(OTHER_SCN, IdentifierOperationType.ADD, ORCID, IDENTIFIER)));
+
+        assertFalse(response.isComplete());
+        response.getResults().forEach(result -> assertEquals(HTTP_GATEWAY_TIMEOUT, result.getStatus()));
+        assertEquals(OUTCOME_UNKNOWN, response.getResults().get(0).getError());
+        assertEquals(DEADLINE_REACHED, response.getResults().get(1).getError());
+        verify(mockBareConnection, never()).addNewIdentifierAsync(eq(OTHER_SCN), any());
+    }
+
+    @Test
+    public void handlerDoesNotStartOperationOnAuthorityAfterDeadline() throws IOException {
+        when(context.getRemainingTimeInMillis()).thenReturn(SHORT_DEADLINE_MILLIS);
+        CompletableFuture<HttpResponse<String>> pendingAdd = new CompletableFuture<>();
+        when(mockBareConnection.addNewIdentifierAsync(anyString(), any())).thenReturn(pendingAdd);
+
+        BatchIdentifierMutationResponse response = mutate(newHandler(PARALLELISM), List.of(
+            operation(SCN, IdentifierOperationType.ADD, ORCID, IDENTIFIER),
+            operation(SCN, IdentifierOperationType.DELETE, ORCID, IDENTIFIER)));
+        pendingAdd.complete(okResponse);
+
+        assertEquals(OUTCOME_UNKNOWN, response.getResults().get(0).getError());
+        assertEquals(DEADLINE_REACHED, response.getResults().get(1).getError());
+        verify(mockBareConnection, never()).deleteIdentifierAsync(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void handlerSkipsLaterOperationsOnAuthorityWhenOperationThrows() throws IOException {
+        when(mockBareConnection.addNewIdentifierAsync(eq(SCN), any()))
+            .thenThrow(new IllegalStateException(ERROR_MESSAGE));
+        when(mockBareConnection.addNewIdentifierAsync(eq(OTHER_SCN), any()))
+            .thenReturn(CompletableFuture.completedFuture(okResponse));
+
+        BatchIdentifierMutationResponse response = mutate(newHandler(PARALLELISM), List.of(
+            operation(SCN, IdentifierOperationType.ADD, ORCID, IDENTIFIER),
+            operation(SCN, IdentifierOperationType.DELETE, ORCID, IDENTIFIER),
+            operation(OTHER_SCN, IdentifierOperationType.ADD, ORCID, IDENTIFIER)));
+
+        assertTrue(response.isComplete());
+        assertEquals(HTTP_BAD_GATEWAY, response.getResults().get(0).getStatus());
+        assertEquals(ERROR_MESSAGE, response.getResults().get(0).getError());
+        assertEquals(HTTP_FAILED_DEPENDENCY, response.getResults().get(1).getStatus());
+        assertEquals(SKIPPED_AFTER_FAILURE, response.getResults().get(1).getError());
+        assertEquals(HTTP_OK, response.getResults().get(2).getStatus());
+        verify(mockBareConnection, never()).deleteIdentifierAsync(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void handlerReturnsBadRequestWhenOperationsAreMissingOrTooMany() throws IOException {
+        assertEquals(HTTP_BAD_REQUEST, send(newHandler(PARALLELISM), Collections.emptyList()).getStatusCode());
+
+        BatchIdentifierMutationHandler handler = new BatchIdentifierMutationHandler(mockBareConnection, 1, 1);
+        GatewayResponse<Void> response = send(handler, List.of(
+            operation(SCN, IdentifierOperationType.ADD, ORCID, IDENTIFIER),
+            operation(OTHER_SCN, IdentifierOperationType.ADD, ORCID, IDENTIFIER)));
+
+        assertEquals(HTTP_BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    public void handlerReturnsBadRequestWhenBodyIsMissing() throws IOException {
+        InputStream request =
+            new HandlerRequestBuilder<BatchIdentifierMutationRequest>(defaultRestObjectMapper).build();
+
+        new BatchIdentifierMutationHandler(mockBareConnection).handleRequest(request, outputStream, context);
+        GatewayResponse<Void> response = GatewayResponse.fromOutputStream(outputStream);
+
+        assertEquals(HTTP_BAD_REQUEST, response.getStatusCode());
+    }
+
+    private static IdentifierOperation operation(String scn, IdentifierOperationType type, String qualifier,
+                                                 String identifier) {
+        return new IdentifierOperation(scn, type, qualifier, identifier, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<String> mockResponse(int statusCode, String body) {
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(statusCode);
+        when(response.body()).thenReturn(body);
+        return response;
+    }
+
+    private BatchIdentifierMutationHandler newHandler(int parallelism) {
+        return new BatchIdentifierMutationHandler(mockBareConnection, parallelism, MAX_BATCH_SIZE);
+    }
+
+    private BatchIdentifierMutationResponse mutate(BatchIdentifierMutationHandler handler,
+                                                   List<IdentifierOperation> operations) throws IOException {
+        GatewayResponse<Void> response = send(handler, operations);
+        assertEquals(HTTP_OK, response.getStatusCode());
+        return defaultRestObjectMapper.readValue(response.getBody(), BatchIdentifierMutationResponse.class);
+    }
+
+    private GatewayResponse<Void> send(BatchIdentifierMutationHandler handler, List<IdentifierOperation> operations)
+        throws IOException {
+        InputStream request = new HandlerRequestBuilder<BatchIdentifierMutationRequest>(defaultRestObjectMapper)
+            .withBody(new BatchIdentifierMutationRequest(operations))
+            .build();
+        handler.handleRequest(request, outputStream, context);
+        return GatewayResponse.fromOutputStream(outputStream);
+    }
+}
@@ -22,6 +22,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import com.amazonaws.services.lambda.runtime.Context;
 import java.io.ByteArrayOutputStream;
@@ -30,6 +32,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.http.HttpResponse;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import no.unit.nva.testutils.HandlerUtils;
 import no.unit.nva.testutils.TestHeaders;
@@ -209,6 +212,67 @@ public class DeleteAuthorityIdentifierHandlerTest {
         assertEquals(HTTP_OK, gatewayResponse.getStatusCode());
     }
 
+    @Test
+    @DisplayName("handler Returns Authority Read From Bare Without Deleting When It Does Not Have The Identifier")
+    public void handlerReturnsAuthorityReadFromBareWithoutDeletingWhenItDoesNotHaveTheIdentifier() throws Exception {
+
+        InputStream is =
+            DeleteAuthorityIdentifierHandler.class.getResourceAsStream(BARE_SINGLE_AUTHORITY_GET_RESPONSE_JSON);
+        final BareAuthority bareAuthority = defaultRestObjectMapper.readValue(new InputStreamReader(is),
+                                                                            BareAuthority.class);
+        BareAuthority withoutIdentifier =
+            bareAuthority.withIdentifierRemoved(ValidIdentifierSource.feide.asString(), MOCK_FEIDEID_VALUE);
+        when(bareConnection.getCached(MOCK_SCN_VALUE)).thenReturn(Optional.of(withoutIdentifier));
+        when(bareConnection.getFromBare(MOCK_SCN_VALUE)).thenReturn(withoutIdentifier);
+
+        deleteAuthorityIdentifierHandler = new DeleteAuthorityIdentifierHandler(mockEnvironment, bareConnection);
+        DeleteAuthorityIdentifierRequest requestObject = new DeleteAuthorityIdentifierRequest(MOCK_FEIDEID_VALUE);
+        Map<String, String> pathParams = getPathParameters(MOCK_SCN_VALUE, ValidIdentifierKey.FEIDEID.asString());
+        InputStream input = new HandlerUtils(
+            defaultRestObjectMapper).requestObjectToApiGatewayRequestInputSteam(requestObject,
+                                                                              TestHeaders.getRequestHeaders(),
+                                                                              pathParams, null);
+        deleteAuthorityIdentifierHandler.handleRequest(input, output, context);
+        nva.commons.apigateway.GatewayResponse gatewayResponse =
+            defaultRestObjectMapper.readValue(output.toString(), nva.commons.apigateway.GatewayResponse.class);
+
+        assertEquals(HTTP_OK, gatewayResponse.getStatusCode());
+        assertEquals(1, deleteAuthorityIdentifierHandler.getSkippedWriteCount());
+        verify(bareConnection, never()).deleteIdentifier(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("handler Deletes Identifier When Only The Cached Authority Lacks It")
+    public void handlerDeletesIdentifierWhenOnlyTheCachedAuthorityLacksIt() throws Exception {
+
+        InputStream is =
+            DeleteAuthorityIdentifierHandler.class.getResourceAsStream(BARE_SINGLE_AUTHORITY_GET_RESPONSE_JSON);
+        final BareAuthority bareAuthority = defaultRestObjectMapper.readValue(new InputStreamReader(is),
+                                                                            BareAuthority.class);
+        when(bareConnection.getCached(MOCK_SCN_VALUE)).thenReturn(Optional.of(
+            bareAuthority.withIdentifierRemoved(ValidIdentifierSource.feide.asString(), MOCK_FEIDEID_VALUE)));
+        when(bareConnection.getFromBare(MOCK_SCN_VALUE)).thenReturn(
+            bareAuthority.withIdentifierAdded(ValidIdentifierSource.feide.asString(), MOCK_FEIDEID_VALUE));
+        when(bareConnection.get(anyString())).thenReturn(bareAuthority);
+        when(httpResponse.statusCode()).thenReturn(HTTP_OK);
+        when(bareConnection.deleteIdentifier(any(), any(), any())).thenReturn(httpResponse);
+
+        deleteAuthorityIdentifierHandler = new DeleteAuthorityIdentifierHandler(mockEnvironment, bareConnection);
+        DeleteAuthorityIdentifierRequest requestObject = new DeleteAuthorityIdentifierRequest(MOCK_FEIDEID_VALUE);
+        Map<String, String> pathParams = getPathParameters(MOCK_SCN_VALUE, ValidIdentifierKey.FEIDEID.asString());
+        InputStream input = new HandlerUtils(
+            defaultRestObjectMapper).requestObjectToApiGatewayRequestInputSteam(requestObject,
+                                                                              TestHeaders.getRequestHeaders(),
+                                                                              pathParams, null);
+        deleteAuthorityIdentifierHandler.handleRequest(input, output, context);
+        nva.commons.apigateway.GatewayResponse gatewayResponse =
+            defaultRestObjectMapper.readValue(output.toString(), nva.commons.apigateway.GatewayResponse.class);
+
+        assertEquals(HTTP_OK, gatewayResponse.getStatusCode());
+        assertEquals(0, deleteAuthorityIdentifierHandler.getSkippedWriteCount());
+        verify(bareConnection).deleteIdentifier(any(), any(), any());
+    }
+
     @Test
     @DisplayName("handler Returns Internal Server Error Response When Bare Connection Error")
     public void handlerReturnsInternalServerErrorWhenBareConnectionError() throws Exception {
@@ -3,33 +3,53 @@ package no.unit.nva.bare;
 import static com.google.common.net.MediaType.JSON_UTF_8;
 import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
 import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
 import static java.net.HttpURLConnection.HTTP_OK;
 import static no.unit.nva.bare.AddNewAuthorityIdentifierHandlerTest.BARE_SINGLE_AUTHORITY_GET_RESPONSE_JSON;
 import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
 import static no.unit.nva.bare.FetchAuthorityHandler.ARPID_KEY;
+import static no.unit.nva.bare.FetchAuthorityHandler.MAX_KEY;
+import static no.unit.nva.bare.FetchAuthorityHandler.NEXT_PAGE_START_HEADER;
 import static no.unit.nva.bare.FetchAuthorityHandler.QUERY_STRING_PARAMETERS_KEY;
+import static no.unit.nva.bare.FetchAuthorityHandler.START_KEY;
+import static no.unit.nva.bare.FetchAuthorityHandler.TOTAL_COUNT_HEADER;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.google.common.net.HttpHeaders;
 import com.google.common.net.MediaType;
+import no.unit.nva.bare.store.InMemoryKeyValueStore;
+import no.unit.nva.bare.tracing.InMemoryTraceRecorder;
 import nva.commons.core.Environment;
 import nva.commons.core.ioutils.IoUtils;
+import nva.commons.logutils.LogUtils;
+import nva.commons.logutils.TestAppender;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.stubbing.OngoingStubbing;
@@ -44,6 +64,10 @@ public class FetchAuthorityHandlerTest {
     public static final String FEIDEID_KEY = ValidIdentifierKey.FEIDEID.asString();
     public static final String ORCID_KEY = ValidIdentifierKey.ORCID.asString();
     public static final String SAMPLE_IDENTIFIER = "0000-1111-2222-3333";
+    public static final String INDEXED_ORCID = "0000-0001-7884-3049";
+    public static final String MALFORMED_SCN = "../identifiers?";
+    public static final String BARE_SINGLE_AUTHORITY_GET_RESPONSE_WITH_ALL_IDS =
+        "bareSingleAuthorityGetResponseWithAllIds.json";
 
     private BareConnection bareConnection;
     private Environment mockEnvironment;
@@ -98,6 +122,23 @@ public class FetchAuthorityHandlerTest {
         assertNotNull(content);
     }
 
+    @Test
+    public void handlerReturnsTimeSpentWaitingForBareConvertingAndSerializingInServerTimingHeader() throws Exception {
+        String httpResponse = IoUtils.stringFromResources(Path.of(BARE_SINGLE_AUTHORITY_GET_RESPONSE_JSON));
+        whenSendingRequest().then(invocation -> mockHttpResponse(httpResponse, HTTP_OK));
+
+        Map<String, Object> event = createEvent(ARPID_KEY, SAMPLE_IDENTIFIER);
+        FetchAuthorityHandler handler = new FetchAuthorityHandler(bareConnection);
+        CustomGatewayResponse result = handler.handleRequest(event, null);
+
+        String serverTiming = result.getHeaders().get(ServerTiming.HEADER);
+        assertThat(serverTiming, containsString("bare;dur="));
+        assertThat(serverTiming, containsString("convert;dur="));
+        assertThat(serverTiming, containsString("serialize;dur="));
+        assertThat(serverTiming, containsString("total;dur="));
+        assertTrue(ServerTiming.current().isEmpty());
+    }
+
     @Test
     public void handlerReturnsInternalServerErrorResponseWhenErrorGettingAuthority() throws Exception {
         whenSendingRequest().thenThrow(new IOException(MY_MOCK_THROWS_AN_EXCEPTION));
@@ -111,6 +152,49 @@ public class FetchAuthorityHandlerTest {
         assertTrue(content.contains(MY_MOCK_THROWS_AN_EXCEPTION));
     }
 
+    @Test
+    public void handlerReturnsNotFoundAndAsksBareOnceWhenBareHasNoSuchAuthority() throws Exception {
+        whenSendingRequest().then(invocation -> mockHttpResponse(MY_MOCK_THROWS_AN_EXCEPTION, HTTP_NOT_FOUND));
+
+        Map<String, Object> event = createEvent(ARPID_KEY, SAMPLE_IDENTIFIER);
+        FetchAuthorityHandler handler = new FetchAuthorityHandler(bareConnection);
+        CustomGatewayResponse result = handler.handleRequest(event, null);
+        CustomGatewayResponse repeatedResult = handler.handleRequest(event, null);
+
+        assertEquals(HTTP_NOT_FOUND, result.getStatusCode());
+        assertEquals(HTTP_NOT_FOUND, repeatedResult.getStatusCode());
+        assertThat(result.getBody(), containsString(SAMPLE_IDENTIFIER));
+        verify(httpClient, times(1)).send(any(), any());
+    }
+
+    @Test
+    public void handlerReturnsNotFoundWithoutAskingBareWhenScnIsMalformed() throws Exception {
+        Map<String, Object> event = createEvent(ARPID_KEY, MALFORMED_SCN);
+        FetchAuthorityHandler handler = new FetchAuthorityHandler(bareConnection);
+        CustomGatewayResponse result = handler.handleRequest(event, null);
+
+        assertEquals(HTTP_NOT_FOUND, result.getStatusCode());
+        verify(httpClient, never()).send(any(), any());
+    }
+
+    @Test
+    public void handlerReturnsTooManyRequestsWithRetryAfterWhenRequestToBareIsThrottled() throws Exception {
+        String httpResponse = IoUtils.stringFromResources(Path.of(BARE_SINGLE_AUTHORITY_GET_RESPONSE_JSON));
+        whenSendingRequest().then(invocation -> mockHttpResponse(httpResponse, HTTP_OK));
+        BareConnection throttledConnection = new BareConnection(httpClient, new AuthorityCache(),
+            new SharedAuthorityCache(new InMemoryKeyValueStore(10)), new ReadYourWrites(),
+            new InMemoryTraceRecorder(), new BareRateLimiter(1.0 / 3600, 1.0 / 3600, Duration.ZERO));
+
+        FetchAuthorityHandler handler = new FetchAuthorityHandler(throttledConnection);
+        CustomGatewayResponse first = handler.handleRequest(createEvent(ARPID_KEY, SAMPLE_IDENTIFIER), null);
+        CustomGatewayResponse result = handler.handleRequest(createEvent(NAME_KEY, "Moser, May-Britt"), null);
+
+        assertEquals(HTTP_OK, first.getStatusCode());
+        assertEquals(BareThrottledException.HTTP_TOO_MANY_REQUESTS, result.getStatusCode());
+        assertNotNull(result.getHeaders().get(BareThrottledException.RETRY_AFTER_HEADER));
+        verify(httpClient, times(1)).send(any(), any());
+    }
+
     @Test
     public void testSuccessfulResponseWithFeideIdParam() throws Exception {
         String responseBody = IoUtils.stringFromResources(Paths.get(BARE_SINGLE_AUTHORITY_RESPONSE_JSON_FILE));
@@ -132,6 +216,64 @@ public class FetchAuthorityHandlerTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void searchByIdentifierFoundUniqueBySearchBeforeReadsAuthorityFoundInIndexInsteadOfSearchingBare() throws Exception {
+        String searchResponseBody = IoUtils.stringFromResources(Paths.get(BARE_SINGLE_AUTHORITY_RESPONSE_JSON_FILE))
+            .replace("\"identifiersMap\": {", "\"identifiersMap\": {\"orcid\": [\"" + INDEXED_ORCID + "\"], ");
+        String getResponseBody =
+            IoUtils.stringFromResources(Paths.get(BARE_SINGLE_AUTHORITY_GET_RESPONSE_WITH_ALL_IDS));
+        List<URI> requestedUris = new ArrayList<>();
+        whenSendingRequest().thenAnswer(invocation -> {
+            URI uri = invocation.<HttpRequest>getArgument(0).uri();
+            requestedUris.add(uri);
+            return mockHttpResponse(uri.getPath().equals(Config.BARE_QUERY_PATH) ? searchResponseBody
+                                                                                  : getResponseBody, HTTP_OK);
+        });
+
+        FetchAuthorityHandler fetchAuthorityHandler = new FetchAuthorityHandler(bareConnection);
+        Map<String, Object> event = createEvent(ORCID_KEY, INDEXED_ORCID);
+        CustomGatewayResponse searched = fetchAuthorityHandler.handleRequest(event, null);
+        CustomGatewayResponse found = fetchAuthorityHandler.handleRequest(event, null);
+
+        assertEquals(HTTP_OK, found.getStatusCode());
+        assertEquals("1", found.getHeaders().get(TOTAL_COUNT_HEADER));
+        assertFalse(found.getHeaders().containsKey(NEXT_PAGE_START_HEADER));
+        List<Authority> searchedAuthorities = defaultRestObjectMapper.readValue(searched.getBody(),
+                                                                                new TypeReference<>() {
+                                                                                });
+        List<Authority> foundAuthorities = defaultRestObjectMapper.readValue(found.getBody(), new TypeReference<>() {
+        });
+        assertEquals(searchedAuthorities.get(0).getSystemControlNumber(),
+                     foundAuthorities.get(0).getSystemControlNumber());
+        assertEquals(2, requestedUris.size());
+        assertEquals(Config.BARE_QUERY_PATH, requestedUris.get(0).getPath());
+        assertEquals(Config.BARE_GET_PATH + "/" + foundAuthorities.get(0).getSystemControlNumber(),
+                     requestedUris.get(1).getPath());
+    }
+
+    @Test
+    public void searchByIdentifierFoundOnMoreThanOneAuthoritySearchesBareAgain() throws Exception {
+        String searchResponseBody = IoUtils.stringFromResources(Paths.get(BARE_SINGLE_AUTHORITY_RESPONSE_JSON_FILE))
+            .replace("\"numFound\": 1", "\"numFound\": 2")
+            .replace("\"identifiersMap\": {", "\"identifiersMap\": {\"orcid\": [\"" + INDEXED_ORCID + "\"], ");
+        List<URI> requestedUris = new ArrayList<>();
+        whenSendingRequest().thenAnswer(invocation -> {
+            URI uri = invocation.<HttpRequest>getArgument(0).uri();
+            requestedUris.add(uri);
+            return mockHttpResponse(searchResponseBody, HTTP_OK);
+        });
+
+        FetchAuthorityHandler fetchAuthorityHandler = new FetchAuthorityHandler(bareConnection);
+        Map<String, Object> event = createEvent(ORCID_KEY, INDEXED_ORCID);
+        fetchAuthorityHandler.handleRequest(event, null);
+        CustomGatewayResponse searchedAgain = fetchAuthorityHandler.handleRequest(event, null);
+
+        assertEquals(HTTP_OK, searchedAgain.getStatusCode());
+        assertEquals("2", searchedAgain.getHeaders().get(TOTAL_COUNT_HEADER));
+        assertEquals(2, requestedUris.size());
+        assertEquals(Config.BARE_QUERY_PATH, requestedUris.get(1).getPath());
+    }
+
     @Test
     public void testHandlerWithNull_QueryParams() throws Exception {
         Map<String, Object> event = new HashMap<>();
@@ -207,6 +349,70 @@ public class FetchAuthorityHandlerTest {
         assertTrue(responseAuthority.isEmpty());
     }
 
+    @Test
+    public void searchPassesPagingToBareAndReturnsTotalCountAndNextPageStart() throws Exception {
+        String responseBody = IoUtils.stringFromResources(Paths.get(BARE_SINGLE_AUTHORITY_RESPONSE_JSON_FILE))
+            .replace("\"numFound\": 1", "\"numFound\": 25");
+        List<URI> requestedUris = new ArrayList<>();
+        whenSendingRequest().thenAnswer(invocation -> {
+            requestedUris.add(invocation.<HttpRequest>getArgument(0).uri());
+            return mockHttpResponse(responseBody, HTTP_OK);
+        });
+
+        Map<String, Object> event = createEvent(NAME_KEY, "Moser, May-Britt");
+        ((Map<String, String>) event.get(QUERY_STRING_PARAMETERS_KEY)).put(START_KEY, "11");
+        ((Map<String, String>) event.get(QUERY_STRING_PARAMETERS_KEY)).put(MAX_KEY, "50");
+        FetchAuthorityHandler fetchAuthorityHandler = new FetchAuthorityHandler(bareConnection, 20);
+        CustomGatewayResponse result = fetchAuthorityHandler.handleRequest(event, null);
+
+        assertEquals(HTTP_OK, result.getStatusCode());
+        assertEquals("25", result.getHeaders().get(TOTAL_COUNT_HEADER));
+        assertEquals("12", result.getHeaders().get(NEXT_PAGE_START_HEADER));
+        assertTrue(requestedUris.get(0).getQuery().contains("start=11&max=20"));
+    }
+
+    @Test
+    public void searchReturnsNoNextPageStartOnLastPage() throws Exception {
+        String responseBody = IoUtils.stringFromResources(Paths.get(BARE_SINGLE_AUTHORITY_RESPONSE_JSON_FILE));
+        whenSendingRequest().thenAnswer(invocation -> mockHttpResponse(responseBody, HTTP_OK));
+
+        Map<String, Object> event = createEvent(NAME_KEY, "Moser, May-Britt");
+        FetchAuthorityHandler fetchAuthorityHandler = new FetchAuthorityHandler(bareConnection);
+        CustomGatewayResponse result = fetchAuthorityHandler.handleRequest(event, null);
+
+        assertEquals(HTTP_OK, result.getStatusCode());
+        assertEquals("1", result.getHeaders().get(TOTAL_COUNT_HEADER));
+        assertFalse(result.getHeaders().containsKey(NEXT_PAGE_START_HEADER));
+    }
+
+    @Test
+    public void searchLogsOneLineSummary() throws Exception {
+        final TestAppender appender = LogUtils.getTestingAppenderForRootLogger();
+        String responseBody = IoUtils.stringFromResources(Paths.get(BARE_SINGLE_AUTHORITY_RESPONSE_JSON_FILE));
+        whenSendingRequest().thenAnswer(invocation -> mockHttpResponse(responseBody, HTTP_OK));
+
+        Map<String, Object> event = createEvent(NAME_KEY, "Moser, May-Britt");
+        FetchAuthorityHandler fetchAuthorityHandler = new FetchAuthorityHandler(bareConnection);
+        CustomGatewayResponse result = fetchAuthorityHandler.handleRequest(event, null);
+
+        assertThat(appender.getMessages(),
+                   containsString("start=1 hits=1 numFound=1 chars=" + result.getBody().length()));
+    }
+
+    @Test
+    public void searchReturnsBadRequestWhenPagingParametersAreInvalid() {
+        FetchAuthorityHandler fetchAuthorityHandler = new FetchAuthorityHandler(bareConnection);
+        for (String invalid : List.of("0", "-1", "ten")) {
+            Map<String, Object> event = createEvent(NAME_KEY, "Moser, May-Britt");
+            ((Map<String, String>) event.get(QUERY_STRING_PARAMETERS_KEY)).put(MAX_KEY, invalid);
+
+            CustomGatewayResponse result = fetchAuthorityHandler.handleRequest(event, null);
+
+            assertEquals(HTTP_BAD_REQUEST, result.getStatusCode());
+            assertTrue(result.getBody().contains(FetchAuthorityHandler.INVALID_PAGING_PARAMETERS));
+        }
+    }
+
     @Test
     public void testFailingRequest() throws Exception {
         whenSendingRequest().thenThrow(new IOException(MY_MOCK_THROWS_AN_EXCEPTION));
@@ -249,9 +455,9 @@ public class FetchAuthorityHandlerTest {
         return when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)));
     }
 
-    private HttpResponse<String> mockHttpResponse(String body, int statusCode) {
-        HttpResponse<String> response = mock(HttpResponse.class);
-        when(response.body()).thenReturn(body);
+    private HttpResponse<InputStream> mockHttpResponse(String body, int statusCode) {
+        HttpResponse<InputStream> response = mock(HttpResponse.class);
+        when(response.body()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
         when(response.statusCode()).thenReturn(statusCode);
         return response;
     }
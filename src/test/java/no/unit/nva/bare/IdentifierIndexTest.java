@@ -0,0 +1,156 @@
+package no.unit.nva.bare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.google.common.base.Ticker;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class IdentifierIndexTest {
+
+    public static final String SCN = "90517730";
+    public static final String OTHER_SCN = "90517731";
+    public static final String FEIDE = ValidIdentifierSource.feide.asString();
+    public static final String ORCID = ValidIdentifierSource.orcid.asString();
+    public static final String ORGUNITID = ValidIdentifierSource.orgunitid.asString();
+    public static final String FEIDE_ID = "may-britt.moser@ntnu.no";
+    public static final String ORCID_ID = "0000-0001-7884-3049";
+    public static final String ORGUNIT_ID = "194.0.0.0";
+    public static final Duration TIME_TO_LIVE = Duration.ofMinutes(1);
+    public static final long MAXIMUM_SIZE = 10;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+
+    @Test
+    public void lookUpReturnsSystemControlNumberOfOnlyAuthoritySearchFoundHavingFeideOrOrcidIdentifier() {
+        IdentifierIndex identifierIndex = newIdentifierIndex();
+
+        identifierIndex.confirm(ValidIdentifierSource.feide, FEIDE_ID, searchResult(1, authority(SCN)));
+        identifierIndex.confirm(ValidIdentifierSource.orcid, " " + ORCID_ID, searchResult(1, authority(SCN)));
+        identifierIndex.confirm(ValidIdentifierSource.orgunitid, ORGUNIT_ID, searchResult(1, authority(SCN)));
+
+        assertEquals(SCN, identifierIndex.lookUp(ValidIdentifierSource.feide, FEIDE_ID).orElseThrow());
+        assertEquals(SCN, identifierIndex.lookUp(ValidIdentifierSource.orcid, ORCID_ID).orElseThrow());
+        assertTrue(identifierIndex.lookUp(ValidIdentifierSource.orgunitid, ORGUNIT_ID).isEmpty());
+        assertTrue(identifierIndex.lookUp(ValidIdentifierSource.feide, null).isEmpty());
+    }
+
+    @Test
+    public void confirmIndexesNothingWhenSearchFoundOtherThanOneAuthorityHavingIdentifier() {
+        IdentifierIndex identifierIndex = newIdentifierIndex();
+        identifierIndex.confirm(ValidIdentifierSource.feide, FEIDE_ID, searchResult(1, authority(SCN)));
+
+        identifierIndex.confirm(ValidIdentifierSource.feide, FEIDE_ID, searchResult(2, authority(SCN)));
+        identifierIndex.confirm(ValidIdentifierSource.orcid, ORCID_ID, searchResult(0));
+        identifierIndex.confirm(ValidIdentifierSource.orcid, ORCID_ID, searchResult(1, new BareAuthority()));
+
+        assertTrue(identifierIndex.lookUp(ValidIdentifierSource.feide, FEIDE_ID).isEmpty());
+        assertTrue(identifierIndex.lookUp(ValidIdentifierSource.orcid, ORCID_ID).isEmpty());
+    }
+
+    @Test
+    public void lookUpReturnsEmptyAfterEntryExpired() {
+        IdentifierIndex identifierIndex = newIdentifierIndex();
+        identifierIndex.confirm(ValidIdentifierSource.feide, FEIDE_ID, searchResult(1, authority(SCN)));
+
+        nanos.addAndGet(TIME_TO_LIVE.plusSeconds(1).toNanos());
+
+        assertTrue(identifierIndex.lookUp(ValidIdentifierSource.feide, FEIDE_ID).isEmpty());
+    }
+
+    @Test
+    public void identifierSeenOnAnotherAuthorityIsDropped() {
+        IdentifierIndex identifierIndex = newIdentifierIndex();
+        identifierIndex.confirm(ValidIdentifierSource.feide, FEIDE_ID, searchResult(1, authority(SCN)));
+        identifierIndex.confirm(ValidIdentifierSource.orcid, ORCID_ID, searchResult(1, authority(SCN)));
+
+        identifierIndex.reconcile(authority(SCN));
+        assertEquals(SCN, identifierIndex.lookUp(ValidIdentifierSource.feide, FEIDE_ID).orElseThrow());
+
+        identifierIndex.reconcile(authority(OTHER_SCN));
+        identifierIndex.add(OTHER_SCN, ORGUNITID, ORGUNIT_ID);
+
+        assertTrue(identifierIndex.lookUp(ValidIdentifierSource.feide, FEIDE_ID).isEmpty());
+        assertTrue(identifierIndex.lookUp(ValidIdentifierSource.orcid, ORCID_ID).isEmpty());
+    }
+
+    @Test
+    public void addDropsIdentifierIndexedForAnotherAuthorityAndIndexesNoNewIdentifier() {
+        IdentifierIndex identifierIndex = newIdentifierIndex();
+        identifierIndex.confirm(ValidIdentifierSource.feide, FEIDE_ID, searchResult(1, authority(SCN)));
+
+        identifierIndex.add(SCN, FEIDE, FEIDE_ID);
+        identifierIndex.add(SCN, ORCID, ORCID_ID);
+        assertEquals(SCN, identifierIndex.lookUp(ValidIdentifierSource.feide, FEIDE_ID).orElseThrow());
+        assertTrue(identifierIndex.lookUp(ValidIdentifierSource.orcid, ORCID_ID).isEmpty());
+
+        identifierIndex.add(OTHER_SCN, FEIDE, FEIDE_ID);
+        assertTrue(identifierIndex.lookUp(ValidIdentifierSource.feide, FEIDE_ID).isEmpty());
+    }
+
+    @Test
+    public void removeDropsIdentifierOnlyWhenIndexedForSameAuthority() {
+        IdentifierIndex identifierIndex = newIdentifierIndex();
+        identifierIndex.confirm(ValidIdentifierSource.feide, FEIDE_ID, searchResult(1, authority(SCN)));
+        identifierIndex.confirm(ValidIdentifierSource.orcid, ORCID_ID, searchResult(1, authority(SCN)));
+
+        identifierIndex.remove(OTHER_SCN, ORCID, ORCID_ID);
+        identifierIndex.remove(SCN, FEIDE, FEIDE_ID);
+        identifierIndex.remove(SCN, ORGUNITID, ORGUNIT_ID);
+
+        assertTrue(identifierIndex.lookUp(ValidIdentifierSource.feide, FEIDE_ID).isEmpty());
+        assertEquals(SCN, identifierIndex.lookUp(ValidIdentifierSource.orcid, ORCID_ID).orElseThrow());
+    }
+
+    @Test
+    public void disabledIndexIndexesNothing() {
+        IdentifierIndex identifierIndex = new IdentifierIndex(false, MAXIMUM_SIZE, TIME_TO_LIVE, ticker);
+
+        identifierIndex.confirm(ValidIdentifierSource.feide, FEIDE_ID, searchResult(1, authority(SCN)));
+        identifierIndex.reconcile(authority(SCN));
+        identifierIndex.add(SCN, ORCID, ORCID_ID);
+        identifierIndex.remove(SCN, ORCID, ORCID_ID);
+
+        assertEquals(0L, identifierIndex.size());
+        assertTrue(identifierIndex.lookUp(ValidIdentifierSource.feide, FEIDE_ID).isEmpty());
+    }
+
+    @Test
+    public void indexEvictsIdentifiersWhenFull() {
+        IdentifierIndex identifierIndex = new IdentifierIndex(true, 1, TIME_TO_LIVE, ticker);
+
+        identifierIndex.confirm(ValidIdentifierSource.feide, FEIDE_ID, searchResult(1, authority(SCN)));
+        identifierIndex.confirm(ValidIdentifierSource.orcid, ORCID_ID, searchResult(1, authority(SCN)));
+
+        assertEquals(1L, identifierIndex.size());
+    }
+
+    private IdentifierIndex newIdentifierIndex() {
+        return new IdentifierIndex(true, MAXIMUM_SIZE, TIME_TO_LIVE, ticker);
+    }
+
+    private static BareQueryResponse searchResult(int numFound, BareAuthority... hits) {
+        BareQueryResponse searchResult = new BareQueryResponse();
+        searchResult.results = hits;
+        searchResult.setNumFound(numFound);
+        return searchResult;
+    }
+
+    private static BareAuthority authority(String scn) {
+        BareAuthority bareAuthority = new BareAuthority();
+        bareAuthority.setSystemControlNumber(scn);
+        bareAuthority.setIdentifiersMap(Map.of(FEIDE, List.of(FEIDE_ID),
+                                               ORCID, List.of(ORCID_ID),
+                                               ORGUNITID, List.of(ORGUNIT_ID)));
+        return bareAuthority;
+    }
+}
@@ -0,0 +1,48 @@
+package no.unit.nva.bare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class Marc21Test {
+
+    public static final String SUBCODE_A = "a";
+    public static final String NAME = "Moser, May-Britt";
+
+    @Test
+    public void getSubfieldListReturnsSameReadOnlyViewOnEveryCall() {
+        Subfield subfield = new Subfield();
+        subfield.setSubcode(SUBCODE_A);
+        subfield.setValue(NAME);
+        Marc21 marc = new Marc21();
+        marc.setSubfields(subfield);
+
+        List<Subfield> subfields = marc.getSubfieldList();
+
+        assertEquals(List.of(subfield), subfields);
+        assertSame(subfields, marc.getSubfieldList());
+        assertThrows(UnsupportedOperationException.class, () -> subfields.set(0, new Subfield()));
+    }
+
+    @Test
+    public void getSubfieldsReturnsCopyNotChangingTheMarcField() {
+        Subfield subfield = new Subfield();
+        Marc21 marc = new Marc21();
+        marc.setSubfields(subfield);
+
+        Subfield[] copy = marc.getSubfields();
+        copy[0] = new Subfield();
+
+        assertNotSame(copy, marc.getSubfields());
+        assertSame(subfield, marc.getSubfieldList().get(0));
+    }
+
+    @Test
+    public void getSubfieldListIsEmptyWhenSubfieldsAreNotSet() {
+        assertTrue(new Marc21().getSubfieldList().isEmpty());
+    }
+}
@@ -0,0 +1,63 @@
+package no.unit.nva.bare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class MarcIndexTest {
+
+    public static final String TAG_100 = "100";
+    public static final String TAG_400 = "400";
+    public static final String SUBCODE_A = "a";
+    public static final String SUBCODE_D = "d";
+    public static final String NAME = "Moser, May-Britt";
+    public static final String OTHER_NAME = "Moser, M.-B.";
+    public static final String DATES = "1963-";
+
+    @Test
+    public void getValuesReturnsValuesOfAllFieldsWithTagInOrder() {
+        MarcIndex index = MarcIndex.of(
+            marc(TAG_100, subfield(SUBCODE_A, NAME), subfield(SUBCODE_D, DATES)),
+            marc(TAG_400, subfield(SUBCODE_A, OTHER_NAME)),
+            marc(TAG_400, subfield(SUBCODE_A, NAME)));
+
+        assertEquals(List.of(NAME), index.getValues(TAG_100, SUBCODE_A));
+        assertEquals(List.of(OTHER_NAME, NAME), index.getValues(TAG_400, SUBCODE_A));
+        assertEquals(Optional.of(DATES), index.getFirstValue(TAG_100, SUBCODE_D));
+    }
+
+    @Test
+    public void getValuesReturnsEmptyWhenTagOrSubcodeIsMissing() {
+        MarcIndex index = MarcIndex.of(marc(TAG_100, subfield(SUBCODE_A, NAME)));
+
+        assertTrue(index.getValues(TAG_400, SUBCODE_A).isEmpty());
+        assertTrue(index.getFirstValue(TAG_100, SUBCODE_D).isEmpty());
+    }
+
+    @Test
+    public void ofLeavesOutIncompleteFieldsAndSubfields() {
+        MarcIndex index = MarcIndex.of(
+            marc(null, subfield(SUBCODE_A, OTHER_NAME)),
+            marc(TAG_100, subfield(null, OTHER_NAME), subfield(SUBCODE_A, null), subfield(SUBCODE_A, NAME)),
+            null);
+
+        assertEquals(List.of(NAME), index.getValues(TAG_100, SUBCODE_A));
+        assertTrue(MarcIndex.of((Marc21[]) null).getValues(TAG_100, SUBCODE_A).isEmpty());
+    }
+
+    private static Marc21 marc(String tag, Subfield... subfields) {
+        Marc21 marc = new Marc21();
+        marc.setTag(tag);
+        marc.setSubfields(subfields);
+        return marc;
+    }
+
+    private static Subfield subfield(String subcode, String value) {
+        Subfield subfield = new Subfield();
+        subfield.setSubcode(subcode);
+        subfield.setValue(value);
+        return subfield;
+    }
+}
@@ -0,0 +1,75 @@
+package no.unit.nva.bare;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import nva.commons.logutils.LogUtils;
+import nva.commons.logutils.TestAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PrimingTest {
+
+    public static final int HTTP_NOT_FOUND = 404;
+    public static final String CONNECTION_REFUSED = "Connection refused";
+
+    private HttpClient mockHttpClient;
+    private HttpResponse mockHttpResponse;
+
+    /**
+     * Initialize mocks.
+     */
+    @BeforeEach
+    public void setUp() {
+        mockHttpClient = mock(HttpClient.class);
+        mockHttpResponse = mock(HttpResponse.class);
+    }
+
+    @Test
+    public void primeConversionReadsConvertsAndWritesAuthority() {
+        assertThat(Priming.primeConversion(), containsString(Priming.PRIMING_NAME));
+    }
+
+    @Test
+    public void primeDoesNothingOutsideLambda() throws Exception {
+        assertFalse(Config.PRIMING_ENABLED);
+
+        Priming.prime(new BareConnection(mockHttpClient));
+
+        verify(mockHttpClient, never()).send(any(), any());
+    }
+
+    @Test
+    public void afterRestoreOpensConnectionToBareAgain() throws Exception {
+        when(mockHttpResponse.statusCode()).thenReturn(HTTP_NOT_FOUND);
+        when(mockHttpClient.send(any(), any())).thenReturn(mockHttpResponse);
+        Priming priming = new Priming(new BareConnection(mockHttpClient));
+
+        priming.beforeCheckpoint(null);
+        priming.afterRestore(null);
+
+        verify(mockHttpClient, times(1)).send(argThat(request -> "HEAD".equals(request.method())), any());
+    }
+
+    @Test
+    public void primeConnectionLogsAndGoesOnWhenBareCannotBeReached() throws Exception {
+        final TestAppender appender = LogUtils.getTestingAppenderForRootLogger();
+        when(mockHttpClient.send(any(), any())).thenThrow(new IOException(CONNECTION_REFUSED));
+
+        int answer = Priming.primeConnection(new BareConnection(mockHttpClient));
+
+        assertEquals(Priming.NO_ANSWER, answer);
+        assertThat(appender.getMessages(), containsString(CONNECTION_REFUSED));
+    }
+}
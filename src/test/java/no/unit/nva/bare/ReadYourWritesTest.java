@@ -0,0 +1,77 @@
+package no.unit.nva.bare;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import java.util.Map;
+import nva.commons.logutils.LogUtils;
+import nva.commons.logutils.TestAppender;
+import org.junit.jupiter.api.Test;
+
+public class ReadYourWritesTest {
+
+    public static final String SCN = "scn";
+    public static final String FEIDE = ValidIdentifierSource.feide.asString();
+    public static final String ORCID = ValidIdentifierSource.orcid.asString();
+    public static final String FEIDE_ID = "may-britt.moser@ntnu.no";
+    public static final String OTHER_FEIDE_ID = "may-britt.moser@uit.no";
+    public static final String ORCID_ID = "0000-0001-7884-3049";
+
+    @Test
+    public void shouldVerifyNeverWhenVerificationRateIsZero() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(true, 0.0, () -> 0.0);
+
+        assertFalse(readYourWrites.shouldVerify());
+    }
+
+    @Test
+    public void shouldVerifySamplesByVerificationRate() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(true, 0.25, () -> 0.2);
+        ReadYourWrites notSampled = new ReadYourWrites(true, 0.25, () -> 0.3);
+
+        assertTrue(readYourWrites.shouldVerify());
+        assertFalse(notSampled.shouldVerify());
+    }
+
+    @Test
+    public void shouldVerifyAlwaysWhenVerificationRateIsOne() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(false, 1.0);
+
+        assertTrue(readYourWrites.shouldVerify());
+        assertFalse(readYourWrites.isDeriveLocally());
+    }
+
+    @Test
+    public void verifyIgnoresOrderOfIdentifiersAndSystemsWithoutIdentifiers() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(true, 1.0);
+        BareAuthority derived = authority(Map.of(FEIDE, List.of(FEIDE_ID, OTHER_FEIDE_ID), ORCID, List.of()));
+        BareAuthority read = authority(Map.of(FEIDE, List.of(OTHER_FEIDE_ID, FEIDE_ID)));
+
+        assertTrue(readYourWrites.verify(SCN, derived, read));
+        assertEquals(1, readYourWrites.getVerificationCount());
+        assertEquals(0, readYourWrites.getMismatchCount());
+    }
+
+    @Test
+    public void verifyCountsAndLogsMismatch() {
+        final TestAppender appender = LogUtils.getTestingAppenderForRootLogger();
+        ReadYourWrites readYourWrites = new ReadYourWrites(true, 1.0);
+        BareAuthority derived = authority(Map.of(FEIDE, List.of(FEIDE_ID)));
+        BareAuthority read = authority(Map.of(FEIDE, List.of(FEIDE_ID), ORCID, List.of(ORCID_ID)));
+
+        assertFalse(readYourWrites.verify(SCN, derived, read));
+        assertFalse(readYourWrites.verify(SCN, new BareAuthority(), read));
+        assertEquals(2, readYourWrites.getMismatchCount());
+        assertThat(appender.getMessages(), containsString("Derived authority differs"));
+    }
+
+    private static BareAuthority authority(Map<String, List<String>> identifiersMap) {
+        BareAuthority authority = new BareAuthority();
+        authority.setSystemControlNumber(SCN);
+        authority.setIdentifiersMap(identifiersMap);
+        return authority;
+    }
+}
@@ -0,0 +1,90 @@
+package no.unit.nva.bare;
+
+import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import static no.unit.nva.bare.ApplicationConfig.selectiveBareObjectMapper;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import nva.commons.core.ioutils.IoUtils;
+import org.junit.jupiter.api.Test;
+
+public class SelectiveBareAuthorityDeserializerTest {
+
+    public static final String BARE_SINGLE_AUTHORITY_GET_RESPONSE_WITH_ALL_IDS_JSON =
+        "bareSingleAuthorityGetResponseWithAllIds.json";
+    public static final String BARE_SINGLE_AUTHORITY_RESPONSE_JSON = "bareSingleAuthorityResponse.json";
+    public static final String TAG_100 = "100";
+    public static final String TAG_375 = "375";
+    public static final String SUBCODE_A = "a";
+
+    @Test
+    public void readKeepsOnlyConvertedMarcFieldsAndAllIdentifiers() throws IOException {
+        String json = IoUtils.stringFromResources(Path.of(BARE_SINGLE_AUTHORITY_GET_RESPONSE_WITH_ALL_IDS_JSON));
+
+        BareAuthority complete = defaultRestObjectMapper.readValue(json, BareAuthority.class);
+        BareAuthority selective = selectiveBareObjectMapper.readValue(json, BareAuthority.class);
+
+        assertEquals(1, selective.getMarcdata().length);
+        assertEquals(TAG_100, selective.getMarcdata()[0].getTag());
+        assertEquals(complete.getSystemControlNumber(), selective.getSystemControlNumber());
+        assertEquals(complete.getStatus(), selective.getStatus());
+        assertEquals(complete.getAuthorityType(), selective.getAuthorityType());
+        assertEquals(complete.getIdentifiersMap(), selective.getIdentifiersMap());
+    }
+
+    @Test
+    public void readGivesSameAuthorityAsCompleteBinding() throws IOException {
+        String json = IoUtils.stringFromResources(Path.of(BARE_SINGLE_AUTHORITY_RESPONSE_JSON));
+        AuthorityConverter authorityConverter = new AuthorityConverter();
+
+        BareQueryResponse complete = defaultRestObjectMapper.readValue(json, BareQueryResponse.class);
+        BareQueryResponse selective = selectiveBareObjectMapper.readValue(json, BareQueryResponse.class);
+
+        assertEquals(complete.getNumFound(), selective.getNumFound());
+        assertEquals(authorityConverter.extractAuthorities(complete),
+                     authorityConverter.extractAuthorities(selective));
+    }
+
+    @Test
+    public void readHandlesAnyOrderOfMarcPropertiesAndMissingValues() throws IOException {
+        String json = "{\"marcdata\": ["
+                      + "{\"subfields\": [{\"subcode\": \"a\", \"value\": \"f\"}], \"tag\": \"375\"},"
+                      + "{\"subfields\": [{\"subcode\": \"a\", \"value\": \"Moser\"}], \"tag\": \"100\"},"
+                      + "{\"tag\": \"100\", \"subfields\": null, \"extra\": {\"nested\": [1, 2]}},"
+                      + "null],"
+                      + "\"identifiersMap\": null, \"deleted\": false}";
+
+        BareAuthority authority = selectiveBareObjectMapper.readValue(json, BareAuthority.class);
+
+        assertEquals(2, authority.getMarcdata().length);
+        assertEquals(List.of("Moser"), authority.getMarcIndex().getValues(TAG_100, SUBCODE_A));
+        assertTrue(authority.getIdentifiersMap().isEmpty());
+        assertEquals(0, selectiveBareObjectMapper.readValue("{\"marcdata\": null}", BareAuthority.class)
+            .getMarcdata().length);
+    }
+
+    @Test
+    public void readKeepsGivenMarcTags() throws IOException {
+        ObjectMapper objectMapper = defaultRestObjectMapper.copy().registerModule(new SimpleModule()
+            .addDeserializer(BareAuthority.class, new SelectiveBareAuthorityDeserializer(Set.of(TAG_375))));
+        String json = IoUtils.stringFromResources(Path.of(BARE_SINGLE_AUTHORITY_GET_RESPONSE_WITH_ALL_IDS_JSON));
+
+        BareAuthority authority = objectMapper.readValue(json, BareAuthority.class);
+
+        assertEquals(1, authority.getMarcdata().length);
+        assertEquals(List.of("f"), authority.getMarcIndex().getValues(TAG_375, SUBCODE_A));
+    }
+
+    @Test
+    public void readFailsOnWrongShape() {
+        assertThrows(IOException.class, () -> selectiveBareObjectMapper.readValue("[]", BareAuthority.class));
+        assertThrows(IOException.class,
+            () -> selectiveBareObjectMapper.readValue("{\"marcdata\": \"none\"}", BareAuthority.class));
+    }
+}
@@ -0,0 +1,82 @@
+package no.unit.nva.bare;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import nva.commons.logutils.LogUtils;
+import nva.commons.logutils.TestAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class ServerTimingTest {
+
+    public static final String HANDLER = "TestHandler";
+    public static final long BARE_NANOS = TimeUnit.MILLISECONDS.toNanos(52) + TimeUnit.MICROSECONDS.toNanos(140);
+
+    /**
+     * Stops timing left by a failing test.
+     */
+    @AfterEach
+    public void tearDown() {
+        ServerTiming.current().ifPresent(timing -> timing.finish(HANDLER));
+    }
+
+    @Test
+    public void toHeaderValueListsPhasesWithTimeAndTotalInMilliseconds() {
+        ServerTiming timing = ServerTiming.start();
+        timing.add(ServerTiming.Phase.BARE, BARE_NANOS);
+
+        String header = timing.toHeaderValue();
+
+        assertTrue(header.startsWith("bare;dur=52.1, total;dur="), header);
+        assertFalse(header.contains(ServerTiming.Phase.PARSE.asString()));
+    }
+
+    @Test
+    public void recordAddsTimeToRequestHandledByCurrentThread() {
+        ServerTiming timing = ServerTiming.start();
+
+        ServerTiming.record(ServerTiming.Phase.CONVERT, System.nanoTime());
+
+        assertThat(ServerTiming.currentHeaders().get(ServerTiming.HEADER), containsString("convert;dur="));
+        assertEquals(timing, ServerTiming.current().orElseThrow());
+    }
+
+    @Test
+    public void addCountsTimeAddedFromOtherThreadsOnce() {
+        ServerTiming timing = ServerTiming.start();
+
+        CompletableFuture.allOf(CompletableFuture.runAsync(() -> timing.add(ServerTiming.Phase.BARE, BARE_NANOS)),
+                                CompletableFuture.runAsync(() -> timing.add(ServerTiming.Phase.QUEUE, BARE_NANOS)))
+            .join();
+
+        assertTrue(timing.toHeaderValue().startsWith("queue;dur=52.1, bare;dur=52.1, total;dur="),
+                   timing.toHeaderValue());
+    }
+
+    @Test
+    public void recordIsIgnoredOutsideOfHandler() {
+        ServerTiming.record(ServerTiming.Phase.BARE, System.nanoTime());
+
+        assertTrue(ServerTiming.current().isEmpty());
+        assertTrue(ServerTiming.currentHeaders().isEmpty());
+    }
+
+    @Test
+    public void finishLogsPhasesIncludingSerializationAndStopsTiming() {
+        final TestAppender appender = LogUtils.getTestingAppenderForRootLogger();
+        ServerTiming timing = ServerTiming.start();
+        timing.add(ServerTiming.Phase.BARE, BARE_NANOS);
+        timing.startSerializing();
+
+        timing.finish(HANDLER);
+
+        assertThat(appender.getMessages(),
+                   containsString("timing handler=" + HANDLER + " parse=0.0 queue=0.0 bare=52.1"));
+        assertTrue(ServerTiming.current().isEmpty());
+    }
+}
@@ -0,0 +1,93 @@
+package no.unit.nva.bare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import no.unit.nva.bare.store.InMemoryKeyValueStore;
+import no.unit.nva.bare.store.KeyValueStore;
+import org.junit.jupiter.api.Test;
+
+public class SharedAuthorityCacheTest {
+
+    public static final String SCN = "90517730";
+    public static final String FEIDE_ID = "may-britt.moser@ntnu.no";
+
+    @Test
+    public void getReturnsAuthorityPutByAnotherInstanceUntilInvalidated() {
+        InMemoryKeyValueStore store = new InMemoryKeyValueStore(10);
+        SharedAuthorityCache writer = new SharedAuthorityCache(store);
+        SharedAuthorityCache reader = new SharedAuthorityCache(store);
+        BareAuthority bareAuthority = authority();
+
+        assertTrue(reader.get(SCN).isEmpty());
+        writer.put(SCN, bareAuthority);
+        assertEquals(bareAuthority, reader.get(SCN).orElseThrow());
+        writer.invalidate(SCN);
+        assertTrue(reader.get(SCN).isEmpty());
+
+        assertTrue(reader.isEnabled());
+        assertEquals(1L, reader.getHitCount());
+        assertEquals(2L, reader.getMissCount());
+    }
+
+    @Test
+    public void storeFailuresAreMisses() {
+        SharedAuthorityCache sharedAuthorityCache = new SharedAuthorityCache(new FailingKeyValueStore());
+
+        sharedAuthorityCache.put(SCN, authority());
+        sharedAuthorityCache.invalidate(SCN);
+
+        assertTrue(sharedAuthorityCache.get(SCN).isEmpty());
+        assertEquals(1L, sharedAuthorityCache.getMissCount());
+    }
+
+    @Test
+    public void unreadableEntryIsMiss() {
+        InMemoryKeyValueStore store = new InMemoryKeyValueStore(10);
+        store.put(SharedAuthorityCache.KEY_PREFIX + SCN, "{not json");
+
+        assertTrue(new SharedAuthorityCache(store).get(SCN).isEmpty());
+    }
+
+    @Test
+    public void sharedCacheIsDisabledWhenNoAddressIsConfigured() {
+        SharedAuthorityCache sharedAuthorityCache = new SharedAuthorityCache();
+
+        sharedAuthorityCache.put(SCN, authority());
+        sharedAuthorityCache.invalidate(SCN);
+
+        assertFalse(sharedAuthorityCache.isEnabled());
+        assertTrue(sharedAuthorityCache.get(SCN).isEmpty());
+        assertEquals(0L, sharedAuthorityCache.getMissCount());
+    }
+
+    private static BareAuthority authority() {
+        BareAuthority bareAuthority = new BareAuthority();
+        bareAuthority.setSystemControlNumber(SCN);
+        bareAuthority.setIdentifiersMap(Map.of(ValidIdentifierSource.feide.asString(), List.of(FEIDE_ID)));
+        return bareAuthority;
+    }
+
+    private static class FailingKeyValueStore implements KeyValueStore {
+
+        @Override
+        public Optional<String> get(String key) {
+            throw new UncheckedIOException(new IOException(key));
+        }
+
+        @Override
+        public void put(String key, String value) {
+            throw new UncheckedIOException(new IOException(key));
+        }
+
+        @Override
+        public void remove(String key) {
+            throw new UncheckedIOException(new IOException(key));
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package no.unit.nva.bare;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightTest {
+
+    public static final String KEY = "90517730";
+    public static final String OTHER_KEY = "90517731";
+    public static final String VALUE = "value";
+    public static final String ERROR_MESSAGE = "Bare is down";
+    public static final long TIMEOUT_SECONDS = 10;
+
+    @Test
+    public void executeAsyncSharesInFlightCallBetweenCallersWithSameKey() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.executeAsync(KEY, () -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> second = singleFlight.executeAsync(KEY, () -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        assertEquals(1, singleFlight.inFlightCount());
+
+        upstream.complete(VALUE);
+
+        assertEquals(VALUE, first.get());
+        assertEquals(VALUE, second.get());
+        assertEquals(1, calls.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    public void executeAsyncStartsSeparateCallsForDifferentKeys() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.executeAsync(KEY, () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        singleFlight.executeAsync(OTHER_KEY, () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        assertEquals(2, calls.get());
+        assertEquals(2, singleFlight.inFlightCount());
+    }
+
+    @Test
+    public void executeAsyncPropagatesFailureToAllCallersAndForgetsCall() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.executeAsync(KEY, () -> upstream);
+        CompletableFuture<String> second = singleFlight.executeAsync(KEY, () -> upstream);
+        upstream.completeExceptionally(new IOException(ERROR_MESSAGE));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, first::get);
+        assertEquals(ERROR_MESSAGE, exception.getCause().getMessage());
+        assertThrows(ExecutionException.class, second::get);
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    public void executeAsyncFailsAndForgetsCallWhenStartingTheCallThrows() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+        CompletableFuture<String> failed = singleFlight.executeAsync(KEY, () -> {
+            throw new IllegalStateException(ERROR_MESSAGE);
+        });
+
+        ExecutionException exception = assertThrows(ExecutionException.class, failed::get);
+        assertEquals(ERROR_MESSAGE, exception.getCause().getMessage());
+        assertEquals(0, singleFlight.inFlightCount());
+        assertEquals(VALUE, singleFlight.executeAsync(KEY, () -> CompletableFuture.completedFuture(VALUE)).join());
+    }
+
+    @Test
+    public void executeReturnsValueAndForgetsCallWhenCompleted() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+        assertEquals(VALUE, singleFlight.execute(KEY, () -> VALUE));
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    public void executeRethrowsExceptionThrownByCall() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+        IOException exception = assertThrows(IOException.class, () -> singleFlight.execute(KEY, () -> {
+            throw new IOException(ERROR_MESSAGE);
+        }));
+
+        assertEquals(ERROR_MESSAGE, exception.getMessage());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    public void executeSharesResultOfCallInFlightWithWaitingCallers() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> executeQuietly(singleFlight, () -> {
+            calls.incrementAndGet();
+            leaderStarted.countDown();
+            release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return VALUE;
+        }));
+        leaderStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        CompletableFuture<String> asyncFollower = singleFlight.executeAsync(KEY, () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(VALUE);
+        });
+        Thread follower = new Thread(() -> executeQuietly(singleFlight, () -> {
+            calls.incrementAndGet();
+            return VALUE;
+        }));
+        follower.start();
+        awaitWaiting(follower);
+        release.countDown();
+
+        assertSame(VALUE, leader.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertSame(VALUE, asyncFollower.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        follower.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    public void executeRethrowsFailureOfCallInFlightToWaitingCallers() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        singleFlight.executeAsync(KEY, () -> upstream);
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        Thread follower = new Thread(() -> {
+            try {
+                singleFlight.execute(KEY, () -> VALUE);
+            } catch (Exception e) {
+                failure.set(e);
+            }
+        });
+        follower.start();
+        awaitWaiting(follower);
+        upstream.completeExceptionally(new IOException(ERROR_MESSAGE));
+        follower.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+
+        Exception exception = failure.get();
+        assertEquals(IOException.class, exception.getClass());
+        assertEquals(ERROR_MESSAGE, exception.getMessage());
+    }
+
+    private static String executeQuietly(SingleFlight<String, String> singleFlight,
+                                         Callable<String> call) {
+        try {
+            return singleFlight.execute(KEY, call);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
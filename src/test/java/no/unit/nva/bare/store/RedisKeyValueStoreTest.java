@@ -0,0 +1,228 @@
+package no.unit.nva.bare.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RedisKeyValueStoreTest {
+
+    public static final String KEY = "authority:90517730";
+    public static final String VALUE = "{\"systemControlNumber\":\"90517730\",\"name\":\"Moser, May-Britt\"}";
+    public static final Duration TIME_TO_LIVE = Duration.ofSeconds(60);
+    public static final Duration TIMEOUT = Duration.ofSeconds(5);
+    public static final String USER = "nva-bare-proxy";
+    public static final String PASSWORD = "auth-token";
+
+    private StubRedisServer server;
+
+    /**
+     * Starts a stand-in for Redis.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new StubRedisServer();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void putGetAndRemoveAreSentAsRedisCommandsOverOneConnection() {
+        RedisKeyValueStore store = new RedisKeyValueStore(server.getAddress(), TIME_TO_LIVE, TIMEOUT);
+
+        assertTrue(store.get(KEY).isEmpty());
+        store.put(KEY, VALUE);
+        assertEquals(VALUE, store.get(KEY).orElseThrow());
+        store.remove(KEY);
+        assertTrue(store.get(KEY).isEmpty());
+
+        assertEquals(List.of("SET", KEY, VALUE, "PX", "60000"), server.commands.get(1));
+        assertEquals(List.of("DEL", KEY), server.commands.get(3));
+        assertEquals(1, server.connections.size());
+    }
+
+    @Test
+    public void addressMayBeGivenAsRedisUrl() {
+        RedisKeyValueStore store =
+            new RedisKeyValueStore(RedisKeyValueStore.ADDRESS_PREFIX + server.getAddress(), TIME_TO_LIVE, TIMEOUT);
+
+        assertEquals(server.serverSocket.getLocalPort(), store.getAddress().getPort());
+        assertTrue(store.get(KEY).isEmpty());
+    }
+
+    @Test
+    public void tlsAddressIsParsedWithHostAndPort() {
+        RedisKeyValueStore store = new RedisKeyValueStore(
+            RedisKeyValueStore.TLS_ADDRESS_PREFIX + "master.nva-bare.cache.amazonaws.com:6379", TIME_TO_LIVE, TIMEOUT);
+
+        assertTrue(store.isTls());
+        assertEquals("master.nva-bare.cache.amazonaws.com", store.getAddress().getHostString());
+        assertEquals(6379, store.getAddress().getPort());
+        assertFalse(new RedisKeyValueStore(server.getAddress(), TIME_TO_LIVE, TIMEOUT).isTls());
+    }
+
+    @Test
+    public void credentialsInAddressAuthenticateEachNewConnection() {
+        server.password = PASSWORD;
+        RedisKeyValueStore store = new RedisKeyValueStore(
+            RedisKeyValueStore.ADDRESS_PREFIX + USER + ":" + PASSWORD + "@" + server.getAddress(), TIME_TO_LIVE,
+            TIMEOUT);
+        RedisKeyValueStore tokenStore = new RedisKeyValueStore(
+            RedisKeyValueStore.ADDRESS_PREFIX + ":" + PASSWORD + "@" + server.getAddress(), TIME_TO_LIVE, TIMEOUT);
+
+        store.put(KEY, VALUE);
+        assertEquals(VALUE, tokenStore.get(KEY).orElseThrow());
+
+        assertEquals(List.of("AUTH", USER, PASSWORD), server.commands.get(0));
+        assertEquals(List.of("AUTH", PASSWORD), server.commands.get(2));
+    }
+
+    @Test
+    public void wrongCredentialsAreThrown() {
+        server.password = PASSWORD;
+        RedisKeyValueStore store = new RedisKeyValueStore(
+            RedisKeyValueStore.ADDRESS_PREFIX + ":wrong@" + server.getAddress(), TIME_TO_LIVE, TIMEOUT);
+        RedisKeyValueStore unauthenticated = new RedisKeyValueStore(server.getAddress(), TIME_TO_LIVE, TIMEOUT);
+
+        assertThrows(UncheckedIOException.class, () -> store.get(KEY));
+        assertThrows(UncheckedIOException.class, () -> unauthenticated.get(KEY));
+    }
+
+    @Test
+    public void errorReplyIsThrownAndConnectionDropped() {
+        RedisKeyValueStore store = new RedisKeyValueStore(server.getAddress(), TIME_TO_LIVE, TIMEOUT);
+        server.failing = true;
+
+        UncheckedIOException exception = assertThrows(UncheckedIOException.class, () -> store.get(KEY));
+
+        assertEquals(StubRedisServer.ERROR, exception.getCause().getMessage());
+        server.failing = false;
+        assertTrue(store.get(KEY).isEmpty());
+        assertEquals(2, server.connections.size());
+    }
+
+    @Test
+    public void unreachableServerIsThrown() throws IOException {
+        String address = server.getAddress();
+        server.close();
+        RedisKeyValueStore store = new RedisKeyValueStore(address, TIME_TO_LIVE, TIMEOUT);
+
+        assertThrows(UncheckedIOException.class, () -> store.put(KEY, VALUE));
+    }
+
+    /**
+     * Answers GET, SET and DEL from a map, one thread per connection.
+     */
+    private static class StubRedisServer {
+
+        public static final String ERROR = "ERR stub is failing";
+
+        private final ServerSocket serverSocket;
+        private final Map<String, String> values = new ConcurrentHashMap<>();
+        private final List<List<String>> commands = new CopyOnWriteArrayList<>();
+        private final List<Socket> connections = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+        private volatile String password;
+
+        StubRedisServer() throws IOException {
+            serverSocket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::accept);
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        String getAddress() {
+            return "localhost:" + serverSocket.getLocalPort();
+        }
+
+        void close() throws IOException {
+            serverSocket.close();
+            for (Socket connection : connections) {
+                connection.close();
+            }
+        }
+
+        private void accept() {
+            try {
+                while (!serverSocket.isClosed()) {
+                    Socket connection = serverSocket.accept();
+                    connections.add(connection);
+                    Thread worker = new Thread(() -> serve(connection));
+                    worker.setDaemon(true);
+                    worker.start();
+                }
+            } catch (IOException e) {
+                // closed
+            }
+        }
+
+        private void serve(Socket connection) {
+            try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+                OutputStream output = connection.getOutputStream();
+                boolean authenticated = password == null;
+                String header = reader.readLine();
+                while (header != null) {
+                    List<String> command = new ArrayList<>();
+                    int arguments = Integer.parseInt(header.substring(1));
+                    for (int i = 0; i < arguments; i++) {
+                        reader.readLine();
+                        command.add(reader.readLine());
+                    }
+                    commands.add(command);
+                    String reply;
+                    if ("AUTH".equals(command.get(0))) {
+                        authenticated = password.equals(command.get(command.size() - 1));
+                        reply = authenticated ? "+OK\r\n" : "-WRONGPASS invalid password\r\n";
+                    } else {
+                        reply = authenticated ? reply(command) : "-NOAUTH Authentication required\r\n";
+                    }
+                    output.write(reply.getBytes(StandardCharsets.UTF_8));
+                    output.flush();
+                    header = reader.readLine();
+                }
+            } catch (IOException e) {
+                // connection closed
+            }
+        }
+
+        private String reply(List<String> command) {
+            if (failing) {
+                return "-" + ERROR + "\r\n";
+            }
+            switch (command.get(0)) {
+                case "GET":
+                    String value = values.get(command.get(1));
+                    return value == null ? "$-1\r\n" : "$" + value.length() + "\r\n" + value + "\r\n";
+                case "SET":
+                    values.put(command.get(1), command.get(2));
+                    return "+OK\r\n";
+                case "DEL":
+                    return ":" + (values.remove(command.get(1)) == null ? 0 : 1) + "\r\n";
+                default:
+                    return "-ERR unknown command\r\n";
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package no.unit.nva.bare.tracing;
+
+import static no.unit.nva.bare.ApplicationConfig.defaultRestObjectMapper;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TraceRecorderTest {
+
+    public static final String TRACE_ID = "1-5759e988-bd862e3fe1be46a994272793";
+    public static final String PARENT_ID = "53995c3f42cd8ad8";
+    public static final String SAMPLED_TRACE_HEADER = "Root=" + TRACE_ID + ";Parent=" + PARENT_ID + ";Sampled=1";
+    public static final String UNSAMPLED_TRACE_HEADER = "Root=" + TRACE_ID + ";Parent=" + PARENT_ID + ";Sampled=0";
+    public static final String HANDLER = "TestHandler";
+    public static final String BARE = "Bare";
+    public static final int RECEIVE_TIMEOUT_MILLIS = 5000;
+    public static final int MAX_DATAGRAM_SIZE = 65_535;
+
+    /**
+     * Clears the trace header and the current subsegment.
+     */
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(TraceRecorder.TRACE_HEADER_PROPERTY);
+        TraceRecorder.current().ifPresent(new InMemoryTraceRecorder()::end);
+    }
+
+    @Test
+    public void subsegmentsBegunDuringHandlerAreItsChildrenInTheTraceOfTheInvocation() {
+        System.setProperty(TraceRecorder.TRACE_HEADER_PROPERTY, SAMPLED_TRACE_HEADER);
+        InMemoryTraceRecorder recorder = new InMemoryTraceRecorder();
+
+        Subsegment handler = recorder.beginCurrent(HANDLER);
+        Subsegment bare = recorder.begin(BARE);
+        recorder.end(bare);
+        recorder.end(handler);
+
+        assertEquals(TRACE_ID, handler.getTraceId());
+        assertEquals(PARENT_ID, handler.getParentId());
+        assertTrue(handler.isSampled());
+        assertEquals(TRACE_ID, bare.getTraceId());
+        assertEquals(handler.getId(), bare.getParentId());
+        assertTrue(bare.isEnded());
+        assertEquals(2, recorder.getSubsegments().size());
+        assertEquals(bare, recorder.getSubsegments(BARE).get(0));
+        assertTrue(TraceRecorder.current().isEmpty());
+    }
+
+    @Test
+    public void subsegmentEndedMoreThanOnceIsRecordedOnce() {
+        InMemoryTraceRecorder recorder = new InMemoryTraceRecorder();
+
+        Subsegment bare = recorder.begin(BARE);
+        recorder.end(bare);
+        recorder.end(bare);
+
+        assertTrue(bare.isEnded());
+        assertFalse(bare.end());
+        assertEquals(1, recorder.getSubsegments(BARE).size());
+    }
+
+    @Test
+    public void subsegmentsBegunOutsideOfTracedInvocationAreNotSampled() {
+        Subsegment subsegment = new InMemoryTraceRecorder().begin(BARE);
+
+        assertNull(subsegment.getTraceId());
+        assertFalse(subsegment.isSampled());
+        assertFalse(Subsegment.ofTraceHeader(BARE, UNSAMPLED_TRACE_HEADER).isSampled());
+    }
+
+    @Test
+    public void toDocumentWritesRemoteCallWithStatusAndAnnotations() throws Exception {
+        Subsegment subsegment = Subsegment.ofTraceHeader(BARE, SAMPLED_TRACE_HEADER);
+        subsegment.setHttpRequest("GET");
+        subsegment.setHttpResponse(503);
+        subsegment.annotate("operation", "get");
+        subsegment.increment("cache_misses");
+        subsegment.increment("cache_misses");
+        subsegment.end();
+
+        JsonNode document = defaultRestObjectMapper.readTree(subsegment.toDocument());
+
+        assertEquals("subsegment", document.get("type").asText());
+        assertEquals(TRACE_ID, document.get("trace_id").asText());
+        assertEquals(PARENT_ID, document.get("parent_id").asText());
+        assertEquals(Subsegment.REMOTE, document.get("namespace").asText());
+        assertEquals(503, document.get("http").get("response").get("status").asInt());
+        assertTrue(document.get("fault").asBoolean());
+        assertEquals("get", document.get("annotations").get("operation").asText());
+        assertEquals(2, document.get("annotations").get("cache_misses").asInt());
+        assertTrue(document.get("end_time").asDouble() >= document.get("start_time").asDouble());
+    }
+
+    @Test
+    public void setHttpResponseMarksClientErrorsAndThrottling() {
+        Subsegment subsegment = Subsegment.ofTraceHeader(BARE, SAMPLED_TRACE_HEADER);
+
+        subsegment.setHttpResponse(429);
+
+        assertEquals(429, subsegment.getHttpStatus());
+        assertTrue(subsegment.isError());
+        assertTrue(subsegment.isThrottle());
+        assertFalse(subsegment.isFault());
+    }
+
+    @Test
+    public void toDocumentWritesExceptionOfFailedCall() throws Exception {
+        Subsegment subsegment = Subsegment.ofTraceHeader(BARE, SAMPLED_TRACE_HEADER);
+        subsegment.setFault(new IOException("Connection reset"));
+
+        JsonNode document = defaultRestObjectMapper.readTree(subsegment.toDocument());
+
+        JsonNode exception = document.get("cause").get("exceptions").get(0);
+        assertEquals(IOException.class.getName(), exception.get("type").asText());
+        assertEquals("Connection reset", exception.get("message").asText());
+    }
+
+    @Test
+    public void xrayTraceRecorderSendsSampledSubsegmentsToDaemon() throws Exception {
+        try (DatagramSocket daemon = new DatagramSocket(0, InetAddress.getLoopbackAddress())) {
+            daemon.setSoTimeout(RECEIVE_TIMEOUT_MILLIS);
+            XRayTraceRecorder recorder = new XRayTraceRecorder(
+                "tcp:127.0.0.1:2000 udp:127.0.0.1:" + daemon.getLocalPort());
+            recorder.end(Subsegment.ofTraceHeader(HANDLER, UNSAMPLED_TRACE_HEADER));
+            recorder.end(Subsegment.ofTraceHeader(BARE, SAMPLED_TRACE_HEADER));
+
+            DatagramPacket packet = new DatagramPacket(new byte[MAX_DATAGRAM_SIZE], MAX_DATAGRAM_SIZE);
+            daemon.receive(packet);
+
+            String datagram = new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8);
+            assertTrue(datagram.startsWith(XRayTraceRecorder.DAEMON_HEADER));
+            assertThat(datagram, containsString("\"name\":\"" + BARE + "\""));
+            assertEquals(daemon.getLocalPort(), recorder.getDaemonAddress().getPort());
+            assertTrue(new XRayTraceRecorder().getDaemonAddress().getPort() > 0);
+        }
+    }
+}